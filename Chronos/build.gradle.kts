@@ -25,6 +25,10 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-mail")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	
+	// Metrics
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	
 	// Kafka integration
 	implementation("org.springframework.kafka:spring-kafka")
@@ -32,6 +36,7 @@ dependencies {
 	// Database
 	implementation("org.postgresql:postgresql")
 	implementation("org.flywaydb:flyway-core")
+	implementation("org.flywaydb:flyway-database-postgresql")
 	
 	// JWT Authentication
 	implementation("io.jsonwebtoken:jjwt-api:0.12.3")
@@ -61,6 +66,26 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+tasks.named<Test>("test") {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+// Executor benchmarks are slow and machine dependent, so they only run on request
+tasks.register<Test>("benchmark") {
+	description = "Runs tests tagged as benchmarks."
+	group = "verification"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+}
+
 tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
 	jvmArgs = listOf("-Duser.timezone=UTC")
 }
@@ -0,0 +1,82 @@
+package com.Prod.Chronos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts every task on its own virtual thread. There is no pool to size: a
+ * semaphore caps how many tasks may run at once, and tasks over the cap are
+ * handed to the rejection policy instead of waiting in a work queue. Blocking
+ * I/O inside a task parks the virtual thread and frees its carrier.
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedVirtualThreadExecutor.class);
+
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final CountingRejectionPolicy rejectionPolicy;
+    private final long awaitTerminationSeconds;
+    private volatile boolean shutdown;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrent,
+                                        CountingRejectionPolicy rejectionPolicy, long awaitTerminationSeconds) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.rejectionPolicy = rejectionPolicy;
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            rejectionPolicy.reject(task, "shut down");
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            rejectionPolicy.reject(task, "running: " + maxConcurrent);
+            return;
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    // Stop accepting tasks and wait for running ones, like the platform pools do on shutdown
+    public void shutdown() {
+        shutdown = true;
+        try {
+            if (permits.tryAcquire(maxConcurrent, awaitTerminationSeconds, TimeUnit.SECONDS)) {
+                permits.release(maxConcurrent);
+            } else {
+                logger.warn("{} virtual-thread tasks still running after {}s", getActiveCount(), awaitTerminationSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
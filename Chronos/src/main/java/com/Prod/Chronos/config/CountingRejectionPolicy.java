@@ -0,0 +1,48 @@
+package com.Prod.Chronos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rejection handler that never runs the task on the submitting thread. Rejections
+ * are counted per pool; the task is either refused with a
+ * {@link RejectedExecutionException} so the caller can leave the work in the
+ * database, or dropped when losing it is harmless (notifications).
+ */
+public class CountingRejectionPolicy implements RejectedExecutionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CountingRejectionPolicy.class);
+
+    private final String poolName;
+    private final boolean discard;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CountingRejectionPolicy(String poolName, boolean discard) {
+        this.poolName = poolName;
+        this.discard = discard;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        reject(task, "active: " + executor.getActiveCount() + ", queued: " + executor.getQueue().size());
+    }
+
+    // Also used by executors that are not thread pools, e.g. the bounded virtual-thread executor
+    public void reject(Runnable task, String state) {
+        long count = rejected.incrementAndGet();
+        if (discard) {
+            logger.warn("Executor {} saturated ({}), dropping task (rejections: {})", poolName, state, count);
+            return;
+        }
+        throw new RejectedExecutionException("Executor " + poolName + " saturated (" + state + ")");
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
@@ -1,18 +1,28 @@
 package com.Prod.Chronos.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class ExecutorConfig {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${chronos.executor.core-pool-size:10}")
     private int corePoolSize;
 
@@ -25,32 +35,75 @@ public class ExecutorConfig {
     @Value("${chronos.executor.thread-name-prefix:chronos-executor-}")
     private String threadNamePrefix;
 
+    // "platform" uses the fixed pool below; "virtual" runs each job (first runs and retries) on its own virtual thread
+    @Value("${chronos.executor.mode:platform}")
+    private String executorMode;
+
+    // In virtual mode concurrency is bounded by this cap (and the dispatcher's max-in-flight), not by pool size
+    @Value("${chronos.executor.virtual.max-concurrent:1000}")
+    private int virtualMaxConcurrent;
+
+    // Threads for CPU-bound handlers; 0 means one per available processor
+    @Value("${chronos.executor.cpu-pool-size:0}")
+    private int cpuPoolSize;
+
+    // Workers shared by all running batch jobs; each job also caps its own chunk parallelism
+    @Value("${chronos.batch.pool-size:16}")
+    private int batchPoolSize;
+
+    // Saturated pools refuse work instead of running it on the submitting (scheduler) thread
+    private final Map<String, CountingRejectionPolicy> rejectionPolicies = new ConcurrentHashMap<>();
+
     @Bean(name = "jobExecutor")
     public Executor jobExecutor() {
+        if (isVirtualMode()) {
+            return bindMetrics("jobExecutor", new BoundedVirtualThreadExecutor(threadNamePrefix, virtualMaxConcurrent,
+                rejectionPolicy("jobExecutor", false), 60));
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
         executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix(threadNamePrefix);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(rejectionPolicy("jobExecutor", false));
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
-        return executor;
+        return bindMetrics("jobExecutor", executor);
     }
 
-    @Bean(name = "retryExecutor")
-    public Executor retryExecutor() {
+    // CPU-bound handlers always run on platform threads; more threads than processors only adds contention
+    @Bean(name = "cpuJobExecutor")
+    public Executor cpuJobExecutor() {
+        int size = cpuPoolSize > 0 ? cpuPoolSize : Runtime.getRuntime().availableProcessors();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("chronos-retry-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chronos-cpu-");
+        executor.setRejectedExecutionHandler(rejectionPolicy("cpuJobExecutor", false));
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
-        return executor;
+        return bindMetrics("cpuJobExecutor", executor);
+    }
+
+    @Bean(name = "batchExecutor")
+    public Executor batchExecutor() {
+        if (isVirtualMode()) {
+            return bindMetrics("batchExecutor", new BoundedVirtualThreadExecutor("chronos-batch-", virtualMaxConcurrent,
+                rejectionPolicy("batchExecutor", false), 60));
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(batchPoolSize);
+        executor.setMaxPoolSize(batchPoolSize);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("chronos-batch-");
+        executor.setRejectedExecutionHandler(rejectionPolicy("batchExecutor", false));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return bindMetrics("batchExecutor", executor);
     }
 
     @Bean(name = "notificationExecutor")
@@ -60,10 +113,80 @@ public class ExecutorConfig {
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(25);
         executor.setThreadNamePrefix("chronos-notification-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(rejectionPolicy("notificationExecutor", true));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return bindMetrics("notificationExecutor", executor);
+    }
+
+    @Bean(name = "triggerExecutor")
+    public Executor triggerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("chronos-trigger-");
+        executor.setRejectedExecutionHandler(rejectionPolicy("triggerExecutor", false));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return bindMetrics("triggerExecutor", executor);
+    }
+
+    // Records timed-out executions and frees their dispatch slots; the interrupt itself happens on the wheel thread
+    @Bean(name = "timeoutExecutor")
+    public Executor timeoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("chronos-timeout-");
+        executor.setRejectedExecutionHandler(rejectionPolicy("timeoutExecutor", false));
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
+        return bindMetrics("timeoutExecutor", executor);
+    }
+
+    public boolean isVirtualMode() {
+        return "virtual".equalsIgnoreCase(executorMode);
+    }
+
+    public String getExecutorMode() {
+        return isVirtualMode() ? "virtual" : "platform";
+    }
+
+    // Rejected task counts per pool, for saturation monitoring
+    public Map<String, Long> getRejectedCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        rejectionPolicies.forEach((name, policy) -> counts.put(name, policy.getRejectedCount()));
+        return counts;
+    }
+
+    // Active workers, queue depth and rejections per pool, tagged with the bean name
+    private Executor bindMetrics(String poolName, Executor executor) {
+        Tags tags = Tags.of("pool", poolName);
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            Gauge.builder("chronos.executor.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                .tags(tags).description("Threads running tasks").register(meterRegistry);
+            Gauge.builder("chronos.executor.pool.size", pool, ThreadPoolTaskExecutor::getPoolSize)
+                .tags(tags).description("Threads in the pool").register(meterRegistry);
+            Gauge.builder("chronos.executor.queued", pool, p -> p.getThreadPoolExecutor().getQueue().size())
+                .tags(tags).description("Tasks waiting in the pool's work queue").register(meterRegistry);
+        } else if (executor instanceof BoundedVirtualThreadExecutor virtual) {
+            Gauge.builder("chronos.executor.active", virtual, BoundedVirtualThreadExecutor::getActiveCount)
+                .tags(tags).description("Virtual threads running tasks").register(meterRegistry);
+        }
+        CountingRejectionPolicy policy = rejectionPolicies.get(poolName);
+        if (policy != null) {
+            FunctionCounter.builder("chronos.executor.rejected", policy, CountingRejectionPolicy::getRejectedCount)
+                .tags(tags).description("Tasks refused because the pool was saturated").register(meterRegistry);
+        }
         return executor;
     }
+
+    private CountingRejectionPolicy rejectionPolicy(String poolName, boolean discard) {
+        return rejectionPolicies.computeIfAbsent(poolName, name -> new CountingRejectionPolicy(name, discard));
+    }
 }
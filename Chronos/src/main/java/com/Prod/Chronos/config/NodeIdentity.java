@@ -0,0 +1,50 @@
+package com.Prod.Chronos.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+// Identifies this scheduler instance when claiming rows shared with other nodes
+@Component
+public class NodeIdentity {
+
+    private static final Logger logger = LoggerFactory.getLogger(NodeIdentity.class);
+
+    @Value("${chronos.node.id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+    private String hostName;
+
+    @PostConstruct
+    public void init() {
+        hostName = resolveHostName();
+        if (configuredNodeId != null && !configuredNodeId.isBlank()) {
+            nodeId = configuredNodeId;
+        } else {
+            nodeId = hostName + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        logger.info("Chronos node id: {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getHostName() {
+        return hostName;
+    }
+
+    private String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "chronos";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.Prod.Chronos.config;
+
+import com.Prod.Chronos.entity.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Latency timers for the job pipeline; histogram buckets for chronos.* meters are configured in application.properties
+@Component
+public class SchedulerMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Delay between the time a job was due and the time it started running
+    public void recordScheduleLag(Job job) {
+        if (job.getScheduledAt() == null || job.getStartedAt() == null) {
+            return;
+        }
+        Duration lag = Duration.between(job.getScheduledAt(), job.getStartedAt());
+        timer("chronos.job.schedule.lag", "Time from a job's scheduled time to its start", "jobType", jobType(job))
+            .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void recordQueueWait(Job job, long queueWaitMs) {
+        timer("chronos.job.queue.wait", "Time a claimed job waited in the dispatch queue", "jobType", jobType(job))
+            .record(queueWaitMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordExecution(Job job, boolean success, long runTimeMs) {
+        timer("chronos.job.execution", "Job run time", "jobType", jobType(job), "outcome", success ? "success" : "failure")
+            .record(runTimeMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordBatchChunk(boolean success, long durationNanos) {
+        timer("chronos.batch.chunk", "Time to process one batch chunk attempt", "outcome", success ? "success" : "failure")
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // One trigger engine firing: claiming and dispatching whatever its wake-ups made due
+    public void recordSchedulerTick(long durationNanos) {
+        timer("chronos.scheduler.tick", "Time to claim and dispatch due work for one trigger batch")
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordKafkaSend(String topic, boolean success, long durationNanos) {
+        timer("chronos.kafka.send", "Kafka send latency until the broker acknowledged", "topic", topic, "result", success ? "success" : "failure")
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Failed sends by cause, e.g. TimeoutException when the broker is unreachable or RecordTooLargeException
+    public void recordKafkaSendFailure(String topic, Throwable failure) {
+        Counter.builder("chronos.kafka.send.failures")
+            .description("Kafka sends that were not acknowledged")
+            .tag("topic", topic)
+            .tag("exception", failure.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    // Time an event spent in the outbox before the relay published it; the count is the number relayed
+    public void recordOutboxRelay(String topic, Duration delay) {
+        timer("chronos.outbox.delay", "Time from committing an outbox event to publishing it", "topic", topic)
+            .record(delay.isNegative() ? Duration.ZERO : delay);
+    }
+
+    // A stale or duplicate hand-off that lost its fencing token and was dropped
+    public void recordFencedTransition(String transition) {
+        Counter.builder("chronos.job.fenced")
+            .description("Execution attempt transitions dropped because their fencing token was stale")
+            .tag("transition", transition)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+            .description(description)
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private String jobType(Job job) {
+        return job.getJobType() != null ? job.getJobType().name() : "UNKNOWN";
+    }
+}
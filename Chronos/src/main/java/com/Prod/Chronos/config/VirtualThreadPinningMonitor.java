@@ -0,0 +1,104 @@
+package com.Prod.Chronos.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Reports virtual threads that pin their carrier (blocking inside synchronized or native frames, e.g. around JDBC)
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int REPORTED_FRAMES = 6;
+
+    @Autowired
+    private ExecutorConfig executorConfig;
+
+    @Value("${chronos.executor.virtual.pinning-detection:true}")
+    private boolean enabled;
+
+    // Pins shorter than this are not recorded
+    @Value("${chronos.executor.virtual.pinning-threshold-ms:20}")
+    private long thresholdMs;
+
+    // Pinned event counts keyed by the innermost frames, so repeat offenders are logged once
+    private final Map<String, AtomicLong> pinnedBySite = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || !executorConfig.isVirtualMode()) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            logger.info("Virtual thread pinning detection enabled (threshold: {}ms)", thresholdMs);
+        } catch (Exception e) {
+            stream = null;
+            logger.warn("Could not start JFR stream for virtual thread pinning", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Map<String, Long> getPinnedBySite() {
+        Map<String, Long> counts = new HashMap<>();
+        pinnedBySite.forEach((site, count) -> counts.put(site, count.get()));
+        return counts;
+    }
+
+    public long getPinnedCount() {
+        return pinnedBySite.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = describe(event.getStackTrace());
+        AtomicLong count = pinnedBySite.computeIfAbsent(site, key -> new AtomicLong());
+        String thread = event.getThread() != null ? event.getThread().getJavaName() : "unknown";
+        if (count.incrementAndGet() == 1) {
+            logger.warn("Virtual thread {} pinned its carrier for {}ms at {}", 
+                       thread, event.getDuration().toMillis(), site);
+        } else {
+            logger.debug("Virtual thread {} pinned its carrier for {}ms at {} ({} times)", 
+                        thread, event.getDuration().toMillis(), site, count.get());
+        }
+    }
+
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+            .limit(REPORTED_FRAMES)
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() 
+                + ":" + frame.getLineNumber())
+            .collect(Collectors.joining(" <- "));
+    }
+}
@@ -1,8 +1,16 @@
 package com.Prod.Chronos.controller;
 
+import com.Prod.Chronos.config.ExecutorConfig;
+import com.Prod.Chronos.config.VirtualThreadPinningMonitor;
 import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.service.InFlightExecutionService;
+import com.Prod.Chronos.service.JobDispatchService;
 import com.Prod.Chronos.service.JobService;
+import com.Prod.Chronos.service.LeaderElectionService;
+import com.Prod.Chronos.service.RetryPolicyService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +26,27 @@ public class AdminController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    @Autowired
+    private JobDispatchService jobDispatchService;
+
+    @Autowired
+    private ExecutorConfig executorConfig;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
+
+    @Autowired
+    private InFlightExecutionService inFlightExecutionService;
+
+    @Autowired
+    private RetryPolicyService retryPolicyService;
+
     @GetMapping("/jobs/stuck")
     public ResponseEntity<?> getStuckJobs(@RequestParam(defaultValue = "30") int timeoutMinutes) {
         try {
@@ -33,6 +62,9 @@ public class AdminController {
 
     @PostMapping("/jobs/stuck/reset")
     public ResponseEntity<?> resetStuckJobs(@RequestParam(defaultValue = "30") int timeoutMinutes) {
+        if (!leaderElectionService.holdsLeadership()) {
+            return notLeader();
+        }
         try {
             List<Job> stuckJobs = jobService.findStuckRunningJobs(timeoutMinutes);
             int resetCount = 0;
@@ -72,6 +104,9 @@ public class AdminController {
 
     @DeleteMapping("/jobs/cleanup")
     public ResponseEntity<?> cleanupOldJobs(@RequestParam(defaultValue = "30") int daysOld) {
+        if (!leaderElectionService.holdsLeadership()) {
+            return notLeader();
+        }
         try {
             List<Job> jobsForCleanup = jobService.findJobsForCleanup(daysOld);
             int deletedCount = 0;
@@ -94,6 +129,59 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/dispatch")
+    public ResponseEntity<?> getDispatchState() {
+        try {
+            Map<String, Object> state = new HashMap<>();
+            state.put("queued", jobDispatchService.getQueuedCount());
+            state.put("inFlight", jobDispatchService.getInFlightCount());
+            state.put("maxInFlight", jobDispatchService.getMaxInFlight());
+            state.put("queuedByOwner", jobDispatchService.getQueuedByOwner());
+            state.put("inFlightByOwner", jobDispatchService.getInFlightByOwner());
+            state.put("runningByGroup", jobDispatchService.getRunningByGroup());
+
+            // Saturation: how full the dispatcher is and how often claims were held back or pools refused work
+            state.put("availableCapacity", jobDispatchService.getAvailableCapacity());
+            state.put("queueHeadroom", jobDispatchService.getQueueHeadroom());
+            state.put("utilization", (double) jobDispatchService.getInFlightCount() / jobDispatchService.getMaxInFlight());
+            state.put("capacityBound", jobDispatchService.isCapacityBound());
+            state.put("capacityBoundClaims", jobDispatchService.getCapacityBoundClaims());
+            state.put("executorRejections", executorConfig.getRejectedCounts());
+            state.put("executorMode", executorConfig.getExecutorMode());
+            state.put("runningExecutions", inFlightExecutionService.getInFlightCount());
+            state.put("timedOutExecutions", inFlightExecutionService.getTimedOutCount());
+            state.put("cancelledExecutions", inFlightExecutionService.getCancelledCount());
+            if (executorConfig.isVirtualMode()) {
+                state.put("virtualThreadPinned", pinningMonitor.getPinnedCount());
+                state.put("virtualThreadPinnedBySite", pinningMonitor.getPinnedBySite());
+            }
+            return ResponseEntity.ok(state);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve dispatch state");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    // Circuit breakers of this node, keyed by job group (or handler for jobs without a group)
+    @GetMapping("/breakers")
+    public ResponseEntity<?> getCircuitBreakers() {
+        Map<String, Object> breakers = new HashMap<>();
+        breakers.put("breakers", retryPolicyService.getBreakerStates());
+        breakers.put("trips", retryPolicyService.getBreakerTrips());
+        breakers.put("parkedRetries", retryPolicyService.getParkedRetries());
+        return ResponseEntity.ok(breakers);
+    }
+
+    @GetMapping("/handlers")
+    public ResponseEntity<?> getHandlers() {
+        Map<String, Object> handlers = new HashMap<>();
+        handlers.put("handlers", jobHandlerRegistry.getHandlers());
+        handlers.put("defaultHandler", jobHandlerRegistry.getDefaultKey());
+        return ResponseEntity.ok(handlers);
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<?> getSystemStatistics() {
         try {
@@ -117,6 +205,10 @@ public class AdminController {
             // System health
             List<Job> stuckJobs = jobService.findStuckRunningJobs(30);
             stats.put("stuckJobs", stuckJobs.size());
+            stats.put("queuedJobs", jobDispatchService.getQueuedCount());
+            stats.put("inFlightJobs", jobDispatchService.getInFlightCount());
+            stats.put("leader", leaderElectionService.isLeader());
+            stats.put("leaderEpoch", leaderElectionService.getEpoch());
             
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
@@ -126,4 +218,12 @@ public class AdminController {
             return ResponseEntity.status(500).body(error);
         }
     }
+
+    // Cluster-wide maintenance only runs on the leader; tell the caller where to go instead
+    private ResponseEntity<?> notLeader() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "This node is not the cluster leader");
+        error.put("leader", leaderElectionService.getCurrentLeader());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
 }
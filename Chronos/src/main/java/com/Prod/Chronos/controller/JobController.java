@@ -1,6 +1,10 @@
 package com.Prod.Chronos.controller;
 
 import com.Prod.Chronos.entity.*;
+import com.Prod.Chronos.handler.JobFailureException;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.scheduler.CompiledCronExpression;
+import com.Prod.Chronos.service.BatchJobEngine;
 import com.Prod.Chronos.service.JobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,44 +32,57 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private BatchJobEngine batchJobEngine;
+
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
+
     @PostMapping
     public ResponseEntity<?> createJob(@Valid @RequestBody CreateJobRequest request, Authentication authentication) {
         try {
-            String createdBy = authentication.getName();
-            Job job;
+            if (!jobHandlerRegistry.hasHandler(request.getHandlerKey())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown job handler: " + request.getHandlerKey()));
+            }
+            if (request.getTimeoutMs() != null && request.getTimeoutMs() <= 0) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Timeout must be a positive number of milliseconds"));
+            }
 
             if (request.getJobType() == JobType.ONE_TIME) {
                 if (request.getScheduledAt() == null) {
                     return ResponseEntity.badRequest().body(Map.of("error", "Scheduled time is required for one-time jobs"));
                 }
-                job = jobService.createOneTimeJob(
-                    request.getName(),
-                    request.getDescription(),
-                    request.getPayload(),
-                    request.getScheduledAt(),
-                    createdBy
-                );
+            } else if (request.getJobType() == JobType.RECURRING && request.getIntervalMs() != null) {
+                if (request.getIntervalMs() <= 0) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Interval must be a positive number of milliseconds"));
+                }
             } else if (request.getJobType() == JobType.RECURRING) {
                 if (request.getCronExpression() == null || request.getCronExpression().trim().isEmpty()) {
                     return ResponseEntity.badRequest().body(Map.of("error", "Cron expression is required for recurring jobs"));
                 }
-                job = jobService.createRecurringJob(
-                    request.getName(),
-                    request.getDescription(),
-                    request.getPayload(),
-                    request.getCronExpression(),
-                    createdBy
-                );
-            } else {
-                job = jobService.createJob(new Job(
-                    request.getName(),
-                    request.getDescription(),
-                    request.getJobType(),
-                    request.getPayload(),
-                    createdBy
-                ));
+                if (!CompiledCronExpression.isValid(request.getCronExpression())) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid cron expression: " + request.getCronExpression()));
+                }
+                if (request.getTimezone() != null && !isValidTimezone(request.getTimezone())) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid timezone: " + request.getTimezone()));
+                }
+            } else if (request.getJobType() == JobType.BATCH) {
+                if (request.getCronExpression() != null && !request.getCronExpression().trim().isEmpty()
+                        && !CompiledCronExpression.isValid(request.getCronExpression())) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid cron expression: " + request.getCronExpression()));
+                }
+                if (request.getTimezone() != null && !isValidTimezone(request.getTimezone())) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid timezone: " + request.getTimezone()));
+                }
+                try {
+                    batchJobEngine.validatePayload(request.getPayload());
+                } catch (JobFailureException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                }
             }
 
+            // Job, schedule and settings are created in one service transaction
+            Job job = jobService.createJob(request, authentication.getName());
             return ResponseEntity.status(HttpStatus.CREATED).body(job);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -139,6 +157,12 @@ public class JobController {
             Optional<Job> jobOpt = jobService.findById(id);
             if (jobOpt.isPresent()) {
                 Job job = jobOpt.get();
+                if (!jobHandlerRegistry.hasHandler(request.getHandlerKey())) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Unknown job handler: " + request.getHandlerKey()));
+                }
+                if (request.getTimeoutMs() != null && request.getTimeoutMs() <= 0) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Timeout must be a positive number of milliseconds"));
+                }
                 
                 // Only allow updates to certain fields
                 if (request.getName() != null) job.setName(request.getName());
@@ -146,8 +170,15 @@ public class JobController {
                 if (request.getPayload() != null) job.setPayload(request.getPayload());
                 if (request.getPriority() != null) job.setPriority(request.getPriority());
                 if (request.getMaxRetries() != null) job.setMaxRetries(request.getMaxRetries());
+                if (request.getOnLeaseExpiry() != null) job.setOnLeaseExpiry(request.getOnLeaseExpiry());
+                if (request.getJobGroup() != null) job.setJobGroup(request.getJobGroup());
+                if (request.getHandlerKey() != null) job.setHandlerKey(request.getHandlerKey());
+                if (request.getTimeoutMs() != null) job.setTimeoutMs(request.getTimeoutMs());
 
                 Job updatedJob = jobService.updateJob(job);
+                if (request.getMisfirePolicy() != null || request.getMisfireGraceMs() != null) {
+                    jobService.configureMisfirePolicy(updatedJob, request.getMisfirePolicy(), request.getMisfireGraceMs());
+                }
                 return ResponseEntity.ok(updatedJob);
             } else {
                 return ResponseEntity.notFound().build();
@@ -218,6 +249,25 @@ public class JobController {
         }
     }
 
+    @GetMapping("/{id}/batch")
+    public ResponseEntity<?> getBatchProgress(@PathVariable Long id) {
+        try {
+            Optional<Job> jobOpt = jobService.findById(id);
+            if (jobOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (jobOpt.get().getJobType() != JobType.BATCH) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Job is not a batch job"));
+            }
+            return ResponseEntity.ok(batchJobEngine.getProgress(id));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve batch progress");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<?> getJobsByStatus(@PathVariable JobStatus status) {
         try {
@@ -256,30 +306,21 @@ public class JobController {
         }
     }
 
+    private boolean isValidTimezone(String timezone) {
+        try {
+            ZoneId.of(timezone);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     // Request DTOs
-    public static class CreateJobRequest {
-        private String name;
-        private String description;
-        private JobType jobType;
-        private String payload;
-        private LocalDateTime scheduledAt;
-        private String cronExpression;
+    public static class CreateJobRequest extends JobService.JobDefinition {
         private Integer priority;
         private Integer maxRetries;
 
         // Getters and setters
-        public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-        public JobType getJobType() { return jobType; }
-        public void setJobType(JobType jobType) { this.jobType = jobType; }
-        public String getPayload() { return payload; }
-        public void setPayload(String payload) { this.payload = payload; }
-        public LocalDateTime getScheduledAt() { return scheduledAt; }
-        public void setScheduledAt(LocalDateTime scheduledAt) { this.scheduledAt = scheduledAt; }
-        public String getCronExpression() { return cronExpression; }
-        public void setCronExpression(String cronExpression) { this.cronExpression = cronExpression; }
         public Integer getPriority() { return priority; }
         public void setPriority(Integer priority) { this.priority = priority; }
         public Integer getMaxRetries() { return maxRetries; }
@@ -290,8 +331,14 @@ public class JobController {
         private String name;
         private String description;
         private String payload;
+        private String jobGroup;
+        private String handlerKey;
         private Integer priority;
         private Integer maxRetries;
+        private Long timeoutMs;
+        private LeaseExpiryPolicy onLeaseExpiry;
+        private MisfirePolicy misfirePolicy;
+        private Long misfireGraceMs;
 
         // Getters and setters
         public String getName() { return name; }
@@ -300,9 +347,21 @@ public class JobController {
         public void setDescription(String description) { this.description = description; }
         public String getPayload() { return payload; }
         public void setPayload(String payload) { this.payload = payload; }
+        public String getJobGroup() { return jobGroup; }
+        public void setJobGroup(String jobGroup) { this.jobGroup = jobGroup; }
+        public String getHandlerKey() { return handlerKey; }
+        public void setHandlerKey(String handlerKey) { this.handlerKey = handlerKey; }
         public Integer getPriority() { return priority; }
         public void setPriority(Integer priority) { this.priority = priority; }
         public Integer getMaxRetries() { return maxRetries; }
         public void setMaxRetries(Integer maxRetries) { this.maxRetries = maxRetries; }
+        public Long getTimeoutMs() { return timeoutMs; }
+        public void setTimeoutMs(Long timeoutMs) { this.timeoutMs = timeoutMs; }
+        public LeaseExpiryPolicy getOnLeaseExpiry() { return onLeaseExpiry; }
+        public void setOnLeaseExpiry(LeaseExpiryPolicy onLeaseExpiry) { this.onLeaseExpiry = onLeaseExpiry; }
+        public MisfirePolicy getMisfirePolicy() { return misfirePolicy; }
+        public void setMisfirePolicy(MisfirePolicy misfirePolicy) { this.misfirePolicy = misfirePolicy; }
+        public Long getMisfireGraceMs() { return misfireGraceMs; }
+        public void setMisfireGraceMs(Long misfireGraceMs) { this.misfireGraceMs = misfireGraceMs; }
     }
 }
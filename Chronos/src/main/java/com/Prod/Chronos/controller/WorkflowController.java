@@ -0,0 +1,111 @@
+package com.Prod.Chronos.controller;
+
+import com.Prod.Chronos.entity.Workflow;
+import com.Prod.Chronos.entity.WorkflowStatus;
+import com.Prod.Chronos.service.WorkflowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/workflows")
+@CrossOrigin(origins = "*")
+public class WorkflowController {
+
+    @Autowired
+    private WorkflowService workflowService;
+
+    @PostMapping
+    public ResponseEntity<?> createWorkflow(@RequestBody CreateWorkflowRequest request, Authentication authentication) {
+        try {
+            if (request.getName() == null || request.getName().isBlank()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Workflow name is required"));
+            }
+            Workflow workflow = workflowService.createWorkflow(
+                request.getName(),
+                request.getDescription(),
+                request.getStartAt(),
+                request.getSteps(),
+                authentication.getName()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(workflowService.getWorkflowView(workflow.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to create workflow");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getWorkflows(@RequestParam(required = false) WorkflowStatus status) {
+        try {
+            List<Workflow> workflows = status != null ? workflowService.findByStatus(status) : workflowService.findAll();
+            return ResponseEntity.ok(workflows);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve workflows");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getWorkflow(@PathVariable Long id) {
+        try {
+            Map<String, Object> view = workflowService.getWorkflowView(id);
+            if (view == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(view);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to retrieve workflow");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping("/{id}/critical-path")
+    public ResponseEntity<?> getCriticalPath(@PathVariable Long id) {
+        try {
+            Map<String, Object> criticalPath = workflowService.getCriticalPath(id);
+            if (criticalPath == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(criticalPath);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to compute critical path");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    // Request DTOs
+    public static class CreateWorkflowRequest {
+        private String name;
+        private String description;
+        private LocalDateTime startAt;
+        private List<WorkflowService.StepDefinition> steps;
+
+        // Getters and setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public LocalDateTime getStartAt() { return startAt; }
+        public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+        public List<WorkflowService.StepDefinition> getSteps() { return steps; }
+        public void setSteps(List<WorkflowService.StepDefinition> steps) { this.steps = steps; }
+    }
+}
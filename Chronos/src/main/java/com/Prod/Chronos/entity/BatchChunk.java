@@ -0,0 +1,139 @@
+package com.Prod.Chronos.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One slice [startOffset, endOffset) of a batch job's input; a COMPLETED row is the checkpoint for that slice
+@Entity
+@Table(name = "batch_chunks", uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "chunk_index"}))
+public class BatchChunk {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+    
+    @Column(name = "start_offset", nullable = false)
+    private Long startOffset;
+    
+    @Column(name = "end_offset", nullable = false)
+    private Long endOffset;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BatchChunkStatus status = BatchChunkStatus.PENDING;
+    
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    // Set on every chunk of the plan once its run completed the job; the next run plans afresh
+    @Column(name = "closed", nullable = false, columnDefinition = "boolean not null default false")
+    private Boolean closed = false;
+    
+    // Constructors
+    public BatchChunk() {
+    }
+    
+    public BatchChunk(Long jobId, int chunkIndex, long startOffset, long endOffset) {
+        this.jobId = jobId;
+        this.chunkIndex = chunkIndex;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+    
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+    
+    public void setChunkIndex(Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+    
+    public Long getStartOffset() {
+        return startOffset;
+    }
+    
+    public void setStartOffset(Long startOffset) {
+        this.startOffset = startOffset;
+    }
+    
+    public Long getEndOffset() {
+        return endOffset;
+    }
+    
+    public void setEndOffset(Long endOffset) {
+        this.endOffset = endOffset;
+    }
+    
+    public BatchChunkStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(BatchChunkStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public Boolean getClosed() {
+        return closed;
+    }
+    
+    public void setClosed(Boolean closed) {
+        this.closed = closed;
+    }
+    
+    public long size() {
+        return endOffset - startOffset;
+    }
+}
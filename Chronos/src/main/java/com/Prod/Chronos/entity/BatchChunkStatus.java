@@ -0,0 +1,17 @@
+package com.Prod.Chronos.entity;
+
+public enum BatchChunkStatus {
+    PENDING("Not processed yet"),
+    COMPLETED("Processed and checkpointed"),
+    FAILED("Failed after all attempts; reprocessed when the batch resumes");
+    
+    private final String description;
+    
+    BatchChunkStatus(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -35,6 +35,9 @@ public class ExecutionLog {
     @Column(name = "duration_ms")
     private Long durationMs;
     
+    @Column(name = "queue_wait_ms")
+    private Long queueWaitMs;
+    
     @Column(name = "thread_name")
     private String threadName;
     
@@ -116,6 +119,14 @@ public class ExecutionLog {
         this.durationMs = durationMs;
     }
     
+    public Long getQueueWaitMs() {
+        return queueWaitMs;
+    }
+    
+    public void setQueueWaitMs(Long queueWaitMs) {
+        this.queueWaitMs = queueWaitMs;
+    }
+    
     public String getThreadName() {
         return threadName;
     }
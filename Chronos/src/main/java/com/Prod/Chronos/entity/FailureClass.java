@@ -0,0 +1,17 @@
+package com.Prod.Chronos.entity;
+
+public enum FailureClass {
+    TRANSIENT("Failure expected to clear on its own; retried with jittered backoff"),
+    THROTTLED("The job or a dependency was rate limited; retried with a longer backoff"),
+    PERMANENT("Retrying cannot help; the job goes straight to the dead letter queue");
+    
+    private final String description;
+    
+    FailureClass(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
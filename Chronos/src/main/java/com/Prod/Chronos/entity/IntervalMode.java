@@ -0,0 +1,16 @@
+package com.Prod.Chronos.entity;
+
+public enum IntervalMode {
+    FIXED_RATE("Fire at fixed multiples of the interval from the start time"),
+    FIXED_DELAY("Fire one interval after the previous execution finished");
+    
+    private final String description;
+    
+    IntervalMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
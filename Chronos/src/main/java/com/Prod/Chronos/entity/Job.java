@@ -37,15 +37,31 @@ public class Job {
     @Column(name = "payload", columnDefinition = "TEXT")
     private String payload;
     
+    @Column(name = "job_group")
+    private String jobGroup;
+    
+    // Key of the JobHandler that runs this job; null runs the default handler
+    @Column(name = "handler_key", length = 100)
+    private String handlerKey;
+    
     @Column(name = "priority")
     private Integer priority = 0;
     
     @Column(name = "max_retries")
     private Integer maxRetries = 3;
     
+    // Longest a single execution may run before it is interrupted and failed; null uses the configured default
+    @Column(name = "timeout_ms")
+    private Long timeoutMs;
+    
     @Column(name = "current_retry_count")
     private Integer currentRetryCount = 0;
     
+    // Fencing token of the current execution attempt; transitions only apply while it still matches.
+    // The default lets ddl-auto add the column to a jobs table that already has rows.
+    @Column(name = "execution_token", nullable = false, columnDefinition = "bigint not null default 0")
+    private Long executionToken = 0L;
+    
     @Column(name = "created_by")
     private String createdBy;
     
@@ -67,6 +83,34 @@ public class Job {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
     
+    // Class of the last failure; PERMANENT failures are not retried
+    @Enumerated(EnumType.STRING)
+    @Column(name = "failure_class", length = 20)
+    private FailureClass failureClass;
+    
+    // Jittered delay before the pending retry; seeds the next delay, cleared once the job succeeds
+    @Column(name = "retry_delay_ms")
+    private Long retryDelayMs;
+    
+    @Column(name = "next_retry_at")
+    private LocalDateTime nextRetryAt;
+    
+    @Column(name = "claimed_by")
+    private String claimedBy;
+    
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "on_lease_expiry")
+    private LeaseExpiryPolicy onLeaseExpiry = LeaseExpiryPolicy.FAIL;
+    
+    @Column(name = "workflow_id")
+    private Long workflowId;
+    
     @OneToMany(mappedBy = "job", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<ExecutionLog> executionLogs = new ArrayList<>();
@@ -140,6 +184,22 @@ public class Job {
         this.payload = payload;
     }
     
+    public String getJobGroup() {
+        return jobGroup;
+    }
+    
+    public void setJobGroup(String jobGroup) {
+        this.jobGroup = jobGroup;
+    }
+    
+    public String getHandlerKey() {
+        return handlerKey;
+    }
+    
+    public void setHandlerKey(String handlerKey) {
+        this.handlerKey = handlerKey;
+    }
+    
     public Integer getPriority() {
         return priority;
     }
@@ -156,6 +216,14 @@ public class Job {
         this.maxRetries = maxRetries;
     }
     
+    public Long getTimeoutMs() {
+        return timeoutMs;
+    }
+    
+    public void setTimeoutMs(Long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+    
     public Integer getCurrentRetryCount() {
         return currentRetryCount;
     }
@@ -220,6 +288,78 @@ public class Job {
         this.errorMessage = errorMessage;
     }
     
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+    
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+    
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+    
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+    
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+    
+    public LeaseExpiryPolicy getOnLeaseExpiry() {
+        return onLeaseExpiry;
+    }
+    
+    public void setOnLeaseExpiry(LeaseExpiryPolicy onLeaseExpiry) {
+        this.onLeaseExpiry = onLeaseExpiry;
+    }
+    
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+    
+    public void setWorkflowId(Long workflowId) {
+        this.workflowId = workflowId;
+    }
+    
+    public Long getExecutionToken() {
+        return executionToken;
+    }
+    
+    public void setExecutionToken(Long executionToken) {
+        this.executionToken = executionToken;
+    }
+    
+    public FailureClass getFailureClass() {
+        return failureClass;
+    }
+    
+    public void setFailureClass(FailureClass failureClass) {
+        this.failureClass = failureClass;
+    }
+    
+    public Long getRetryDelayMs() {
+        return retryDelayMs;
+    }
+    
+    public void setRetryDelayMs(Long retryDelayMs) {
+        this.retryDelayMs = retryDelayMs;
+    }
+    
+    public LocalDateTime getNextRetryAt() {
+        return nextRetryAt;
+    }
+    
+    public void setNextRetryAt(LocalDateTime nextRetryAt) {
+        this.nextRetryAt = nextRetryAt;
+    }
+    
     public List<ExecutionLog> getExecutionLogs() {
         return executionLogs;
     }
@@ -243,24 +383,59 @@ public class Job {
     }
     
     public boolean canRetry() {
-        return this.currentRetryCount < this.maxRetries;
+        return this.currentRetryCount < this.maxRetries && this.failureClass != FailureClass.PERMANENT;
+    }
+    
+    // Invalidates whatever still holds the previous token, e.g. an execution whose lease was reaped
+    public void advanceExecutionToken() {
+        this.executionToken++;
+    }
+    
+    public void scheduleRetry(long delayMs) {
+        this.retryDelayMs = delayMs;
+        this.nextRetryAt = LocalDateTime.now().plusNanos(delayMs * 1_000_000L);
     }
     
     public void markAsRunning() {
         this.status = JobStatus.RUNNING;
+        this.failureClass = null;
         this.startedAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
     
+    public void acquireLease(String nodeId, LocalDateTime leaseExpiresAt) {
+        this.claimedBy = nodeId;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+    
+    public void requeue() {
+        this.status = JobStatus.SCHEDULED;
+        this.scheduledAt = LocalDateTime.now();
+        this.claimedBy = null;
+        this.claimedAt = null;
+        this.leaseExpiresAt = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     public void markAsCompleted() {
         this.status = JobStatus.COMPLETED;
+        this.failureClass = null;
+        this.retryDelayMs = null;
+        this.nextRetryAt = null;
+        this.leaseExpiresAt = null;
         this.completedAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
     
     public void markAsFailed(String errorMessage) {
+        markAsFailed(errorMessage, FailureClass.TRANSIENT);
+    }
+    
+    public void markAsFailed(String errorMessage, FailureClass failureClass) {
         this.status = JobStatus.FAILED;
         this.errorMessage = errorMessage;
+        this.failureClass = failureClass;
+        this.leaseExpiresAt = null;
         this.completedAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -32,6 +32,20 @@ public class JobSchedule {
     @Column(name = "timezone")
     private String timezone = "UTC";
     
+    @Column(name = "interval_ms")
+    private Long intervalMs;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "interval_mode")
+    private IntervalMode intervalMode;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "misfire_policy")
+    private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+    
+    @Column(name = "misfire_grace_ms")
+    private Long misfireGraceMs;
+    
     @Column(name = "is_active")
     private Boolean isActive = true;
     
@@ -41,6 +55,12 @@ public class JobSchedule {
     @Column(name = "last_execution")
     private LocalDateTime lastExecution;
     
+    @Column(name = "claimed_by")
+    private String claimedBy;
+    
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -68,6 +88,12 @@ public class JobSchedule {
         this.cronExpression = cronExpression;
     }
     
+    public JobSchedule(Job job, long intervalMs, IntervalMode intervalMode, LocalDateTime startAt) {
+        this(job, ScheduleType.INTERVAL, startAt);
+        this.intervalMs = intervalMs;
+        this.intervalMode = intervalMode;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -117,6 +143,38 @@ public class JobSchedule {
         this.timezone = timezone;
     }
     
+    public Long getIntervalMs() {
+        return intervalMs;
+    }
+    
+    public void setIntervalMs(Long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+    
+    public IntervalMode getIntervalMode() {
+        return intervalMode;
+    }
+    
+    public void setIntervalMode(IntervalMode intervalMode) {
+        this.intervalMode = intervalMode;
+    }
+    
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+    
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+    }
+    
+    public Long getMisfireGraceMs() {
+        return misfireGraceMs;
+    }
+    
+    public void setMisfireGraceMs(Long misfireGraceMs) {
+        this.misfireGraceMs = misfireGraceMs;
+    }
+    
     public Boolean getIsActive() {
         return isActive;
     }
@@ -141,6 +199,22 @@ public class JobSchedule {
         this.lastExecution = lastExecution;
     }
     
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+    
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+    
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -173,6 +247,11 @@ public class JobSchedule {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public void releaseClaim() {
+        this.claimedBy = null;
+        this.claimedAt = null;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -1,6 +1,7 @@
 package com.Prod.Chronos.entity;
 
 public enum JobStatus {
+    WAITING("Job is waiting for the workflow steps it depends on"),
     SCHEDULED("Job is scheduled for execution"),
     RUNNING("Job is currently running"),
     COMPLETED("Job completed successfully"),
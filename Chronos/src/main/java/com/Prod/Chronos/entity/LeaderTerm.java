@@ -0,0 +1,62 @@
+package com.Prod.Chronos.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Single-row table holding the current leadership epoch, used as a fencing token
+@Entity
+@Table(name = "leader_terms")
+public class LeaderTerm {
+    
+    public static final int SINGLETON_ID = 1;
+    
+    @Id
+    @Column(name = "id")
+    private Integer id;
+    
+    @Column(name = "epoch", nullable = false)
+    private Long epoch;
+    
+    @Column(name = "leader_node")
+    private String leaderNode;
+    
+    @Column(name = "elected_at")
+    private LocalDateTime electedAt;
+    
+    // Constructors
+    public LeaderTerm() {
+    }
+    
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public Long getEpoch() {
+        return epoch;
+    }
+    
+    public void setEpoch(Long epoch) {
+        this.epoch = epoch;
+    }
+    
+    public String getLeaderNode() {
+        return leaderNode;
+    }
+    
+    public void setLeaderNode(String leaderNode) {
+        this.leaderNode = leaderNode;
+    }
+    
+    public LocalDateTime getElectedAt() {
+        return electedAt;
+    }
+    
+    public void setElectedAt(LocalDateTime electedAt) {
+        this.electedAt = electedAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.Prod.Chronos.entity;
+
+public enum LeaseExpiryPolicy {
+    REQUEUE("Reschedule the job for another attempt when its execution lease expires"),
+    FAIL("Mark the job as failed when its execution lease expires");
+    
+    private final String description;
+    
+    LeaseExpiryPolicy(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
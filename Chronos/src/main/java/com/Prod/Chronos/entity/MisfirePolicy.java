@@ -0,0 +1,18 @@
+package com.Prod.Chronos.entity;
+
+public enum MisfirePolicy {
+    FIRE_ONCE("Run once for all missed fire times, then continue with the next regular one"),
+    FIRE_ALL("Run every missed fire time, released at the catch-up rate"),
+    SKIP_TO_NEXT("Skip missed fire times and wait for the next regular one"),
+    FIRE_IF_WITHIN_GRACE("Run once if the missed fire time is within the grace window, otherwise skip");
+    
+    private final String description;
+    
+    MisfirePolicy(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,79 @@
+package com.Prod.Chronos.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A Kafka record committed together with the job state it describes; deleted once the relay published it
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "message_key")
+    private String messageKey;
+    
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public OutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public OutboxEvent(String topic, String messageKey, String payload) {
+        this();
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+    
+    public String getMessageKey() {
+        return messageKey;
+    }
+    
+    public void setMessageKey(String messageKey) {
+        this.messageKey = messageKey;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
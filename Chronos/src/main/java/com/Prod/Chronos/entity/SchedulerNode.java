@@ -0,0 +1,59 @@
+package com.Prod.Chronos.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_nodes")
+public class SchedulerNode {
+    
+    @Id
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+    
+    @Column(name = "host_name")
+    private String hostName;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "last_heartbeat", nullable = false)
+    private LocalDateTime lastHeartbeat;
+    
+    // Constructors
+    public SchedulerNode() {
+    }
+    
+    // Getters and Setters
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+    
+    public String getHostName() {
+        return hostName;
+    }
+    
+    public void setHostName(String hostName) {
+        this.hostName = hostName;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+    
+    public void setLastHeartbeat(LocalDateTime lastHeartbeat) {
+        this.lastHeartbeat = lastHeartbeat;
+    }
+}
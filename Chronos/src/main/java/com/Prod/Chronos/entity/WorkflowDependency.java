@@ -0,0 +1,65 @@
+package com.Prod.Chronos.entity;
+
+import jakarta.persistence.*;
+
+// Edge of a workflow DAG: jobId may only start after dependsOnJobId completed
+@Entity
+@Table(name = "workflow_dependencies", uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "depends_on_job_id"}))
+public class WorkflowDependency {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "workflow_id", nullable = false)
+    private Long workflowId;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "depends_on_job_id", nullable = false)
+    private Long dependsOnJobId;
+    
+    // Constructors
+    public WorkflowDependency() {
+    }
+    
+    public WorkflowDependency(Long workflowId, Long jobId, Long dependsOnJobId) {
+        this.workflowId = workflowId;
+        this.jobId = jobId;
+        this.dependsOnJobId = dependsOnJobId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+    
+    public void setWorkflowId(Long workflowId) {
+        this.workflowId = workflowId;
+    }
+    
+    public Long getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+    
+    public Long getDependsOnJobId() {
+        return dependsOnJobId;
+    }
+    
+    public void setDependsOnJobId(Long dependsOnJobId) {
+        this.dependsOnJobId = dependsOnJobId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.Prod.Chronos.entity;
+
+public enum WorkflowStatus {
+    RUNNING("Workflow has steps that are waiting or running"),
+    COMPLETED("All workflow steps completed"),
+    FAILED("A workflow step failed for good; steps depending on it were cancelled"),
+    CANCELLED("Workflow was cancelled");
+    
+    private final String description;
+    
+    WorkflowStatus(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
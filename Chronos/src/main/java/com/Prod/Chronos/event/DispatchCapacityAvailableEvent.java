@@ -0,0 +1,15 @@
+package com.Prod.Chronos.event;
+
+// Published when the dispatcher has room again after claims were cut short for lack of capacity
+public class DispatchCapacityAvailableEvent {
+
+    private final int availableCapacity;
+
+    public DispatchCapacityAvailableEvent(int availableCapacity) {
+        this.availableCapacity = availableCapacity;
+    }
+
+    public int getAvailableCapacity() {
+        return availableCapacity;
+    }
+}
@@ -0,0 +1,38 @@
+package com.Prod.Chronos.event;
+
+import com.Prod.Chronos.entity.JobStatus;
+
+import java.time.LocalDateTime;
+
+// Published by the executor once a job execution has reached a terminal status
+public class JobExecutionFinishedEvent {
+
+    private final Long jobId;
+    private final Long workflowId;
+    private final JobStatus status;
+    private final LocalDateTime finishedAt;
+
+    public JobExecutionFinishedEvent(Long jobId, Long workflowId, JobStatus status, LocalDateTime finishedAt) {
+        this.jobId = jobId;
+        this.workflowId = workflowId;
+        this.status = status;
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    // Null unless the job is a workflow step
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
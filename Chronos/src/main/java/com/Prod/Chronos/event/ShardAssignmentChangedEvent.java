@@ -0,0 +1,17 @@
+package com.Prod.Chronos.event;
+
+import com.Prod.Chronos.scheduler.ShardAssignment;
+
+// Published when cluster membership changes the buckets owned by this node
+public class ShardAssignmentChangedEvent {
+
+    private final ShardAssignment assignment;
+
+    public ShardAssignmentChangedEvent(ShardAssignment assignment) {
+        this.assignment = assignment;
+    }
+
+    public ShardAssignment getAssignment() {
+        return assignment;
+    }
+}
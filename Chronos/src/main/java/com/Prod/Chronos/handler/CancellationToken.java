@@ -0,0 +1,22 @@
+package com.Prod.Chronos.handler;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Lets a handler notice that its execution was cancelled or timed out.
+ * Blocking calls are also interrupted; handlers doing long computations or
+ * loops should check the token between steps and stop early.
+ */
+public interface CancellationToken {
+
+    // A token for code that runs outside a tracked execution
+    CancellationToken NONE = () -> false;
+
+    boolean isCancelled();
+
+    default void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Job execution was cancelled");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.Prod.Chronos.handler;
+
+import com.Prod.Chronos.entity.Job;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+
+/**
+ * A handler together with the Jackson reader for its payload type. The reader
+ * is built once at registration, so decoding a payload does not look up or
+ * construct deserializers per execution.
+ */
+public final class HandlerBinding<P> {
+
+    private final JobHandler<P> handler;
+    private final ObjectReader reader;
+
+    public HandlerBinding(JobHandler<P> handler, ObjectMapper objectMapper) {
+        this.handler = handler;
+        this.reader = objectMapper.readerFor(handler.getPayloadType());
+    }
+
+    public P decode(String payload) throws IOException {
+        Class<P> type = handler.getPayloadType();
+        if (type == String.class) {
+            return type.cast(payload);
+        }
+        if (payload == null || payload.isBlank()) {
+            return null;
+        }
+        if (type == JsonNode.class) {
+            return type.cast(reader.readTree(payload));
+        }
+        return reader.readValue(payload);
+    }
+
+    public void run(Job job, CancellationToken cancellation) throws Exception {
+        handler.handle(job, decodePayload(job), cancellation);
+    }
+
+    public void runChunk(Job job, long startOffset, long endOffset, CancellationToken cancellation) throws Exception {
+        handler.handleChunk(job, decodePayload(job), startOffset, endOffset, cancellation);
+    }
+
+    private P decodePayload(Job job) {
+        try {
+            return decode(job.getPayload());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Payload is not a valid " + handler.getPayloadType().getSimpleName()
+                + " for handler " + handler.getKey() + ": " + e.getMessage(), e);
+        }
+    }
+
+    public JobHandler<P> getHandler() {
+        return handler;
+    }
+
+    public String getKey() {
+        return handler.getKey();
+    }
+
+    public ResourceClass getResourceClass() {
+        return handler.getResourceClass() != null ? handler.getResourceClass() : ResourceClass.BLOCKING_IO;
+    }
+}
@@ -0,0 +1,63 @@
+package com.Prod.Chronos.handler;
+
+import com.Prod.Chronos.entity.FailureClass;
+
+/**
+ * Thrown by a handler to say how its failure should be retried: TRANSIENT
+ * failures back off with jitter, THROTTLED ones back off longer (at least
+ * {@code retryAfterMs} when the dependency said so) and PERMANENT ones are
+ * not retried at all. Any other exception is classified by {@link #from}.
+ */
+public class JobFailureException extends RuntimeException {
+
+    private final FailureClass failureClass;
+    private final Long retryAfterMs;
+
+    public JobFailureException(FailureClass failureClass, String message) {
+        this(failureClass, message, null, null);
+    }
+
+    public JobFailureException(FailureClass failureClass, String message, Throwable cause) {
+        this(failureClass, message, null, cause);
+    }
+
+    public JobFailureException(FailureClass failureClass, String message, Long retryAfterMs, Throwable cause) {
+        super(message, cause);
+        this.failureClass = failureClass;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public static JobFailureException throttled(String message, long retryAfterMs) {
+        return new JobFailureException(FailureClass.THROTTLED, message, retryAfterMs, null);
+    }
+
+    public static JobFailureException permanent(String message) {
+        return new JobFailureException(FailureClass.PERMANENT, message);
+    }
+
+    // A JobFailureException anywhere in the cause chain wins; otherwise bad input is permanent and the rest transient
+    public static JobFailureException from(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof JobFailureException jobFailure) {
+                return jobFailure;
+            }
+        }
+        String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+        return new JobFailureException(classify(failure), message, failure);
+    }
+
+    private static FailureClass classify(Throwable failure) {
+        if (failure instanceof IllegalArgumentException || failure instanceof UnsupportedOperationException) {
+            return FailureClass.PERMANENT;
+        }
+        return FailureClass.TRANSIENT;
+    }
+
+    public FailureClass getFailureClass() {
+        return failureClass;
+    }
+
+    public Long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -0,0 +1,36 @@
+package com.Prod.Chronos.handler;
+
+import com.Prod.Chronos.entity.Job;
+
+/**
+ * Runs the work of a job. Implementations are Spring beans, found by
+ * {@link JobHandlerRegistry} and selected by {@link Job#getHandlerKey()}.
+ * The job's JSON payload is decoded to {@link #getPayloadType()} before
+ * {@link #handle} is called; returning normally completes the job, throwing
+ * fails it with the exception's message. Throw {@link JobFailureException}
+ * to say whether the failure is transient, throttled or permanent; other
+ * exceptions are classified by type. Long-running handlers should watch
+ * the {@link CancellationToken}, which trips when the job is cancelled or
+ * times out. BATCH jobs call {@link #handleChunk} once per chunk instead,
+ * possibly for several chunks of the same job at a time.
+ */
+public interface JobHandler<P> {
+
+    // Unique key that jobs use to select this handler
+    String getKey();
+
+    // String receives the raw payload, JsonNode the parsed tree, anything else is bound by Jackson
+    Class<P> getPayloadType();
+
+    // Decides whether the job runs on the blocking I/O executor or the CPU-sized pool
+    default ResourceClass getResourceClass() {
+        return ResourceClass.BLOCKING_IO;
+    }
+
+    void handle(Job job, P payload, CancellationToken cancellation) throws Exception;
+
+    // Processes items [startOffset, endOffset) of a BATCH job; a handler without chunk support fails the job permanently
+    default void handleChunk(Job job, P payload, long startOffset, long endOffset, CancellationToken cancellation) throws Exception {
+        throw new UnsupportedOperationException("Job handler " + getKey() + " does not process batch chunks");
+    }
+}
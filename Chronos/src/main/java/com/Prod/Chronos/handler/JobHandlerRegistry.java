@@ -0,0 +1,90 @@
+package com.Prod.Chronos.handler;
+
+import com.Prod.Chronos.entity.Job;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Every {@link JobHandler} bean in the context, keyed by handler key. Jobs
+ * without a handler key run the default handler. Duplicate keys or a missing
+ * default handler fail startup rather than the first job that needs them.
+ */
+@Component
+public class JobHandlerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobHandlerRegistry.class);
+
+    @Autowired
+    private List<JobHandler<?>> handlers;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chronos.handlers.default-key:simulated}")
+    private String defaultKey;
+
+    private final Map<String, HandlerBinding<?>> bindings = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (JobHandler<?> handler : handlers) {
+            String key = handler.getKey();
+            if (key == null || key.isBlank()) {
+                throw new IllegalStateException("Job handler " + handler.getClass().getName() + " has no key");
+            }
+            HandlerBinding<?> previous = bindings.put(key, new HandlerBinding<>(handler, objectMapper));
+            if (previous != null) {
+                throw new IllegalStateException("Job handler key " + key + " is used by both "
+                    + previous.getHandler().getClass().getName() + " and " + handler.getClass().getName());
+            }
+        }
+        if (!bindings.containsKey(defaultKey)) {
+            throw new IllegalStateException("Default job handler " + defaultKey + " is not registered");
+        }
+        logger.info("Registered job handlers: {} (default: {})", bindings.keySet(), defaultKey);
+    }
+
+    public boolean hasHandler(String key) {
+        return key == null || key.isBlank() || bindings.containsKey(key);
+    }
+
+    public HandlerBinding<?> resolve(Job job) {
+        String key = keyOf(job);
+        HandlerBinding<?> binding = bindings.get(key);
+        if (binding == null) {
+            throw new IllegalArgumentException("No job handler registered for key: " + key);
+        }
+        return binding;
+    }
+
+    // Unknown keys dispatch as blocking I/O; the job then fails in the executor with a clear message
+    public ResourceClass resourceClassOf(Job job) {
+        HandlerBinding<?> binding = bindings.get(keyOf(job));
+        return binding != null ? binding.getResourceClass() : ResourceClass.BLOCKING_IO;
+    }
+
+    // Handler key -> resource class, for the admin API
+    public Map<String, ResourceClass> getHandlers() {
+        Map<String, ResourceClass> view = new TreeMap<>();
+        bindings.forEach((key, binding) -> view.put(key, binding.getResourceClass()));
+        return view;
+    }
+
+    public String getDefaultKey() {
+        return defaultKey;
+    }
+
+    private String keyOf(Job job) {
+        return job.getHandlerKey() != null && !job.getHandlerKey().isBlank() ? job.getHandlerKey() : defaultKey;
+    }
+}
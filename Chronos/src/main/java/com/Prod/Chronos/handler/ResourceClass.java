@@ -0,0 +1,18 @@
+package com.Prod.Chronos.handler;
+
+public enum ResourceClass {
+    // Spends its time computing; runs on a platform pool sized to the available processors
+    CPU_BOUND("Compute-heavy work, limited to one thread per processor"),
+    // Spends its time waiting on I/O; runs on the job executor (virtual threads in virtual mode)
+    BLOCKING_IO("Work that mostly waits on databases, HTTP calls or files");
+
+    private final String description;
+
+    ResourceClass(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
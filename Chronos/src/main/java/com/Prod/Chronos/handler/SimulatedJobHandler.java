@@ -0,0 +1,36 @@
+package com.Prod.Chronos.handler;
+
+import com.Prod.Chronos.entity.Job;
+import org.springframework.stereotype.Component;
+
+// Demo handler and default for jobs without a handler key: sleeps 1-3 seconds and fails 10% of the time.
+// Batch chunks take about 10ms per 1000 items and always succeed.
+@Component
+public class SimulatedJobHandler implements JobHandler<String> {
+
+    @Override
+    public String getKey() {
+        return "simulated";
+    }
+
+    @Override
+    public Class<String> getPayloadType() {
+        return String.class;
+    }
+
+    @Override
+    public void handle(Job job, String payload, CancellationToken cancellation) throws Exception {
+        // Simulate job execution time
+        Thread.sleep(1000 + (long) (Math.random() * 2000));
+
+        // Simulate success/failure (90% success rate for demo)
+        if (Math.random() < 0.1) {
+            throw new IllegalStateException("Job execution failed");
+        }
+    }
+
+    @Override
+    public void handleChunk(Job job, String payload, long startOffset, long endOffset, CancellationToken cancellation) throws Exception {
+        Thread.sleep(Math.max(1, (endOffset - startOffset) / 100));
+    }
+}
@@ -0,0 +1,55 @@
+package com.Prod.Chronos.listener;
+
+import com.Prod.Chronos.service.InFlightExecutionService;
+import com.Prod.Chronos.service.KafkaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Every node reads all partitions of the control topic, so a cancel reaches whichever node runs the job.
+// Partitions are assigned manually and no offsets are committed: restarts leave no consumer group behind.
+@Component
+public class KafkaControlEventListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaControlEventListener.class);
+
+    @Autowired
+    private InFlightExecutionService inFlightExecutionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(topicPartitions = @TopicPartition(
+                       topic = KafkaService.JOB_CONTROL_TOPIC, partitions = "${chronos.control.partitions:0-2}"))
+    public void handleControlEvent(@Payload String message) {
+        try {
+            Map<String, Object> controlEvent = objectMapper.readValue(message, Map.class);
+            Object type = controlEvent.get("type");
+            if ("CANCEL".equals(type)) {
+                Long jobId = Long.valueOf(controlEvent.get("jobId").toString());
+                if (inFlightExecutionService.cancelLocal(jobId)) {
+                    logger.info("Cancelled job {} on request from the control topic", jobId);
+                }
+            } else {
+                logger.warn("Ignoring unknown control event type: {}", type);
+            }
+        } catch (Exception e) {
+            logger.error("Error processing control event: {}", message, e);
+        }
+        // Not acknowledged: there is no group to commit to
+    }
+
+    // Start from the end: cancels sent before this node started concern executions it does not have
+    @Override
+    public void onPartitionsAssigned(Map<org.apache.kafka.common.TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+}
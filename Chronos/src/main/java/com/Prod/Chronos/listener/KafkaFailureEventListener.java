@@ -1,6 +1,7 @@
 package com.Prod.Chronos.listener;
 
 import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.service.JobExecutorService;
 import com.Prod.Chronos.service.JobService;
 import com.Prod.Chronos.service.KafkaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -27,6 +28,9 @@ public class KafkaFailureEventListener {
     @Autowired
     private KafkaService kafkaService;
 
+    @Autowired
+    private JobExecutorService jobExecutorService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,14 +61,18 @@ public class KafkaFailureEventListener {
                 return;
             }
 
+            // A redelivered failure event still carries the old token, so its retry or dead letter is fenced off
+            Object tokenValue = failureEvent.get("executionToken");
+            Long executionToken = tokenValue != null ? Long.valueOf(tokenValue.toString()) : null;
+
+            // Permanent failures report canRetry=false and skip the retry pipeline entirely
             if (canRetry) {
                 // Send to retry pipeline with delay
-                kafkaService.sendRetryEvent(job);
+                kafkaService.sendRetryEvent(job, executionToken);
                 logger.info("Job {} sent to retry pipeline", jobId);
             } else {
-                // Send to dead letter queue
-                kafkaService.sendToDeadLetterQueue(job, "Max retries exceeded");
-                logger.warn("Job {} sent to dead letter queue (max retries exceeded)", jobId);
+                // The only path to the dead letter queue; guarded by the failed attempt's token
+                jobExecutorService.deadLetter(jobId, executionToken, errorReason);
             }
 
             acknowledgment.acknowledge();
@@ -1,8 +1,8 @@
 package com.Prod.Chronos.listener;
 
-import com.Prod.Chronos.entity.Job;
-import com.Prod.Chronos.service.JobService;
-import com.Prod.Chronos.service.JobExecutorService;
+import com.Prod.Chronos.service.JobDispatchService;
+import com.Prod.Chronos.service.KafkaService;
+import com.Prod.Chronos.service.RetryPolicyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,23 +14,29 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
+// Delayed retries wait on the chronos.retry.* tier topics; a record that is not due yet pauses its
+// partition (nack with a sleep) instead of blocking the consumer thread
 @Component
 public class KafkaRetryEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaRetryEventListener.class);
 
     @Autowired
-    private JobService jobService;
+    private JobDispatchService jobDispatchService;
 
     @Autowired
-    private JobExecutorService jobExecutorService;
+    private KafkaService kafkaService;
+
+    @Autowired
+    private RetryPolicyService retryPolicyService;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    // Events published before the delay tiers existed; anything still waiting moves onto a tier
     @KafkaListener(topics = "chronos.retry.pipeline", 
                    groupId = "chronos-retry-consumer",
                    containerFactory = "retryKafkaListenerContainerFactory")
@@ -44,46 +50,93 @@ public class KafkaRetryEventListener {
                        topic, partition, offset);
 
             Map<String, Object> retryEvent = objectMapper.readValue(message, Map.class);
-            Long jobId = Long.valueOf(retryEvent.get("jobId").toString());
-            String jobName = retryEvent.get("jobName").toString();
-            Integer retryCount = Integer.valueOf(retryEvent.get("retryCount").toString());
-            Long retryDelay = Long.valueOf(retryEvent.get("retryDelay").toString());
-
-            logger.info("Processing retry event for job: {} (ID: {}, attempt: {})", 
-                       jobName, jobId, retryCount);
-
-            Job job = jobService.findById(jobId).orElse(null);
-            if (job == null) {
-                logger.error("Job not found for retry event: {}", jobId);
-                acknowledgment.acknowledge();
-                return;
+            if (!retryEvent.containsKey("dueAt")) {
+                long retryDelay = Long.parseLong(retryEvent.get("retryDelay").toString());
+                retryEvent.put("dueAt", System.currentTimeMillis() + retryDelay);
             }
+            route(retryEvent);
 
-            // Apply retry delay
-            if (retryDelay > 0) {
-                logger.info("Waiting {}ms before retrying job: {}", retryDelay, jobId);
-                Thread.sleep(retryDelay);
-            }
+            acknowledgment.acknowledge();
+        } catch (Exception e) {
+            logger.error("Error processing retry event: {}", message, e);
+            // Don't acknowledge on error to allow retry
+        }
+    }
+
+    @KafkaListener(topics = "chronos.retry.5s", 
+                   groupId = "chronos-retry-5s",
+                   containerFactory = "delayedRetryKafkaListenerContainerFactory")
+    public void handleShortDelayRetry(@Payload String message, Acknowledgment acknowledgment) {
+        handleDelayedRetry(message, acknowledgment);
+    }
+
+    @KafkaListener(topics = "chronos.retry.30s", 
+                   groupId = "chronos-retry-30s",
+                   containerFactory = "delayedRetryKafkaListenerContainerFactory")
+    public void handleMediumDelayRetry(@Payload String message, Acknowledgment acknowledgment) {
+        handleDelayedRetry(message, acknowledgment);
+    }
+
+    @KafkaListener(topics = "chronos.retry.5m", 
+                   groupId = "chronos-retry-5m",
+                   containerFactory = "delayedRetryKafkaListenerContainerFactory")
+    public void handleLongDelayRetry(@Payload String message, Acknowledgment acknowledgment) {
+        handleDelayedRetry(message, acknowledgment);
+    }
 
-            // Execute retry asynchronously
-            CompletableFuture<Void> retryFuture = jobExecutorService.retryJob(jobId);
-            
-            // Don't wait for completion, let it run asynchronously
-            retryFuture.whenComplete((result, throwable) -> {
-                if (throwable != null) {
-                    logger.error("Error during retry execution for job: {}", jobId, throwable);
-                } else {
-                    logger.info("Retry execution completed for job: {}", jobId);
-                }
-            });
+    private void handleDelayedRetry(String message, Acknowledgment acknowledgment) {
+        try {
+            Map<String, Object> retryEvent = objectMapper.readValue(message, Map.class);
+
+            // Head of the partition is not due: seek back to it and pause the partition until it is
+            long wait = Long.parseLong(retryEvent.get("holdUntil").toString()) - System.currentTimeMillis();
+            if (wait > 0) {
+                acknowledgment.nack(Duration.ofMillis(wait));
+                return;
+            }
 
+            route(retryEvent);
             acknowledgment.acknowledge();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Retry processing interrupted for message: {}", message, e);
         } catch (Exception e) {
-            logger.error("Error processing retry event: {}", message, e);
+            logger.error("Error processing delayed retry event: {}", message, e);
             // Don't acknowledge on error to allow retry
         }
     }
+
+    // Queue the retry once it is due, otherwise move it to the tier for the time left
+    private void route(Map<String, Object> retryEvent) throws Exception {
+        Long jobId = Long.valueOf(retryEvent.get("jobId").toString());
+        long dueAt = Long.parseLong(retryEvent.get("dueAt").toString());
+        if (dueAt > System.currentTimeMillis()) {
+            kafkaService.sendDelayedRetry(retryEvent);
+            logger.debug("Retry of job {} not due yet, moved to the next delay tier", jobId);
+            return;
+        }
+
+        // Park the retry until its job group's breaker lets a call through; the attempt is not used up
+        String breakerKey = retryEvent.get("breakerKey") != null ? retryEvent.get("breakerKey").toString() : null;
+        long park = retryPolicyService.parkDelayMs(breakerKey);
+        if (park > 0) {
+            retryEvent.put("dueAt", System.currentTimeMillis() + park);
+            kafkaService.sendDelayedRetry(retryEvent);
+            logger.info("Circuit breaker {} is open, parked retry of job {} for {}ms", breakerKey, jobId, park);
+            return;
+        }
+
+        // Queue the retry with the dispatcher; it runs on a job worker, not on the consumer thread
+        // Events from before fencing carry no token and are booked against the current one
+        Object executionToken = retryEvent.get("executionToken");
+        boolean submitted = false;
+        try {
+            submitted = jobDispatchService.submitRetry(jobId, executionToken != null ? Long.valueOf(executionToken.toString()) : null);
+        } finally {
+            if (!submitted) {
+                // Fenced or rejected, so a half-open breaker's probe goes to the next retry instead
+                retryPolicyService.releaseProbe(breakerKey);
+            }
+        }
+        if (submitted) {
+            logger.info("Queued retry for job: {} (attempt {})", jobId, retryEvent.get("retryCount"));
+        }
+    }
 }
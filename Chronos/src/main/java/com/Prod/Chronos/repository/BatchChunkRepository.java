@@ -0,0 +1,45 @@
+package com.Prod.Chronos.repository;
+
+import com.Prod.Chronos.entity.BatchChunk;
+import com.Prod.Chronos.entity.BatchChunkStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BatchChunkRepository extends JpaRepository<BatchChunk, Long> {
+    
+    List<BatchChunk> findByJobIdOrderByChunkIndex(Long jobId);
+    
+    long countByJobIdAndStatus(Long jobId, BatchChunkStatus status);
+    
+    // Checkpoint a finished chunk; only this row is written, so parallel chunks never conflict.
+    // Fenced like the job's own transitions: a stale attempt (the job's token moved on) writes nothing.
+    @Modifying
+    @Query("UPDATE BatchChunk c SET c.status = 'COMPLETED', c.attempts = :attempts, c.errorMessage = null, " +
+           "c.completedAt = :completedAt WHERE c.id = :id " +
+           "AND EXISTS (SELECT j.id FROM Job j WHERE j.id = c.jobId AND j.executionToken = :token)")
+    int markCompleted(@Param("id") Long id, @Param("token") Long token, @Param("attempts") int attempts,
+                      @Param("completedAt") LocalDateTime completedAt);
+    
+    @Modifying
+    @Query("UPDATE BatchChunk c SET c.status = 'FAILED', c.attempts = :attempts, c.errorMessage = :errorMessage " +
+           "WHERE c.id = :id AND EXISTS (SELECT j.id FROM Job j WHERE j.id = c.jobId AND j.executionToken = :token)")
+    int markFailed(@Param("id") Long id, @Param("token") Long token, @Param("attempts") int attempts,
+                   @Param("errorMessage") String errorMessage);
+    
+    // The run that owned the plan completed the job; the plan stays readable until the next run replaces it
+    @Modifying
+    @Query("UPDATE BatchChunk c SET c.closed = true WHERE c.jobId = :jobId")
+    int closePlan(@Param("jobId") Long jobId);
+    
+    @Modifying
+    @Query("DELETE FROM BatchChunk c WHERE c.jobId IN :jobIds")
+    int deleteByJobIds(@Param("jobIds") Collection<Long> jobIds);
+}
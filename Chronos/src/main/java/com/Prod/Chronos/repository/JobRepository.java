@@ -6,11 +6,13 @@ import com.Prod.Chronos.entity.JobType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,9 +35,60 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     @Query("SELECT j FROM Job j WHERE j.status = 'SCHEDULED' AND j.scheduledAt <= :currentTime ORDER BY j.priority DESC, j.scheduledAt ASC")
     List<Job> findJobsReadyForExecution(@Param("currentTime") LocalDateTime currentTime);
     
-    // Find jobs that need retry
-    @Query("SELECT j FROM Job j WHERE j.status = 'FAILED' AND j.currentRetryCount < j.maxRetries")
-    List<Job> findJobsNeedingRetry();
+    // Find fire times of scheduled jobs in this node's shard up to the given horizon (trigger engine refill)
+    @Query("SELECT j.id, j.scheduledAt FROM Job j WHERE j.status = 'SCHEDULED' AND j.scheduledAt <= :horizon " +
+           "AND (:sharded = false OR MOD(j.id, :bucketCount) IN :buckets)")
+    List<Object[]> findTriggerTimesUpTo(@Param("horizon") LocalDateTime horizon,
+                                        @Param("sharded") boolean sharded,
+                                        @Param("bucketCount") int bucketCount,
+                                        @Param("buckets") List<Integer> buckets);
+    
+    // Atomically claim up to :limit due jobs in this node's shard; rows locked by other nodes are skipped.
+    // Rows of other shards are only taken once overdue past :stealBefore (owner down or unaware of the row).
+    // Groups in :deferredGroups already have jobs waiting on this node, so theirs stay for later or for other nodes.
+    @Query(value = "UPDATE jobs SET claimed_by = :nodeId, claimed_at = :currentTime " +
+                   "WHERE id IN (SELECT id FROM jobs WHERE status = 'SCHEDULED' " +
+                   "AND scheduled_at <= :currentTime AND scheduled_at >= :misfiredBefore " +
+                   "AND (claimed_by IS NULL OR claimed_at < :claimExpiry) " +
+                   "AND (:sharded = false OR MOD(id, :bucketCount) IN (:buckets) OR scheduled_at < :stealBefore) " +
+                   "AND COALESCE(NULLIF(TRIM(job_group), ''), name) NOT IN (:deferredGroups) " +
+                   "ORDER BY priority DESC, scheduled_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *", nativeQuery = true)
+    List<Job> claimJobsReadyForExecution(@Param("currentTime") LocalDateTime currentTime,
+                                         @Param("misfiredBefore") LocalDateTime misfiredBefore,
+                                         @Param("claimExpiry") LocalDateTime claimExpiry,
+                                         @Param("sharded") boolean sharded,
+                                         @Param("bucketCount") int bucketCount,
+                                         @Param("buckets") List<Integer> buckets,
+                                         @Param("stealBefore") LocalDateTime stealBefore,
+                                         @Param("deferredGroups") List<String> deferredGroups,
+                                         @Param("nodeId") String nodeId,
+                                         @Param("limit") int limit);
+    
+    // Atomically claim up to :limit jobs that are overdue by more than the misfire threshold, oldest first (same shard and group rules)
+    @Query(value = "UPDATE jobs SET claimed_by = :nodeId, claimed_at = :currentTime " +
+                   "WHERE id IN (SELECT id FROM jobs WHERE status = 'SCHEDULED' AND scheduled_at < :misfiredBefore " +
+                   "AND (claimed_by IS NULL OR claimed_at < :claimExpiry) " +
+                   "AND (:sharded = false OR MOD(id, :bucketCount) IN (:buckets) OR scheduled_at < :stealBefore) " +
+                   "AND COALESCE(NULLIF(TRIM(job_group), ''), name) NOT IN (:deferredGroups) " +
+                   "ORDER BY scheduled_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *", nativeQuery = true)
+    List<Job> claimMisfiredJobs(@Param("currentTime") LocalDateTime currentTime,
+                                @Param("misfiredBefore") LocalDateTime misfiredBefore,
+                                @Param("claimExpiry") LocalDateTime claimExpiry,
+                                @Param("sharded") boolean sharded,
+                                @Param("bucketCount") int bucketCount,
+                                @Param("buckets") List<Integer> buckets,
+                                @Param("stealBefore") LocalDateTime stealBefore,
+                                @Param("deferredGroups") List<String> deferredGroups,
+                                @Param("nodeId") String nodeId,
+                                @Param("limit") int limit);
+    
+    // Find jobs that need retry: retryable failures whose backoff has passed
+    @Query("SELECT j FROM Job j WHERE j.status = 'FAILED' AND j.currentRetryCount < j.maxRetries " +
+           "AND (j.failureClass IS NULL OR j.failureClass <> 'PERMANENT') " +
+           "AND (j.nextRetryAt IS NULL OR j.nextRetryAt <= :now)")
+    List<Job> findJobsNeedingRetry(@Param("now") LocalDateTime now);
     
     // Find jobs by date range
     @Query("SELECT j FROM Job j WHERE j.createdAt BETWEEN :startDate AND :endDate")
@@ -72,4 +125,80 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     // Find running jobs (for monitoring)
     @Query("SELECT j FROM Job j WHERE j.status = 'RUNNING' AND j.startedAt < :timeoutThreshold")
     List<Job> findStuckRunningJobs(@Param("timeoutThreshold") LocalDateTime timeoutThreshold);
+    
+    // Extend the leases this node still holds in a single statement
+    @Modifying
+    @Query("UPDATE Job j SET j.leaseExpiresAt = :leaseExpiresAt WHERE j.id IN :jobIds AND j.claimedBy = :nodeId AND j.status = 'RUNNING'")
+    int renewLeases(@Param("jobIds") Collection<Long> jobIds,
+                    @Param("nodeId") String nodeId,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+    
+    // Keep the claims of jobs still waiting in this node's dispatch queue from expiring
+    @Modifying
+    @Query("UPDATE Job j SET j.claimedAt = :claimedAt WHERE j.id IN :jobIds AND j.claimedBy = :nodeId AND j.status = 'SCHEDULED'")
+    int renewClaims(@Param("jobIds") Collection<Long> jobIds,
+                    @Param("nodeId") String nodeId,
+                    @Param("claimedAt") LocalDateTime claimedAt);
+    
+    // Lock running jobs whose lease has expired; rows being reaped by another node are skipped
+    @Query(value = "SELECT * FROM jobs WHERE status = 'RUNNING' AND lease_expires_at < :currentTime " +
+                   "ORDER BY lease_expires_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Job> lockJobsWithExpiredLease(@Param("currentTime") LocalDateTime currentTime, @Param("limit") int limit);
+    
+    // Steps of a workflow
+    List<Job> findByWorkflowId(Long workflowId);
+    
+    // Fencing: each attempt transition bumps execution_token only if the caller still holds the current one.
+    // Exactly one of several deliveries of the same hand-off gets 1 back; the row stays locked until commit.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.executionToken = j.executionToken + 1 WHERE j.id = :jobId AND j.executionToken = :token " +
+           "AND j.status NOT IN ('RUNNING', 'CANCELLED', 'WAITING')")
+    int claimExecutionAttempt(@Param("jobId") Long jobId, @Param("token") Long token);
+    
+    // Take the running attempt's result (or timeout/error) only while its token is current
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.executionToken = j.executionToken + 1 WHERE j.id = :jobId AND j.executionToken = :token " +
+           "AND j.status = 'RUNNING'")
+    int fenceRunningAttempt(@Param("jobId") Long jobId, @Param("token") Long token);
+    
+    // Book the retry of the failed attempt holding :token; FAILED -> RETRYING happens once per failure
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = 'RETRYING', j.currentRetryCount = j.currentRetryCount + 1, " +
+           "j.executionToken = j.executionToken + 1, j.updatedAt = :now " +
+           "WHERE j.id = :jobId AND j.executionToken = :token AND j.status = 'FAILED' " +
+           "AND j.currentRetryCount < j.maxRetries AND (j.failureClass IS NULL OR j.failureClass <> 'PERMANENT')")
+    int beginRetry(@Param("jobId") Long jobId, @Param("token") Long token, @Param("now") LocalDateTime now);
+    
+    // Dead-letter the failed attempt holding :token once it may not retry; like beginRetry it happens once per failure
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.executionToken = j.executionToken + 1, j.updatedAt = :now " +
+           "WHERE j.id = :jobId AND j.executionToken = :token AND j.status = 'FAILED' " +
+           "AND (j.currentRetryCount >= j.maxRetries OR j.failureClass = 'PERMANENT')")
+    int claimDeadLetter(@Param("jobId") Long jobId, @Param("token") Long token, @Param("now") LocalDateTime now);
+    
+    // Cancel the job unless it already finished; the token bump fences off whatever attempt was running or queued
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = 'CANCELLED', j.executionToken = j.executionToken + 1, j.updatedAt = :now " +
+           "WHERE j.id = :jobId AND j.status IN ('SCHEDULED', 'RETRYING', 'WAITING', 'RUNNING')")
+    int cancelUnfinishedJob(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+    
+    // Release a workflow step whose dependencies completed; only one caller wins the WAITING -> SCHEDULED transition
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'SCHEDULED', j.scheduledAt = :now, j.updatedAt = :now WHERE j.id = :jobId AND j.status = 'WAITING'")
+    int releaseWaitingJob(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'CANCELLED', j.updatedAt = :now WHERE j.id IN :jobIds AND j.status = 'WAITING'")
+    int cancelWaitingJobs(@Param("jobIds") Collection<Long> jobIds, @Param("now") LocalDateTime now);
+    
+    // Dependencies of a step that have not completed yet
+    @Query("SELECT COUNT(d) FROM WorkflowDependency d, Job p WHERE d.jobId = :jobId AND p.id = d.dependsOnJobId AND p.status <> 'COMPLETED'")
+    long countIncompleteDependencies(@Param("jobId") Long jobId);
+    
+    // Waiting steps whose dependencies all completed, e.g. because the completion event was lost with its node
+    @Query("SELECT j.id FROM Job j WHERE j.status = 'WAITING' AND NOT EXISTS " +
+           "(SELECT d FROM WorkflowDependency d, Job p WHERE d.jobId = j.id AND p.id = d.dependsOnJobId AND p.status <> 'COMPLETED')")
+    List<Long> findReleasableWaitingJobIds();
+    
+    long countByWorkflowIdAndStatusNot(Long workflowId, JobStatus status);
 }
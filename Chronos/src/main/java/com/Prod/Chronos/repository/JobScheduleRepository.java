@@ -3,6 +3,7 @@ package com.Prod.Chronos.repository;
 import com.Prod.Chronos.entity.JobSchedule;
 import com.Prod.Chronos.entity.ScheduleType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,6 +25,55 @@ public interface JobScheduleRepository extends JpaRepository<JobSchedule, Long>
     @Query("SELECT js FROM JobSchedule js WHERE js.isActive = true AND js.nextExecution <= :currentTime ORDER BY js.nextExecution ASC")
     List<JobSchedule> findSchedulesReadyForExecution(@Param("currentTime") LocalDateTime currentTime);
     
+    // Find fire times of active recurring schedules in this node's shard up to the given horizon (trigger engine refill)
+    @Query("SELECT js.id, js.nextExecution FROM JobSchedule js WHERE js.isActive = true AND js.scheduleType <> 'ONE_TIME' " +
+           "AND js.nextExecution <= :horizon AND (:sharded = false OR MOD(js.job.id, :bucketCount) IN :buckets)")
+    List<Object[]> findTriggerTimesUpTo(@Param("horizon") LocalDateTime horizon,
+                                        @Param("sharded") boolean sharded,
+                                        @Param("bucketCount") int bucketCount,
+                                        @Param("buckets") List<Integer> buckets);
+    
+    // Atomically claim up to :limit due recurring schedules in this node's shard (by job id); rows locked by other nodes
+    // are skipped and schedules of other shards are only taken once overdue past :stealBefore
+    @Query(value = "UPDATE job_schedules SET claimed_by = :nodeId, claimed_at = :currentTime " +
+                   "WHERE id IN (SELECT id FROM job_schedules WHERE is_active = true AND schedule_type <> 'ONE_TIME' " +
+                   "AND next_execution <= :currentTime AND next_execution >= :misfiredBefore " +
+                   "AND (claimed_by IS NULL OR claimed_at < :claimExpiry) " +
+                   "AND (:sharded = false OR MOD(job_id, :bucketCount) IN (:buckets) OR next_execution < :stealBefore) " +
+                   "ORDER BY next_execution ASC LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *", nativeQuery = true)
+    List<JobSchedule> claimSchedulesReadyForExecution(@Param("currentTime") LocalDateTime currentTime,
+                                                      @Param("misfiredBefore") LocalDateTime misfiredBefore,
+                                                      @Param("claimExpiry") LocalDateTime claimExpiry,
+                                                      @Param("sharded") boolean sharded,
+                                                      @Param("bucketCount") int bucketCount,
+                                                      @Param("buckets") List<Integer> buckets,
+                                                      @Param("stealBefore") LocalDateTime stealBefore,
+                                                      @Param("nodeId") String nodeId,
+                                                      @Param("limit") int limit);
+    
+    // Atomically claim up to :limit recurring schedules that missed a fire time by more than the misfire threshold
+    @Query(value = "UPDATE job_schedules SET claimed_by = :nodeId, claimed_at = :currentTime " +
+                   "WHERE id IN (SELECT id FROM job_schedules WHERE is_active = true AND schedule_type <> 'ONE_TIME' " +
+                   "AND next_execution < :misfiredBefore AND (claimed_by IS NULL OR claimed_at < :claimExpiry) " +
+                   "AND (:sharded = false OR MOD(job_id, :bucketCount) IN (:buckets) OR next_execution < :stealBefore) " +
+                   "ORDER BY next_execution ASC LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING *", nativeQuery = true)
+    List<JobSchedule> claimMisfiredSchedules(@Param("currentTime") LocalDateTime currentTime,
+                                             @Param("misfiredBefore") LocalDateTime misfiredBefore,
+                                             @Param("claimExpiry") LocalDateTime claimExpiry,
+                                             @Param("sharded") boolean sharded,
+                                             @Param("bucketCount") int bucketCount,
+                                             @Param("buckets") List<Integer> buckets,
+                                             @Param("stealBefore") LocalDateTime stealBefore,
+                                             @Param("nodeId") String nodeId,
+                                             @Param("limit") int limit);
+    
+    // Deactivate the one-time schedules of dispatched jobs
+    @Modifying
+    @Query("UPDATE JobSchedule js SET js.isActive = false, js.lastExecution = :executedAt, js.updatedAt = :executedAt WHERE js.job.id IN :jobIds AND js.scheduleType = 'ONE_TIME'")
+    int deactivateOneTimeSchedules(@Param("jobIds") List<Long> jobIds, @Param("executedAt") LocalDateTime executedAt);
+    
     // Find recurring schedules (cron-based)
     @Query("SELECT js FROM JobSchedule js WHERE js.scheduleType = 'CRON' AND js.isActive = true")
     List<JobSchedule> findActiveRecurringSchedules();
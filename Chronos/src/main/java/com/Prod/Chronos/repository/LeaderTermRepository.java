@@ -0,0 +1,24 @@
+package com.Prod.Chronos.repository;
+
+import com.Prod.Chronos.entity.LeaderTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LeaderTermRepository extends JpaRepository<LeaderTerm, Integer> {
+    
+    // Start a new term for the given node and return its epoch
+    @Query(value = "INSERT INTO leader_terms (id, epoch, leader_node, elected_at) VALUES (1, 1, :nodeId, :now) " +
+                   "ON CONFLICT (id) DO UPDATE SET epoch = leader_terms.epoch + 1, " +
+                   "leader_node = EXCLUDED.leader_node, elected_at = EXCLUDED.elected_at " +
+                   "RETURNING epoch", nativeQuery = true)
+    Long startNewTerm(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+    
+    // Epoch of the current term, null before the first election
+    @Query("SELECT t.epoch FROM LeaderTerm t WHERE t.id = 1")
+    Long findCurrentEpoch();
+}
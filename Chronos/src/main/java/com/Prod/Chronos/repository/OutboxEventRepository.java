@@ -0,0 +1,17 @@
+package com.Prod.Chronos.repository;
+
+import com.Prod.Chronos.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Oldest events first, locked until the relay's transaction ends; a second relay waits instead of reordering
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<OutboxEvent> lockOldest(@Param("limit") int limit);
+}
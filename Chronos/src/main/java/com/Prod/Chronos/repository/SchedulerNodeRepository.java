@@ -0,0 +1,31 @@
+package com.Prod.Chronos.repository;
+
+import com.Prod.Chronos.entity.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+    
+    // Register this node or refresh its heartbeat in one round trip
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_nodes (node_id, host_name, started_at, last_heartbeat) " +
+                   "VALUES (:nodeId, :hostName, :now, :now) " +
+                   "ON CONFLICT (node_id) DO UPDATE SET last_heartbeat = :now", nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId, @Param("hostName") String hostName, @Param("now") LocalDateTime now);
+    
+    // Ids of nodes that heartbeated since the given time, in a stable order
+    @Query("SELECT n.nodeId FROM SchedulerNode n WHERE n.lastHeartbeat >= :since ORDER BY n.nodeId")
+    List<String> findLiveNodeIds(@Param("since") LocalDateTime since);
+    
+    // Drop nodes that stopped heartbeating long ago
+    @Modifying
+    @Query("DELETE FROM SchedulerNode n WHERE n.lastHeartbeat < :before")
+    int deleteStaleNodes(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,13 @@
+package com.Prod.Chronos.repository;
+
+import com.Prod.Chronos.entity.WorkflowDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WorkflowDependencyRepository extends JpaRepository<WorkflowDependency, Long> {
+    
+    List<WorkflowDependency> findByWorkflowId(Long workflowId);
+}
@@ -0,0 +1,30 @@
+package com.Prod.Chronos.repository;
+
+import com.Prod.Chronos.entity.Workflow;
+import com.Prod.Chronos.entity.WorkflowStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
+    
+    List<Workflow> findByStatus(WorkflowStatus status);
+    
+    List<Workflow> findByCreatedBy(String createdBy);
+    
+    // Move a running workflow to its final status; a no-op if another node already did
+    @Modifying
+    @Query("UPDATE Workflow w SET w.status = :status, w.completedAt = :now, w.updatedAt = :now WHERE w.id = :id AND w.status = 'RUNNING'")
+    int finish(@Param("id") Long id, @Param("status") WorkflowStatus status, @Param("now") LocalDateTime now);
+    
+    // Running workflows whose steps all completed
+    @Query("SELECT w.id FROM Workflow w WHERE w.status = 'RUNNING' AND NOT EXISTS " +
+           "(SELECT j FROM Job j WHERE j.workflowId = w.id AND j.status <> 'COMPLETED')")
+    List<Long> findCompletableWorkflowIds();
+}
@@ -0,0 +1,94 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Priority queue in which waiting raises an entry's effective priority by one
+ * level every {@code agingIntervalMs}, so low-priority work cannot starve.
+ *
+ * Comparing {@code p1 + (now - t1) / A} with {@code p2 + (now - t2) / A} is the
+ * same as comparing {@code t1 - p1 * A} with {@code t2 - p2 * A}, so each entry
+ * gets a fixed sort key on insert and the heap never needs re-ordering.
+ */
+public class AgingPriorityQueue<T> {
+
+    private final long agingIntervalMs;
+    private final LongSupplier clock;
+    private final PriorityQueue<Node<T>> heap = new PriorityQueue<>();
+    private long sequence;
+
+    public AgingPriorityQueue(long agingIntervalMs) {
+        this(agingIntervalMs, System::currentTimeMillis);
+    }
+
+    AgingPriorityQueue(long agingIntervalMs, LongSupplier clock) {
+        if (agingIntervalMs <= 0) {
+            throw new IllegalArgumentException("agingIntervalMs must be positive");
+        }
+        this.agingIntervalMs = agingIntervalMs;
+        this.clock = clock;
+    }
+
+    // Higher priority values are served first
+    public synchronized void offer(T item, int priority) {
+        long key = clock.getAsLong() - priority * agingIntervalMs;
+        heap.offer(new Node<>(item, key, sequence++));
+    }
+
+    public synchronized T poll() {
+        Node<T> node = heap.poll();
+        return node != null ? node.item : null;
+    }
+
+    // Removes the first entry, in priority order, accepted by the filter; skipped entries keep their place
+    public synchronized T pollFirstMatching(Predicate<T> filter, int maxScan) {
+        List<Node<T>> skipped = new ArrayList<>();
+        try {
+            Node<T> node;
+            while (skipped.size() < maxScan && (node = heap.poll()) != null) {
+                if (filter.test(node.item)) {
+                    return node.item;
+                }
+                skipped.add(node);
+            }
+            return null;
+        } finally {
+            heap.addAll(skipped);
+        }
+    }
+
+    public synchronized T peek() {
+        Node<T> node = heap.peek();
+        return node != null ? node.item : null;
+    }
+
+    public synchronized int size() {
+        return heap.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    private static final class Node<T> implements Comparable<Node<T>> {
+        private final T item;
+        private final long key;
+        private final long sequence;
+
+        private Node(T item, long key, long sequence) {
+            this.item = item;
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Node<T> other) {
+            int byKey = Long.compare(key, other.key);
+            return byKey != 0 ? byKey : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.Prod.Chronos.scheduler;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold}
+ * failures in a row it opens for {@code openMs} and callers are told how long
+ * to stay away. Once that passes one probe is let through (half-open): its
+ * success closes the breaker, its failure opens it again. A probe that never
+ * reports back is replaced after another {@code openMs}, and a caller that
+ * took the probe but never made the call hands it back with
+ * {@link #releaseProbe()}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long probeStartedAt = -1;
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        if (failureThreshold < 1 || openMs <= 0) {
+            throw new IllegalArgumentException("Failure threshold and open time must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    // Milliseconds until a call may go through; 0 lets it through now (as the probe when half-open)
+    public synchronized long tryAcquire(long nowMs) {
+        if (state == State.OPEN) {
+            long remaining = openedAt + openMs - nowMs;
+            if (remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+            probeStartedAt = -1;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeStartedAt >= 0 && nowMs - probeStartedAt < openMs) {
+                return probeStartedAt + openMs - nowMs;
+            }
+            probeStartedAt = nowMs;
+        }
+        return 0;
+    }
+
+    // Hands back a probe that was acquired but not used, so the next caller can take it
+    public synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN) {
+            probeStartedAt = -1;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeStartedAt = -1;
+    }
+
+    // Returns true when this failure opened the breaker
+    public synchronized boolean recordFailure(long nowMs) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = nowMs;
+            probeStartedAt = -1;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
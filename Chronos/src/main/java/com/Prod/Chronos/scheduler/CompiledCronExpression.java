@@ -0,0 +1,417 @@
+package com.Prod.Chronos.scheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cron expression compiled into per-field bitsets. Field values follow Vixie
+ * (Unix) cron, with an optional leading seconds field: the UI sends six fields
+ * ({@code sec min hour day-of-month month day-of-week}), and classic five-field
+ * expressions and the {@code @daily}-style macros are accepted too.
+ * Day-of-week is 0-7 (0 and 7 are Sunday) or SUN-SAT, not Quartz's 1-7. As in
+ * Vixie cron, and unlike Quartz or Spring, both day fields may be restricted at
+ * once, and a day then matches if either field matches it. A day field that
+ * starts with {@code *} (or is {@code ?}) counts as unrestricted.
+ *
+ * Instances are immutable and shared through {@link #compile(String)}, so every
+ * schedule using the same expression uses the same compiled instance.
+ */
+public final class CompiledCronExpression {
+
+    private static final Map<String, CompiledCronExpression> CACHE = new ConcurrentHashMap<>();
+
+    private static final String[] MONTH_NAMES = {
+        "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"
+    };
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    // Feb 29 on a given weekday can be up to 28 years away
+    private static final int MAX_YEARS_AHEAD = 30;
+
+    private final String expression;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    private final boolean dayOfMonthRestricted;
+    private final boolean dayOfWeekRestricted;
+
+    private CompiledCronExpression(String expression, String[] fields) {
+        this.expression = expression;
+        this.seconds = parseField(fields[0], 0, 59, null);
+        this.minutes = parseField(fields[1], 0, 59, null);
+        this.hours = parseField(fields[2], 0, 23, null);
+        this.daysOfMonth = parseField(fields[3], 1, 31, null);
+        this.months = parseField(fields[4], 1, 12, MONTH_NAMES);
+        long dow = parseField(fields[5], 0, 7, DAY_NAMES);
+        // 7 is an alias for Sunday
+        this.daysOfWeek = (dow & ~(1L << 7)) | ((dow >>> 7) & 1L);
+        this.dayOfMonthRestricted = !isWildcard(fields[3]);
+        this.dayOfWeekRestricted = !isWildcard(fields[5]);
+    }
+
+    public static CompiledCronExpression compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Cron expression must not be empty");
+        }
+        String normalized = expression.trim().replaceAll("\\s+", " ");
+        CompiledCronExpression cached = CACHE.get(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        CompiledCronExpression compiled = new CompiledCronExpression(normalized, split(normalized));
+        CompiledCronExpression existing = CACHE.putIfAbsent(normalized, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    public static boolean isValid(String expression) {
+        try {
+            compile(expression);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public Instant next(Instant after, ZoneId zone) {
+        long next = nextEpochSecond(after.getEpochSecond(), zone.getRules());
+        return next < 0 ? null : Instant.ofEpochSecond(next);
+    }
+
+    // Next fire time strictly after the given instant, or -1 if there is none
+    public long nextEpochSecond(long afterEpochSecond, ZoneRules rules) {
+        long from = afterEpochSecond + 1;
+        // Bounded: each pass either returns or moves past an ambiguous local time
+        for (int pass = 0; pass < 4; pass++) {
+            int offset = rules.isFixedOffset()
+                ? rules.getOffset(Instant.EPOCH).getTotalSeconds()
+                : rules.getOffset(Instant.ofEpochSecond(from)).getTotalSeconds();
+            long local = nextLocalSecond(from + offset);
+            if (local < 0) {
+                return -1;
+            }
+            if (rules.isFixedOffset()) {
+                return local - offset;
+            }
+
+            LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC);
+            ZoneOffsetTransition transition = rules.getTransition(localDateTime);
+            if (transition == null) {
+                return local - rules.getOffset(localDateTime).getTotalSeconds();
+            }
+            if (transition.isGap()) {
+                // Skipped local time: fire at the same instant the wall clock jumps past it
+                return local - transition.getOffsetBefore().getTotalSeconds();
+            }
+
+            // Repeated local time: fire on its first occurrence only
+            long earlier = local - transition.getOffsetBefore().getTotalSeconds();
+            if (earlier > afterEpochSecond) {
+                return earlier;
+            }
+            long later = local - transition.getOffsetAfter().getTotalSeconds();
+            if (later > afterEpochSecond) {
+                return later;
+            }
+            from = later + 1;
+        }
+        return -1;
+    }
+
+    // Field-by-field search over local wall-clock seconds; no allocation
+    private long nextLocalSecond(long localSecond) {
+        long epochDay = Math.floorDiv(localSecond, 86400L);
+        int secondOfDay = (int) Math.floorMod(localSecond, 86400L);
+        long civil = civilFromDays(epochDay);
+        int year = (int) (civil / 10000);
+        int month = (int) (civil / 100 % 100);
+        int day = (int) (civil % 100);
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        int maxYear = year + MAX_YEARS_AHEAD;
+
+        while (true) {
+            if (month > 12) {
+                year++;
+                month = 1;
+            }
+            if (year > maxYear) {
+                return -1;
+            }
+
+            int nextMonth = nextSetBit(months, month, 12);
+            if (nextMonth < 0) {
+                year++;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+
+            int nextDay = nextMatchingDay(year, month, day);
+            if (nextDay < 0) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+
+            int nextHour = nextSetBit(hours, hour, 23);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+
+            int nextMinute = nextSetBit(minutes, minute, 59);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                if (hour > 23) {
+                    hour = 0;
+                    day++;
+                }
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+
+            int nextSecond = nextSetBit(seconds, second, 59);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                if (minute > 59) {
+                    minute = 0;
+                    hour++;
+                    if (hour > 23) {
+                        hour = 0;
+                        day++;
+                    }
+                }
+                continue;
+            }
+
+            return daysFromCivil(year, month, day) * 86400L + hour * 3600L + minute * 60L + nextSecond;
+        }
+    }
+
+    private int nextMatchingDay(int year, int month, int fromDay) {
+        int length = lengthOfMonth(year, month);
+        if (fromDay > length) {
+            return -1;
+        }
+        int dayOfWeek = (int) Math.floorMod(daysFromCivil(year, month, fromDay) + 4, 7L);
+        for (int day = fromDay; day <= length; day++) {
+            boolean domMatch = (daysOfMonth & (1L << day)) != 0;
+            boolean dowMatch = (daysOfWeek & (1L << dayOfWeek)) != 0;
+            boolean match;
+            if (dayOfMonthRestricted && dayOfWeekRestricted) {
+                match = domMatch || dowMatch;
+            } else {
+                match = domMatch && dowMatch;
+            }
+            if (match) {
+                return day;
+            }
+            dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+        }
+        return -1;
+    }
+
+    private static int nextSetBit(long bits, int from, int max) {
+        if (from > max) {
+            return -1;
+        }
+        long candidates = bits & (-1L << from);
+        if (candidates == 0) {
+            return -1;
+        }
+        int next = Long.numberOfTrailingZeros(candidates);
+        return next > max ? -1 : next;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400L);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    // Inverse of daysFromCivil, packed as yyyymmdd
+    private static long civilFromDays(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097L);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static String[] split(String expression) {
+        String expanded = expandMacro(expression);
+        String[] fields = expanded.split(" ");
+        if (fields.length == 5) {
+            String[] withSeconds = new String[6];
+            withSeconds[0] = "0";
+            System.arraycopy(fields, 0, withSeconds, 1, 5);
+            return withSeconds;
+        }
+        if (fields.length != 6) {
+            throw new IllegalArgumentException(
+                "Cron expression must have 5 or 6 fields but has " + fields.length + ": " + expression);
+        }
+        return fields;
+    }
+
+    private static String expandMacro(String expression) {
+        switch (expression.toLowerCase(Locale.ROOT)) {
+            case "@yearly":
+            case "@annually":
+                return "0 0 0 1 1 *";
+            case "@monthly":
+                return "0 0 0 1 * *";
+            case "@weekly":
+                return "0 0 0 * * 0";
+            case "@daily":
+            case "@midnight":
+                return "0 0 0 * * *";
+            case "@hourly":
+                return "0 0 * * * *";
+            default:
+                return expression;
+        }
+    }
+
+    private static boolean isWildcard(String field) {
+        return field.startsWith("*") || field.equals("?");
+    }
+
+    private static long parseField(String field, int min, int max, String[] names) {
+        long bits = 0;
+        for (String part : field.split(",")) {
+            bits |= parsePart(part, field, min, max, names);
+        }
+        return bits;
+    }
+
+    private static long parsePart(String part, String field, int min, int max, String[] names) {
+        if (part.isEmpty()) {
+            throw new IllegalArgumentException("Empty value in cron field: " + field);
+        }
+
+        int step = 1;
+        int slash = part.indexOf('/');
+        String range = part;
+        if (slash >= 0) {
+            step = parseNumber(part.substring(slash + 1), field);
+            if (step <= 0) {
+                throw new IllegalArgumentException("Cron step must be positive: " + field);
+            }
+            range = part.substring(0, slash);
+        }
+
+        int start;
+        int end;
+        if (range.equals("*") || range.equals("?")) {
+            start = min;
+            end = max;
+        } else {
+            int dash = range.indexOf('-');
+            if (dash > 0) {
+                start = parseValue(range.substring(0, dash), field, names, min);
+                end = parseValue(range.substring(dash + 1), field, names, min);
+            } else {
+                start = parseValue(range, field, names, min);
+                // "5/15" means every 15 starting at 5
+                end = slash >= 0 ? max : start;
+            }
+        }
+
+        if (start < min || end > max || start > end) {
+            throw new IllegalArgumentException(
+                "Cron value out of range [" + min + "-" + max + "]: " + field);
+        }
+
+        long bits = 0;
+        for (int value = start; value <= end; value += step) {
+            bits |= 1L << value;
+        }
+        return bits;
+    }
+
+    private static int parseValue(String value, String field, String[] names, int min) {
+        if (names != null) {
+            String upper = value.toUpperCase(Locale.ROOT);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(upper)) {
+                    return i + min;
+                }
+            }
+        }
+        return parseNumber(value, field);
+    }
+
+    private static int parseNumber(String value, String field) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' in cron field: " + field);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
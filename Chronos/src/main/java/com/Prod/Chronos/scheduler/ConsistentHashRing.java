@@ -0,0 +1,80 @@
+package com.Prod.Chronos.scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring over scheduler node ids. Each node is placed
+ * at {@code virtualNodes} points so keys spread evenly, and adding or removing
+ * a node only moves the keys between it and its ring neighbours.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final int nodeCount;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        for (String nodeId : nodeIds) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring.put(hash(nodeId + "#" + replica), nodeId);
+            }
+        }
+        this.nodeCount = (int) nodeIds.stream().distinct().count();
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    // Node owning the given key, or null when the ring is empty
+    public String ownerOf(long key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // Buckets in [0, bucketCount) owned by the given node
+    public List<Integer> bucketsOwnedBy(String nodeId, int bucketCount) {
+        List<Integer> owned = new ArrayList<>();
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (nodeId.equals(ownerOf(bucket))) {
+                owned.add(bucket);
+            }
+        }
+        return owned;
+    }
+
+    // FNV-1a followed by a 64-bit finalizer; stable across JVMs unlike String.hashCode
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,46 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decorrelated-jitter backoff: each delay is drawn uniformly from
+ * [base, 3 * previous] and capped. Jobs that failed together spread out
+ * instead of retrying in synchronized waves, while the delays of a job that
+ * keeps failing still grow roughly exponentially.
+ */
+public final class DecorrelatedJitter {
+
+    private final long baseMs;
+    private final long capMs;
+
+    public DecorrelatedJitter(long baseMs, long capMs) {
+        if (baseMs <= 0 || capMs < baseMs) {
+            throw new IllegalArgumentException("Base delay must be positive and not above the cap");
+        }
+        this.baseMs = baseMs;
+        this.capMs = capMs;
+    }
+
+    // previousMs is the delay before the last retry, or null for the first one
+    public long next(Long previousMs) {
+        return next(previousMs, ThreadLocalRandom.current());
+    }
+
+    long next(Long previousMs, RandomGenerator random) {
+        long previous = previousMs == null ? baseMs : Math.max(baseMs, Math.min(previousMs, capMs));
+        long upper = Math.min(capMs, previous * 3);
+        if (upper <= baseMs) {
+            return baseMs;
+        }
+        return random.nextLong(baseMs, upper + 1);
+    }
+
+    public long getBaseMs() {
+        return baseMs;
+    }
+
+    public long getCapMs() {
+        return capMs;
+    }
+}
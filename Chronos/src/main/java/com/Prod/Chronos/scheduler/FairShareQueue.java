@@ -0,0 +1,164 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighted fair queue across owners (stride scheduling). Every owner has its
+ * own aging priority queue and a virtual pass; the next item comes from the
+ * eligible owner with the lowest pass, which then advances by
+ * {@code 1 / weight}. Over time each backlogged owner is served in proportion
+ * to its weight, whatever the size of its backlog. An owner at its concurrency
+ * cap is skipped until {@link #complete} is called for one of its items, and
+ * items rejected by the admission filter stay queued for a later poll.
+ *
+ * All state is in memory and guarded by the queue's monitor.
+ */
+public class FairShareQueue<T> {
+
+    // Bounds the work spent skipping over items the admission filter rejects
+    private static final int MAX_SCAN_PER_OWNER = 64;
+
+    private final long agingIntervalMs;
+    private final ToDoubleFunction<String> weights;
+    private final ToIntFunction<String> caps;
+    private final Map<String, Flow<T>> flows = new HashMap<>();
+
+    // Pass of the most recently served owner; newly active owners start here so idle time earns no credit
+    private double virtualTime;
+    private int size;
+
+    public FairShareQueue(long agingIntervalMs, ToDoubleFunction<String> weights, ToIntFunction<String> caps) {
+        this.agingIntervalMs = agingIntervalMs;
+        this.weights = weights;
+        this.caps = caps;
+    }
+
+    public synchronized void offer(String owner, T item, int priority) {
+        Flow<T> flow = flows.computeIfAbsent(owner, key -> new Flow<>(new AgingPriorityQueue<>(agingIntervalMs)));
+        if (flow.queue.isEmpty()) {
+            flow.pass = Math.max(flow.pass, virtualTime);
+        }
+        flow.queue.offer(item, priority);
+        size++;
+    }
+
+    // Next item by fair share, or null when nothing is queued for an owner below its cap
+    public synchronized Ticket<T> poll() {
+        return poll(item -> true);
+    }
+
+    // Next item by fair share that the filter admits; rejected items are left in place
+    public synchronized Ticket<T> poll(Predicate<T> admit) {
+        List<Map.Entry<String, Flow<T>>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Flow<T>> entry : flows.entrySet()) {
+            Flow<T> flow = entry.getValue();
+            if (!flow.queue.isEmpty() && belowCap(entry.getKey(), flow)) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(entry -> entry.getValue().pass));
+
+        for (Map.Entry<String, Flow<T>> candidate : candidates) {
+            Flow<T> flow = candidate.getValue();
+            T item = flow.queue.pollFirstMatching(admit, MAX_SCAN_PER_OWNER);
+            if (item == null) {
+                continue;
+            }
+
+            String owner = candidate.getKey();
+            virtualTime = flow.pass;
+            flow.pass += 1.0 / Math.max(weights.applyAsDouble(owner), 0.001);
+            flow.inFlight++;
+            size--;
+            return new Ticket<>(owner, item);
+        }
+        return null;
+    }
+
+    // Frees a concurrency slot of the owner once its item has finished
+    public synchronized void complete(String owner) {
+        Flow<T> flow = flows.get(owner);
+        if (flow == null) {
+            return;
+        }
+        flow.inFlight--;
+        pruneIdle();
+    }
+
+    public synchronized boolean hasEligible() {
+        for (Map.Entry<String, Flow<T>> entry : flows.entrySet()) {
+            if (!entry.getValue().queue.isEmpty() && belowCap(entry.getKey(), entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized Map<String, Integer> getQueuedByOwner() {
+        Map<String, Integer> queued = new HashMap<>();
+        flows.forEach((owner, flow) -> queued.put(owner, flow.queue.size()));
+        return queued;
+    }
+
+    public synchronized Map<String, Integer> getInFlightByOwner() {
+        Map<String, Integer> inFlight = new HashMap<>();
+        flows.forEach((owner, flow) -> inFlight.put(owner, flow.inFlight));
+        return inFlight;
+    }
+
+    private boolean belowCap(String owner, Flow<T> flow) {
+        int cap = caps.applyAsInt(owner);
+        return cap <= 0 || flow.inFlight < cap;
+    }
+
+    // Forget owners with nothing queued or running so the map does not grow with every owner ever seen
+    private void pruneIdle() {
+        Iterator<Flow<T>> iterator = flows.values().iterator();
+        while (iterator.hasNext()) {
+            Flow<T> flow = iterator.next();
+            if (flow.inFlight <= 0 && flow.queue.isEmpty() && flow.pass <= virtualTime) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public static final class Ticket<T> {
+        private final String owner;
+        private final T item;
+
+        private Ticket(String owner, T item) {
+            this.owner = owner;
+            this.item = item;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    private static final class Flow<T> {
+        private final AgingPriorityQueue<T> queue;
+        private double pass;
+        private int inFlight;
+
+        private Flow(AgingPriorityQueue<T> queue) {
+            this.queue = queue;
+        }
+    }
+}
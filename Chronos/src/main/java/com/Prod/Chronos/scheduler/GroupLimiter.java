@@ -0,0 +1,87 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency and rate limit for one job group. Permits are a CAS counter and
+ * the rate is a {@link TokenBucket}, so admission never blocks or locks.
+ * A concurrency limit of 0 or less means unlimited, as does a rate of 0.
+ *
+ * <p>The limiter also counts the group's jobs waiting for admission. Once that
+ * backlog covers what the group can start at once (its concurrency limit, or
+ * its rate burst), claiming more of its jobs only parks them.
+ */
+public final class GroupLimiter {
+
+    private final int maxConcurrent;
+    private final AtomicInteger running = new AtomicInteger();
+    private final TokenBucket rate;
+    private final int backlogLimit;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public GroupLimiter(int maxConcurrent, double ratePerSecond) {
+        this.maxConcurrent = maxConcurrent;
+        int burst = Math.max(1, (int) Math.ceil(ratePerSecond));
+        this.rate = ratePerSecond > 0 ? new TokenBucket(ratePerSecond, burst) : null;
+        this.backlogLimit = maxConcurrent > 0 ? maxConcurrent : burst;
+    }
+
+    // Takes a permit and a token, or neither
+    public boolean tryAcquire() {
+        if (!tryTakePermit()) {
+            return false;
+        }
+        if (rate != null && !rate.tryAcquire()) {
+            running.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release() {
+        running.decrementAndGet();
+    }
+
+    public int getRunning() {
+        return running.get();
+    }
+
+    // A job of the group was queued, or left the queue
+    public void enqueued() {
+        queued.incrementAndGet();
+    }
+
+    public void dequeued() {
+        queued.decrementAndGet();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    // True once enough jobs wait to start the group's next burst; more would only wait behind them
+    public boolean isBacklogged() {
+        return queued.get() >= backlogLimit;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    // Time until the rate limit admits another job; 0 when only concurrency is limiting
+    public long millisUntilAdmissible() {
+        return rate != null ? rate.millisUntilAvailable() : 0;
+    }
+
+    private boolean tryTakePermit() {
+        while (true) {
+            int current = running.get();
+            if (maxConcurrent > 0 && current >= maxConcurrent) {
+                return false;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed hierarchical timing wheel. Each level has {@code wheelSize} slots and
+ * level {@code n} covers {@code tickMs * wheelSize^(n+1)} milliseconds; entries
+ * further out than the top level are parked in its last slot and re-placed on
+ * cascade. Inserting and expiring are O(1).
+ *
+ * {@link #schedule} may be called from any thread. {@link #advance} must only
+ * be called from a single driver thread.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final int levels;
+    private final ArrayDeque<Entry<T>>[][] buckets;
+    private final ConcurrentLinkedQueue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Next tick to be processed; only touched by the driver thread
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startTimeMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        if (levels < 1 || Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Unsupported number of levels: " + levels);
+        }
+        this.tickMs = tickMs;
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.wheelMask = wheelSize - 1;
+        this.levels = levels;
+        this.buckets = new ArrayDeque[levels][wheelSize];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = startTimeMs / tickMs;
+    }
+
+    public Entry<T> schedule(T task, long deadlineMs) {
+        Entry<T> entry = new Entry<>(task, deadlineMs);
+        pending.offer(entry);
+        size.incrementAndGet();
+        return entry;
+    }
+
+    // Processes every tick up to nowMs and hands expired entries to the consumer
+    public void advance(long nowMs, Consumer<Entry<T>> onExpire) {
+        Entry<T> entry;
+        while ((entry = pending.poll()) != null) {
+            place(entry);
+        }
+
+        long targetTick = nowMs / tickMs;
+        while (currentTick <= targetTick) {
+            int index = (int) (currentTick & wheelMask);
+            if (index == 0) {
+                cascade();
+            }
+            expire(buckets[0][index], onExpire);
+            currentTick++;
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.cancelled) {
+            size.decrementAndGet();
+            return;
+        }
+
+        // Round up so an entry never fires before its deadline
+        long deadlineTick = (entry.deadlineMs + tickMs - 1) / tickMs;
+        long delta = deadlineTick - currentTick;
+        if (delta < 0) {
+            buckets[0][(int) (currentTick & wheelMask)].add(entry);
+            return;
+        }
+
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (wheelBits * (level + 1))) {
+                buckets[level][(int) ((deadlineTick >>> (wheelBits * level)) & wheelMask)].add(entry);
+                return;
+            }
+        }
+
+        // Beyond the top level: park in the furthest slot, it is re-placed on cascade
+        int top = levels - 1;
+        long clampedTick = currentTick + (1L << (wheelBits * levels)) - 1;
+        buckets[top][(int) ((clampedTick >>> (wheelBits * top)) & wheelMask)].add(entry);
+    }
+
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            int index = (int) ((currentTick >>> (wheelBits * level)) & wheelMask);
+            ArrayDeque<Entry<T>> bucket = buckets[level][index];
+            for (int i = bucket.size(); i > 0; i--) {
+                place(bucket.poll());
+            }
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    private void expire(ArrayDeque<Entry<T>> bucket, Consumer<Entry<T>> onExpire) {
+        Entry<T> entry;
+        while ((entry = bucket.poll()) != null) {
+            size.decrementAndGet();
+            if (!entry.cancelled) {
+                onExpire.accept(entry);
+            }
+        }
+    }
+
+    public static final class Entry<T> {
+        private final T task;
+        private final long deadlineMs;
+        private volatile boolean cancelled;
+
+        private Entry(T task, long deadlineMs) {
+            this.task = task;
+            this.deadlineMs = deadlineMs;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
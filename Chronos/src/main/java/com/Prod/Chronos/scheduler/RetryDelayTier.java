@@ -0,0 +1,52 @@
+package com.Prod.Chronos.scheduler;
+
+/**
+ * Fixed-delay Kafka topics that delayed retries hop through instead of a
+ * consumer sleeping on them. A retry is parked on the longest tier that does
+ * not overshoot its remaining wait and held there for at most that tier's
+ * delay, so records in one tier topic come due in roughly the order they were
+ * appended and only the head of each partition has to be watched.
+ */
+public enum RetryDelayTier {
+    SHORT("chronos.retry.5s", 5_000L, "Retries due within half a minute"),
+    MEDIUM("chronos.retry.30s", 30_000L, "Retries due within five minutes"),
+    LONG("chronos.retry.5m", 300_000L, "Retries due five minutes or more from now");
+
+    private final String topic;
+    private final long delayMs;
+    private final String description;
+
+    RetryDelayTier(String topic, long delayMs, String description) {
+        this.topic = topic;
+        this.delayMs = delayMs;
+        this.description = description;
+    }
+
+    // Longest tier that fits in the remaining wait; the shortest one for anything below it
+    public static RetryDelayTier forDelay(long remainingMs) {
+        RetryDelayTier chosen = SHORT;
+        for (RetryDelayTier tier : values()) {
+            if (tier.delayMs <= remainingMs) {
+                chosen = tier;
+            }
+        }
+        return chosen;
+    }
+
+    // When a record appended now may leave this tier: its due time, or the end of one tier delay
+    public long holdUntil(long nowMs, long dueAtMs) {
+        return Math.min(dueAtMs, nowMs + delayMs);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public long getDelayMs() {
+        return delayMs;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
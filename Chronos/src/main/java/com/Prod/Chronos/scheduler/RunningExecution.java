@@ -0,0 +1,99 @@
+package com.Prod.Chronos.scheduler;
+
+import com.Prod.Chronos.handler.CancellationToken;
+
+/**
+ * One job execution in progress on this node, and the race over who decides
+ * its outcome. Exactly one side wins: {@link #complete()} when the work
+ * finished first, or {@link #expire()} / {@link #cancel()} when its deadline
+ * passed or a cancel arrived first, which also interrupts the executing
+ * thread. The interrupt happens under the same lock as the state change, so
+ * a thread that lost the race has already been interrupted by the time
+ * {@link #complete()} returns false. Handlers see the execution as their
+ * {@link CancellationToken}.
+ */
+public final class RunningExecution implements CancellationToken {
+
+    private enum State { RUNNING, COMPLETED, TIMED_OUT, CANCELLED }
+
+    private final Long jobId;
+    private final long timeoutMs;
+    private final Thread thread;
+    private final long startedAtNanos = System.nanoTime();
+    private volatile State state = State.RUNNING;
+    private volatile HierarchicalTimingWheel.Entry<?> entry;
+
+    public RunningExecution(Long jobId, long timeoutMs, Thread thread) {
+        this.jobId = jobId;
+        this.timeoutMs = timeoutMs;
+        this.thread = thread;
+    }
+
+    // True if the execution owns its outcome; repeated calls after winning keep returning true
+    public synchronized boolean complete() {
+        if (state != State.RUNNING && state != State.COMPLETED) {
+            return false;
+        }
+        state = State.COMPLETED;
+        HierarchicalTimingWheel.Entry<?> scheduled = entry;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        return true;
+    }
+
+    // True if the deadline won
+    public boolean expire() {
+        return abort(State.TIMED_OUT);
+    }
+
+    // True if the cancel won
+    public boolean cancel() {
+        return abort(State.CANCELLED);
+    }
+
+    // Timed out or cancelled
+    public boolean isAborted() {
+        State current = state;
+        return current == State.TIMED_OUT || current == State.CANCELLED;
+    }
+
+    public boolean isTimedOut() {
+        return state == State.TIMED_OUT;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return isAborted();
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public long getElapsedMs() {
+        return (System.nanoTime() - startedAtNanos) / 1_000_000;
+    }
+
+    // Wheel entry to cancel on completion; an entry attached after completion just expires as a no-op
+    public void attach(HierarchicalTimingWheel.Entry<?> entry) {
+        this.entry = entry;
+    }
+
+    private synchronized boolean abort(State outcome) {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        state = outcome;
+        HierarchicalTimingWheel.Entry<?> scheduled = entry;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        thread.interrupt();
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.List;
+
+/**
+ * Buckets ({@code job id mod bucketCount}) this node is responsible for.
+ * An unsharded assignment covers every bucket, e.g. a single-node cluster.
+ */
+public final class ShardAssignment {
+
+    // Placeholder so an empty assignment still renders a valid IN list
+    private static final List<Integer> NO_BUCKETS = List.of(-1);
+
+    private final boolean sharded;
+    private final int bucketCount;
+    private final List<Integer> buckets;
+
+    private ShardAssignment(boolean sharded, int bucketCount, List<Integer> buckets) {
+        this.sharded = sharded;
+        this.bucketCount = bucketCount;
+        this.buckets = buckets;
+    }
+
+    public static ShardAssignment all(int bucketCount) {
+        return new ShardAssignment(false, bucketCount, NO_BUCKETS);
+    }
+
+    public static ShardAssignment of(int bucketCount, List<Integer> buckets) {
+        return new ShardAssignment(true, bucketCount, buckets.isEmpty() ? NO_BUCKETS : List.copyOf(buckets));
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public List<Integer> getBuckets() {
+        return buckets;
+    }
+
+    public int getOwnedBucketCount() {
+        return sharded ? (buckets == NO_BUCKETS ? 0 : buckets.size()) : bucketCount;
+    }
+}
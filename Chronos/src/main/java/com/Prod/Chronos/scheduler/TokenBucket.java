@@ -0,0 +1,60 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in the GCRA form: the only state is the theoretical
+ * arrival time of the next token, advanced with CAS. Holds at most
+ * {@code capacity} tokens and refills at {@code tokensPerSecond}.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.nanosPerToken = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * capacity;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    // Takes up to the requested number of tokens and returns how many were granted
+    public int tryAcquire(int requested) {
+        if (requested <= 0) {
+            return 0;
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long base = Math.max(current, now);
+            long available = (now + burstNanos - base) / nanosPerToken;
+            int granted = (int) Math.min(requested, available);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (theoreticalArrival.compareAndSet(current, base + granted * nanosPerToken)) {
+                return granted;
+            }
+        }
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1) == 1;
+    }
+
+    // Hands back tokens that were acquired but not used
+    public void release(int tokens) {
+        if (tokens > 0) {
+            theoreticalArrival.addAndGet(-tokens * nanosPerToken);
+        }
+    }
+
+    public long millisUntilAvailable() {
+        long wait = theoreticalArrival.get() + nanosPerToken - burstNanos - System.nanoTime();
+        return wait <= 0 ? 0 : (wait + 999_999) / 1_000_000;
+    }
+}
@@ -0,0 +1,65 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.Objects;
+
+public final class TriggerKey {
+
+    public enum Kind {
+        JOB,
+        SCHEDULE,
+        SWEEP
+    }
+
+    // Wake-up for due work held back by the catch-up ramp or by dispatch capacity
+    private static final TriggerKey SWEEP_KEY = new TriggerKey(Kind.SWEEP, 0L);
+
+    private final Kind kind;
+    private final long id;
+
+    private TriggerKey(Kind kind, long id) {
+        this.kind = kind;
+        this.id = id;
+    }
+
+    public static TriggerKey forJob(Long jobId) {
+        return new TriggerKey(Kind.JOB, jobId);
+    }
+
+    public static TriggerKey forSchedule(Long scheduleId) {
+        return new TriggerKey(Kind.SCHEDULE, scheduleId);
+    }
+
+    public static TriggerKey sweep() {
+        return SWEEP_KEY;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TriggerKey)) {
+            return false;
+        }
+        TriggerKey other = (TriggerKey) o;
+        return kind == other.kind && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, id);
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + id;
+    }
+}
@@ -0,0 +1,138 @@
+package com.Prod.Chronos.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable dependency graph of a workflow. Edges point from a parent to the
+ * successors that may only start once it completed. Construction rejects
+ * unknown nodes and cycles, so every graph has a topological order.
+ */
+public final class WorkflowGraph<K> {
+
+    private final Set<K> nodes;
+    private final Map<K, List<K>> parents = new HashMap<>();
+    private final Map<K, List<K>> successors = new HashMap<>();
+    private final List<K> topologicalOrder;
+
+    // dependencies maps each node to the nodes it depends on; nodes without an entry are roots
+    public WorkflowGraph(Collection<K> nodes, Map<K, ? extends Collection<K>> dependencies) {
+        this.nodes = new LinkedHashSet<>(nodes);
+        for (K node : this.nodes) {
+            parents.put(node, new ArrayList<>());
+            successors.put(node, new ArrayList<>());
+        }
+        dependencies.forEach((node, dependsOn) -> {
+            if (!this.nodes.contains(node)) {
+                throw new IllegalArgumentException("Unknown workflow step: " + node);
+            }
+            for (K parent : new LinkedHashSet<>(dependsOn)) {
+                if (!this.nodes.contains(parent)) {
+                    throw new IllegalArgumentException("Step " + node + " depends on unknown step: " + parent);
+                }
+                parents.get(node).add(parent);
+                successors.get(parent).add(node);
+            }
+        });
+        this.topologicalOrder = sort();
+    }
+
+    public Set<K> getNodes() {
+        return Collections.unmodifiableSet(nodes);
+    }
+
+    public List<K> parentsOf(K node) {
+        return Collections.unmodifiableList(parents.getOrDefault(node, List.of()));
+    }
+
+    public List<K> successorsOf(K node) {
+        return Collections.unmodifiableList(successors.getOrDefault(node, List.of()));
+    }
+
+    public List<K> roots() {
+        return nodes.stream().filter(node -> parents.get(node).isEmpty()).toList();
+    }
+
+    public List<K> topologicalOrder() {
+        return topologicalOrder;
+    }
+
+    // Every node reachable from the given one, excluding itself
+    public Set<K> descendantsOf(K node) {
+        Set<K> seen = new LinkedHashSet<>();
+        Deque<K> pending = new ArrayDeque<>(successorsOf(node));
+        while (!pending.isEmpty()) {
+            K next = pending.poll();
+            if (seen.add(next)) {
+                pending.addAll(successors.get(next));
+            }
+        }
+        return seen;
+    }
+
+    // Longest chain by summed duration, from a root to a sink
+    public List<K> criticalPath(ToLongFunction<K> duration) {
+        Map<K, Long> finish = new HashMap<>();
+        Map<K, K> via = new HashMap<>();
+        K end = null;
+        for (K node : topologicalOrder) {
+            long start = 0;
+            K latest = null;
+            for (K parent : parents.get(node)) {
+                if (latest == null || finish.get(parent) > start) {
+                    start = finish.get(parent);
+                    latest = parent;
+                }
+            }
+            if (latest != null) {
+                via.put(node, latest);
+            }
+            finish.put(node, start + Math.max(0, duration.applyAsLong(node)));
+            if (end == null || finish.get(node) > finish.get(end)) {
+                end = node;
+            }
+        }
+
+        List<K> path = new ArrayList<>();
+        for (K node = end; node != null; node = via.get(node)) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Kahn's algorithm; leftover nodes sit on a cycle
+    private List<K> sort() {
+        Map<K, Integer> indegree = new HashMap<>();
+        Deque<K> ready = new ArrayDeque<>();
+        for (K node : nodes) {
+            indegree.put(node, parents.get(node).size());
+            if (parents.get(node).isEmpty()) {
+                ready.add(node);
+            }
+        }
+        List<K> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            K node = ready.poll();
+            order.add(node);
+            for (K successor : successors.get(node)) {
+                if (indegree.merge(successor, -1, Integer::sum) == 0) {
+                    ready.add(successor);
+                }
+            }
+        }
+        if (order.size() != nodes.size()) {
+            throw new IllegalArgumentException("Workflow dependencies contain a cycle");
+        }
+        return Collections.unmodifiableList(order);
+    }
+}
@@ -0,0 +1,319 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.BatchChunk;
+import com.Prod.Chronos.entity.BatchChunkStatus;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.FailureClass;
+import com.Prod.Chronos.handler.CancellationToken;
+import com.Prod.Chronos.handler.HandlerBinding;
+import com.Prod.Chronos.handler.JobFailureException;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.repository.BatchChunkRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs BATCH jobs. The job's input range, taken from its payload
+ * ({"totalItems": n, "chunkSize": c, "parallelism": p}), is split into chunks
+ * that are persisted as a plan in batch_chunks. Chunks run in parallel on the
+ * shared batchExecutor, at most {@code parallelism} at a time for one job;
+ * each chunk is handed to the job's handler ({@code JobHandler.handleChunk})
+ * and checkpointed in its own short transaction once it returns. A plan
+ * belongs to one run of the job: a retried or requeued attempt reloads it and
+ * only runs the chunks that are not COMPLETED, even when that is none of
+ * them, and only the run after the job completed plans afresh. Checkpoints
+ * are fenced by the attempt's execution token, so an attempt that lost its
+ * token (timed out, reaped, cancelled) stops writing and handing out chunks.
+ */
+@Service
+public class BatchJobEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobEngine.class);
+
+    @Autowired
+    private BatchChunkRepository batchChunkRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
+
+    @Autowired
+    @Qualifier("batchExecutor")
+    private Executor batchExecutor;
+
+    @Value("${chronos.batch.default-chunk-size:1000}")
+    private int defaultChunkSize;
+
+    @Value("${chronos.batch.default-parallelism:4}")
+    private int defaultParallelism;
+
+    @Value("${chronos.batch.max-parallelism:16}")
+    private int maxParallelism;
+
+    // Attempts per chunk within one run before the chunk, and with it the run, fails
+    @Value("${chronos.batch.chunk-max-attempts:3}")
+    private int chunkMaxAttempts;
+
+    // Returns null once every chunk of the job is checkpointed, otherwise why the run failed; a cancelled run stops handing out chunks
+    public JobFailureException execute(Job job, CancellationToken cancellation) {
+        BatchSpec spec;
+        HandlerBinding<?> binding;
+        try {
+            spec = parseSpec(job.getPayload());
+            binding = jobHandlerRegistry.resolve(job);
+        } catch (RuntimeException e) {
+            // Malformed payload or unknown handler: fails as PERMANENT instead of going through every retry
+            return JobFailureException.from(e);
+        }
+        List<BatchChunk> chunks = transactionTemplate.execute(status -> loadOrPlan(job.getId(), spec));
+        List<BatchChunk> remaining = chunks.stream()
+            .filter(chunk -> chunk.getStatus() != BatchChunkStatus.COMPLETED)
+            .toList();
+        if (remaining.size() < chunks.size()) {
+            logger.info("Resuming batch job {} (ID: {}) from checkpoint: {}/{} chunks already completed",
+                       job.getName(), job.getId(), chunks.size() - remaining.size(), chunks.size());
+        } else {
+            logger.info("Starting batch job {} (ID: {}): {} items in {} chunks",
+                       job.getName(), job.getId(), spec.totalItems, chunks.size());
+        }
+
+        int parallelism = Math.max(1, Math.min(Math.min(spec.parallelism, maxParallelism), remaining.size()));
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicBoolean fenced = new AtomicBoolean();
+        AtomicReference<JobFailureException> permanentFailure = new AtomicReference<>();
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        try {
+            for (BatchChunk chunk : remaining) {
+                // Stop handing out chunks after the first one fails for good or the run is cancelled; the rest resume on retry
+                permits.acquire();
+                if (failed.get() || fenced.get() || cancellation.isCancelled()) {
+                    failed.set(true);
+                    permits.release();
+                    break;
+                }
+                try {
+                    running.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            JobFailureException chunkFailure = runChunk(job, binding, chunk, cancellation, fenced);
+                            if (chunkFailure != null) {
+                                failed.set(true);
+                                if (chunkFailure.getFailureClass() == FailureClass.PERMANENT) {
+                                    permanentFailure.compareAndSet(null, chunkFailure);
+                                }
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    }, batchExecutor));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    failed.set(true);
+                    logger.warn("Batch executor saturated, stopping batch job {} for now", job.getId());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.set(true);
+        }
+
+        // Chunks already handed out finish and checkpoint before the job's outcome is recorded.
+        // A timeout or cancel interrupts this thread; the chunks see the same token and stop on their own.
+        try {
+            CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new JobFailureException(FailureClass.TRANSIENT, "Batch job interrupted while chunks were running", e);
+        } catch (ExecutionException e) {
+            // runChunk reports its own failures, so this escaped a chunk task
+            logger.error("Chunk task of batch job {} failed unexpectedly", job.getId(), e.getCause());
+            failed.set(true);
+        }
+        if (fenced.get()) {
+            return new JobFailureException(FailureClass.TRANSIENT, "Batch job attempt was superseded; its result is discarded");
+        }
+        if (permanentFailure.get() != null) {
+            return permanentFailure.get();
+        }
+        return failed.get() ? new JobFailureException(FailureClass.TRANSIENT, "Batch job has failed chunks") : null;
+    }
+
+    // Called in the transaction that records the job as completed; the next run plans afresh
+    public void closePlan(Long jobId) {
+        batchChunkRepository.closePlan(jobId);
+    }
+
+    // Chunk counts and processed items for a batch job's current plan
+    public Map<String, Object> getProgress(Long jobId) {
+        List<BatchChunk> chunks = batchChunkRepository.findByJobIdOrderByChunkIndex(jobId);
+        Map<String, Object> progress = new HashMap<>();
+        long totalItems = 0;
+        long processedItems = 0;
+        Map<BatchChunkStatus, Integer> byStatus = new HashMap<>();
+        for (BatchChunk chunk : chunks) {
+            totalItems += chunk.size();
+            if (chunk.getStatus() == BatchChunkStatus.COMPLETED) {
+                processedItems += chunk.size();
+            }
+            byStatus.merge(chunk.getStatus(), 1, Integer::sum);
+        }
+        progress.put("jobId", jobId);
+        progress.put("totalChunks", chunks.size());
+        progress.put("completedChunks", byStatus.getOrDefault(BatchChunkStatus.COMPLETED, 0));
+        progress.put("failedChunks", byStatus.getOrDefault(BatchChunkStatus.FAILED, 0));
+        progress.put("pendingChunks", byStatus.getOrDefault(BatchChunkStatus.PENDING, 0));
+        progress.put("totalItems", totalItems);
+        progress.put("processedItems", processedItems);
+        return progress;
+    }
+
+    private List<BatchChunk> loadOrPlan(Long jobId, BatchSpec spec) {
+        List<BatchChunk> existing = batchChunkRepository.findByJobIdOrderByChunkIndex(jobId);
+        // A plan of this run is resumed even when every chunk is checkpointed, e.g. after a crash before the job was marked completed
+        boolean sameRun = !existing.isEmpty() && existing.stream().noneMatch(chunk -> Boolean.TRUE.equals(chunk.getClosed()));
+        if (sameRun && matches(existing, spec)) {
+            return existing;
+        }
+        if (!existing.isEmpty()) {
+            batchChunkRepository.deleteByJobIds(List.of(jobId));
+        }
+
+        List<BatchChunk> plan = new ArrayList<>();
+        int index = 0;
+        for (long start = 0; start < spec.totalItems; start += spec.chunkSize) {
+            plan.add(new BatchChunk(jobId, index++, start, Math.min(start + spec.chunkSize, spec.totalItems)));
+        }
+        return batchChunkRepository.saveAll(plan);
+    }
+
+    // A checkpoint is only reused for the same input range and chunking
+    private boolean matches(List<BatchChunk> chunks, BatchSpec spec) {
+        BatchChunk first = chunks.get(0);
+        BatchChunk last = chunks.get(chunks.size() - 1);
+        return first.getStartOffset() == 0
+            && first.size() == Math.min(spec.chunkSize, spec.totalItems)
+            && last.getEndOffset() == spec.totalItems;
+    }
+
+    // Returns null once the chunk is checkpointed; permanent failures are not attempted again.
+    // Sets fenced when the job's token moved on, i.e. this attempt no longer owns the plan.
+    private JobFailureException runChunk(Job job, HandlerBinding<?> binding, BatchChunk chunk, CancellationToken cancellation,
+                                         AtomicBoolean fenced) {
+        Long token = job.getExecutionToken();
+        int attempts = chunk.getAttempts() != null ? chunk.getAttempts() : 0;
+        String lastError = null;
+        JobFailureException failure = null;
+        for (int attempt = 1; attempt <= chunkMaxAttempts; attempt++) {
+            attempts++;
+            long startNanos = System.nanoTime();
+            try {
+                binding.runChunk(job, chunk.getStartOffset(), chunk.getEndOffset(), cancellation);
+                int recordedAttempts = attempts;
+                Integer checkpointed = transactionTemplate.execute(status ->
+                    batchChunkRepository.markCompleted(chunk.getId(), token, recordedAttempts, LocalDateTime.now()));
+                schedulerMetrics.recordBatchChunk(true, System.nanoTime() - startNanos);
+                if (checkpointed == null || checkpointed == 0) {
+                    fenced.set(true);
+                    logger.warn("Chunk {} of batch job {} finished after the attempt with token {} was superseded; checkpoint dropped",
+                               chunk.getChunkIndex(), job.getId(), token);
+                    return new JobFailureException(FailureClass.TRANSIENT, "Batch job attempt was superseded");
+                }
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lastError = "Interrupted";
+                failure = new JobFailureException(FailureClass.TRANSIENT, lastError, e);
+                break;
+            } catch (Exception e) {
+                schedulerMetrics.recordBatchChunk(false, System.nanoTime() - startNanos);
+                failure = JobFailureException.from(e);
+                lastError = failure.getMessage();
+                logger.warn("Chunk {} [{}, {}) of batch job {} failed (attempt {}/{}, {}): {}",
+                           chunk.getChunkIndex(), chunk.getStartOffset(), chunk.getEndOffset(),
+                           job.getId(), attempt, chunkMaxAttempts, failure.getFailureClass(), lastError);
+                if (failure.getFailureClass() == FailureClass.PERMANENT || cancellation.isCancelled()) {
+                    break;
+                }
+            }
+        }
+
+        try {
+            int recordedAttempts = attempts;
+            String errorMessage = lastError;
+            Integer recorded = transactionTemplate.execute(status ->
+                batchChunkRepository.markFailed(chunk.getId(), token, recordedAttempts, errorMessage));
+            if (recorded == null || recorded == 0) {
+                fenced.set(true);
+            }
+        } catch (Exception e) {
+            logger.error("Error recording failed chunk {} of batch job {}", chunk.getChunkIndex(), job.getId(), e);
+        }
+        return failure;
+    }
+
+    // Rejects a payload the engine cannot plan, e.g. when the job is created; the message says why
+    public void validatePayload(String payload) {
+        parseSpec(payload);
+    }
+
+    // A malformed payload fails the same way on every attempt, so it is a permanent failure
+    private BatchSpec parseSpec(String payload) {
+        if (payload == null || payload.isBlank()) {
+            throw JobFailureException.permanent("Batch job payload must specify totalItems");
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(payload);
+        } catch (Exception e) {
+            throw JobFailureException.permanent("Batch job payload is not valid JSON: " + e.getMessage());
+        }
+        long totalItems = node.path("totalItems").asLong(0);
+        int chunkSize = node.path("chunkSize").asInt(defaultChunkSize);
+        int parallelism = node.path("parallelism").asInt(defaultParallelism);
+        if (totalItems <= 0 || chunkSize <= 0 || parallelism <= 0) {
+            throw JobFailureException.permanent("Batch job needs positive totalItems, chunkSize and parallelism");
+        }
+        return new BatchSpec(totalItems, chunkSize, parallelism);
+    }
+
+    private static final class BatchSpec {
+        private final long totalItems;
+        private final int chunkSize;
+        private final int parallelism;
+
+        private BatchSpec(long totalItems, int chunkSize, int parallelism) {
+            this.totalItems = totalItems;
+            this.chunkSize = chunkSize;
+            this.parallelism = parallelism;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.event.ShardAssignmentChangedEvent;
+import com.Prod.Chronos.repository.SchedulerNodeRepository;
+import com.Prod.Chronos.scheduler.ConsistentHashRing;
+import com.Prod.Chronos.scheduler.ShardAssignment;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+public class ClusterMembershipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembershipService.class);
+
+    // Jobs are sharded on MOD(job id, SHARD_BUCKETS); the partial shard indexes use the same modulus
+    public static final int SHARD_BUCKETS = 1024;
+
+    @Autowired
+    private SchedulerNodeRepository schedulerNodeRepository;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${chronos.cluster.node-timeout-ms:15000}")
+    private long nodeTimeoutMs;
+
+    @Value("${chronos.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    private volatile List<String> members = List.of();
+    private volatile ShardAssignment assignment = ShardAssignment.all(SHARD_BUCKETS);
+
+    @PreDestroy
+    public void leave() {
+        try {
+            // Deregister so the remaining nodes take over this shard on their next heartbeat
+            schedulerNodeRepository.deleteById(nodeIdentity.getNodeId());
+            logger.info("Node {} left the scheduler cluster", nodeIdentity.getNodeId());
+        } catch (Exception e) {
+            logger.warn("Error deregistering node {}", nodeIdentity.getNodeId(), e);
+        }
+    }
+
+    // Refresh (and on the first run create) this node's membership row and recompute the shard when the live node set changes
+    @Scheduled(fixedDelayString = "${chronos.cluster.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<String> live = transactionTemplate.execute(status -> {
+                schedulerNodeRepository.heartbeat(nodeIdentity.getNodeId(), nodeIdentity.getHostName(), now);
+                schedulerNodeRepository.deleteStaleNodes(now.minus(nodeTimeoutMs * 10, ChronoUnit.MILLIS));
+                return schedulerNodeRepository.findLiveNodeIds(now.minus(nodeTimeoutMs, ChronoUnit.MILLIS));
+            });
+
+            if (!live.equals(members)) {
+                rebalance(live);
+            }
+        } catch (Exception e) {
+            logger.error("Error sending cluster heartbeat", e);
+        }
+    }
+
+    public ShardAssignment getShardAssignment() {
+        return assignment;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    private void rebalance(List<String> live) {
+        ShardAssignment updated;
+        if (live.size() <= 1) {
+            // Alone (or not yet visible): own every bucket without filtering
+            updated = ShardAssignment.all(SHARD_BUCKETS);
+        } else {
+            ConsistentHashRing ring = new ConsistentHashRing(live, virtualNodes);
+            updated = ShardAssignment.of(SHARD_BUCKETS, ring.bucketsOwnedBy(nodeIdentity.getNodeId(), SHARD_BUCKETS));
+        }
+
+        members = List.copyOf(live);
+        assignment = updated;
+        logger.info("Cluster membership changed: {} nodes, this node owns {} of {} buckets",
+                   live.size(), updated.getOwnedBucketCount(), SHARD_BUCKETS);
+        eventPublisher.publishEvent(new ShardAssignmentChangedEvent(updated));
+    }
+}
@@ -0,0 +1,84 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ExecutionLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionLeaseService.class);
+
+    // Keeps the IN list of a single heartbeat statement bounded
+    private static final int HEARTBEAT_CHUNK_SIZE = 500;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Value("${chronos.lease.duration-ms:30000}")
+    private long leaseDurationMs;
+
+    // Jobs currently executing on this node
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Take the lease for a job that is about to run; persisted with the RUNNING status
+    public void acquire(Job job) {
+        job.acquireLease(nodeIdentity.getNodeId(), nextExpiry());
+        inFlight.add(job.getId());
+    }
+
+    public void release(Long jobId) {
+        inFlight.remove(jobId);
+    }
+
+    // Renew every lease held by this node with one UPDATE per chunk instead of per job
+    @Scheduled(fixedDelayString = "${chronos.lease.heartbeat-interval-ms:10000}")
+    @Transactional
+    public void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> jobIds = new ArrayList<>(inFlight);
+            LocalDateTime leaseExpiresAt = nextExpiry();
+            int renewed = 0;
+            for (int from = 0; from < jobIds.size(); from += HEARTBEAT_CHUNK_SIZE) {
+                List<Long> chunk = jobIds.subList(from, Math.min(from + HEARTBEAT_CHUNK_SIZE, jobIds.size()));
+                renewed += jobRepository.renewLeases(chunk, nodeIdentity.getNodeId(), leaseExpiresAt);
+            }
+
+            if (renewed < jobIds.size()) {
+                // Finished in the meantime, or reaped after the lease lapsed
+                logger.debug("Renewed {} of {} execution leases", renewed, jobIds.size());
+            }
+        } catch (Exception e) {
+            logger.error("Error renewing execution leases", e);
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plus(leaseDurationMs, ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,198 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.scheduler.HierarchicalTimingWheel;
+import com.Prod.Chronos.scheduler.RunningExecution;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Registry of the executions running on this node, keyed by job id. Each
+ * execution's deadline sits on one shared timing wheel driven by a single
+ * thread instead of a watchdog per job. A deadline passing or a cancel
+ * arriving interrupts the job's thread at once; the abort callback (recording
+ * the outcome and freeing the dispatch slot) then runs on the timeout
+ * executor. Cancels for jobs running elsewhere go out on the Kafka control
+ * topic, which every node consumes.
+ */
+@Service
+public class InFlightExecutionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightExecutionService.class);
+
+    @Autowired
+    @Qualifier("timeoutExecutor")
+    private Executor timeoutExecutor;
+
+    @Autowired
+    private KafkaService kafkaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chronos.timeout.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${chronos.timeout.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${chronos.timeout.levels:4}")
+    private int levels;
+
+    private HierarchicalTimingWheel<Tracked> wheel;
+    private final Map<Long, Tracked> running = new ConcurrentHashMap<>();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private volatile boolean active;
+    private Thread wheelThread;
+
+    @PostConstruct
+    public void start() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, levels, System.currentTimeMillis());
+        active = true;
+        wheelThread = new Thread(this::runWheel, "chronos-timeout-wheel");
+        wheelThread.setDaemon(true);
+        wheelThread.start();
+
+        Gauge.builder("chronos.job.in.flight", running, Map::size)
+            .description("Job executions running on this node").register(meterRegistry);
+        FunctionCounter.builder("chronos.job.timeouts", timedOut, AtomicLong::get)
+            .description("Executions interrupted because they ran past their timeout").register(meterRegistry);
+        FunctionCounter.builder("chronos.job.cancellations", cancelled, AtomicLong::get)
+            .description("Executions interrupted because the job was cancelled").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        active = false;
+        if (wheelThread != null) {
+            wheelThread.interrupt();
+        }
+    }
+
+    // Track the calling thread's execution; timeoutMs <= 0 means it only ends by completing or being cancelled
+    public RunningExecution register(Long jobId, long timeoutMs, Consumer<RunningExecution> onAbort) {
+        RunningExecution execution = new RunningExecution(jobId, timeoutMs, Thread.currentThread());
+        Tracked tracked = new Tracked(execution, onAbort);
+        running.put(jobId, tracked);
+        if (timeoutMs > 0) {
+            execution.attach(wheel.schedule(tracked, System.currentTimeMillis() + timeoutMs));
+        }
+        return execution;
+    }
+
+    public void unregister(RunningExecution execution) {
+        running.computeIfPresent(execution.getJobId(), (jobId, tracked) -> tracked.execution == execution ? null : tracked);
+    }
+
+    // Cancel the job here if it runs on this node, otherwise ask the other nodes; sent after commit inside a transaction
+    public void requestCancel(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliverCancel(jobId);
+                }
+            });
+        } else {
+            deliverCancel(jobId);
+        }
+    }
+
+    // Called for cancels from the control topic as well; a no-op when the job does not run here
+    public boolean cancelLocal(Long jobId) {
+        Tracked tracked = running.get(jobId);
+        if (tracked == null || !tracked.execution.cancel()) {
+            return false;
+        }
+        cancelled.incrementAndGet();
+        logger.info("Cancelled running execution of job {}", jobId);
+        abort(tracked);
+        return true;
+    }
+
+    public boolean isRunningLocally(Long jobId) {
+        return running.containsKey(jobId);
+    }
+
+    public int getInFlightCount() {
+        return running.size();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    public long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    private void deliverCancel(Long jobId) {
+        if (!cancelLocal(jobId)) {
+            kafkaService.sendCancelRequest(jobId);
+        }
+    }
+
+    private void runWheel() {
+        while (active) {
+            try {
+                wheel.advance(System.currentTimeMillis(), entry -> expire(entry.getTask()));
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(tickMs));
+            } catch (Exception e) {
+                logger.error("Error advancing timeout wheel", e);
+            }
+        }
+    }
+
+    // Interrupt right away on the wheel thread; the database work runs on the timeout executor
+    private void expire(Tracked tracked) {
+        if (!tracked.execution.expire()) {
+            return;
+        }
+        timedOut.incrementAndGet();
+        logger.warn("Job {} exceeded its timeout of {}ms, interrupting",
+                   tracked.execution.getJobId(), tracked.execution.getTimeoutMs());
+        abort(tracked);
+    }
+
+    private void abort(Tracked tracked) {
+        unregister(tracked.execution);
+        Runnable callback = () -> tracked.onAbort.accept(tracked.execution);
+        try {
+            timeoutExecutor.execute(callback);
+        } catch (RejectedExecutionException e) {
+            // The callback frees the dispatch slot, so it must not be dropped
+            logger.warn("Timeout executor saturated, handling abort of job {} on the calling thread", tracked.execution.getJobId());
+            callback.run();
+        }
+    }
+
+    private static final class Tracked {
+        private final RunningExecution execution;
+        private final Consumer<RunningExecution> onAbort;
+
+        private Tracked(RunningExecution execution, Consumer<RunningExecution> onAbort) {
+            this.execution = execution;
+            this.onAbort = onAbort;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.event.DispatchCapacityAvailableEvent;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.handler.ResourceClass;
+import com.Prod.Chronos.repository.JobRepository;
+import com.Prod.Chronos.scheduler.FairShareQueue;
+import com.Prod.Chronos.scheduler.GroupLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Priority-aware, fair-share queue in front of the job executor. Claimed jobs
+ * wait here instead of in the executor's FIFO work queue: at most
+ * {@code max-in-flight} jobs are handed to the pool at once. A freed slot goes
+ * to the owner (Job.createdBy) next in line by weighted fair share, and within
+ * that owner to the highest (aged) priority job whose group is below its
+ * concurrency and rate limits. Jobs over a group limit stay queued; they never
+ * hold a worker thread while waiting. Jobs whose handler is CPU-bound start
+ * on the CPU-sized pool, everything else on the job executor.
+ *
+ * <p>The queue is bounded by admission control: the scheduler claims at most
+ * {@link #getAvailableCapacity()} jobs, so overflow stays due in the database
+ * where other nodes can pick it up. Jobs of limited groups are not counted
+ * against that capacity, or one throttled group could fill the headroom and
+ * stall every other group; instead, claims skip the
+ * {@link #getDeferredGroups() groups} that already have a burst waiting. When a claim was cut short, the first
+ * finishing job that frees capacity publishes a
+ * {@link DispatchCapacityAvailableEvent} to wake the trigger engine again.
+ *
+ * <p>Claimed rows stay SCHEDULED while their jobs wait here, so the claims of
+ * queued jobs are renewed well within the claim expiry. Only the claims of a
+ * node that stopped renewing them (i.e. is gone) expire and get claimed again.
+ */
+@Service
+public class JobDispatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDispatchService.class);
+
+    // Keeps the IN list of a single claim renewal statement bounded
+    private static final int RENEWAL_CHUNK_SIZE = 500;
+
+    // Placeholder so an empty list of deferred groups still renders a valid NOT IN list
+    private static final List<String> NO_GROUPS = List.of("");
+
+    @Autowired
+    private JobExecutorService jobExecutorService;
+
+    @Autowired
+    @Qualifier("jobExecutor")
+    private Executor jobExecutor;
+
+    @Autowired
+    @Qualifier("cpuJobExecutor")
+    private Executor cpuJobExecutor;
+
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    // Defaults to the core pool size so submitted jobs start right away instead of queueing in the pool
+    @Value("${chronos.dispatch.max-in-flight:${chronos.executor.core-pool-size:10}}")
+    private int maxInFlight;
+
+    // Claimed jobs allowed to wait here beyond the running ones, giving priority and fair share a choice
+    @Value("${chronos.dispatch.queue-headroom:10}")
+    private int queueHeadroom;
+
+    @Value("${chronos.dispatch.aging-interval-ms:10000}")
+    private long agingIntervalMs;
+
+    // Comma separated owner:weight pairs, e.g. "admin:4,reports:2"; unlisted owners get the default weight
+    @Value("${chronos.fair-share.weights:}")
+    private String weightsConfig;
+
+    @Value("${chronos.fair-share.default-weight:1}")
+    private double defaultWeight;
+
+    // Comma separated owner:cap pairs; 0 means no per-owner cap
+    @Value("${chronos.fair-share.max-concurrent:}")
+    private String capsConfig;
+
+    @Value("${chronos.fair-share.default-max-concurrent:0}")
+    private int defaultCap;
+
+    // Comma separated group:limit pairs keyed by Job.jobGroup, or the job name when no group is set
+    @Value("${chronos.job-groups.max-concurrent:}")
+    private String groupConcurrencyConfig;
+
+    @Value("${chronos.job-groups.rate-per-second:}")
+    private String groupRateConfig;
+
+    private FairShareQueue<QueuedJob> queue;
+    private Semaphore slots;
+    private final Map<String, GroupLimiter> groupLimiters = new HashMap<>();
+
+    // Jobs waiting in the queue, whose claims the renewal keeps alive
+    private final Set<Long> queuedJobIds = ConcurrentHashMap.newKeySet();
+
+    // Bumped whenever queued work or capacity changes, so a drainer that found nothing knows to look again
+    private final AtomicInteger signals = new AtomicInteger();
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+
+    // Set when due work was left in the database because the dispatcher was full
+    private final AtomicBoolean backlogged = new AtomicBoolean();
+    private final AtomicLong capacityBoundClaims = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Map<String, Double> weights = new HashMap<>();
+        parseKeyValues(weightsConfig).forEach((owner, value) -> weights.put(owner, Double.parseDouble(value)));
+        Map<String, Integer> caps = new HashMap<>();
+        parseKeyValues(capsConfig).forEach((owner, value) -> caps.put(owner, Integer.parseInt(value)));
+
+        queue = new FairShareQueue<>(agingIntervalMs,
+            owner -> weights.getOrDefault(owner, defaultWeight),
+            owner -> caps.getOrDefault(owner, defaultCap));
+        slots = new Semaphore(maxInFlight);
+
+        Map<String, String> concurrency = parseKeyValues(groupConcurrencyConfig);
+        Map<String, String> rates = parseKeyValues(groupRateConfig);
+        Set<String> groups = new HashSet<>(concurrency.keySet());
+        groups.addAll(rates.keySet());
+        for (String group : groups) {
+            groupLimiters.put(group, new GroupLimiter(
+                Integer.parseInt(concurrency.getOrDefault(group, "0")),
+                Double.parseDouble(rates.getOrDefault(group, "0"))));
+        }
+        if (!groups.isEmpty()) {
+            logger.info("Job group limits configured for: {}", groups);
+        }
+
+        Gauge.builder("chronos.dispatch.queued", this, JobDispatchService::getQueuedCount)
+            .description("Claimed jobs waiting for a dispatch slot").register(meterRegistry);
+        Gauge.builder("chronos.dispatch.in.flight", this, JobDispatchService::getInFlightCount)
+            .description("Jobs handed to the executor and not finished").register(meterRegistry);
+        Gauge.builder("chronos.dispatch.available.capacity", this, JobDispatchService::getAvailableCapacity)
+            .description("Jobs that can be claimed without overflowing the queue").register(meterRegistry);
+        FunctionCounter.builder("chronos.dispatch.capacity.bound", this, JobDispatchService::getCapacityBoundClaims)
+            .description("Claims cut short because the dispatcher was full").register(meterRegistry);
+    }
+
+    public void submit(Job job) {
+        String group = groupOf(job);
+        GroupLimiter limiter = groupLimiters.get(group);
+        if (limiter != null) {
+            limiter.enqueued();
+        }
+        queuedJobIds.add(job.getId());
+        queue.offer(ownerOf(job), new QueuedJob(job.getId(), job.getExecutionToken(), group, resourceClassOf(job), System.nanoTime()), 
+            job.getPriority() != null ? job.getPriority() : 0);
+        signals.incrementAndGet();
+        drain();
+    }
+
+    // Retries take the same single hand-off as first runs; only the retry bookkeeping runs on the caller.
+    // executionToken is the token the failed attempt left behind; null books the retry against the current one.
+    public boolean submitRetry(Long jobId, Long executionToken) {
+        Job job = jobExecutorService.prepareRetry(jobId, executionToken);
+        if (job == null) {
+            return false;
+        }
+        submit(job);
+        return true;
+    }
+
+    // Renew the claims of queued jobs with one UPDATE per chunk; must run well within chronos.dispatch.claim-expiry-ms
+    @Scheduled(fixedDelayString = "${chronos.dispatch.claim-renewal-interval-ms:20000}")
+    @Transactional
+    public void renewClaims() {
+        if (queuedJobIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> jobIds = new ArrayList<>(queuedJobIds);
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < jobIds.size(); from += RENEWAL_CHUNK_SIZE) {
+                List<Long> chunk = jobIds.subList(from, Math.min(from + RENEWAL_CHUNK_SIZE, jobIds.size()));
+                jobRepository.renewClaims(chunk, nodeIdentity.getNodeId(), now);
+            }
+        } catch (Exception e) {
+            logger.error("Error renewing claims of queued jobs", e);
+        }
+    }
+
+    // Number of jobs that can be claimed now without overflowing the queue; jobs of limited groups wait outside the headroom
+    public int getAvailableCapacity() {
+        return Math.max(0, maxInFlight + queueHeadroom - getInFlightCount() - (queue.size() - getGroupQueuedCount()));
+    }
+
+    // Groups whose next burst is already queued here; the scheduler leaves their due jobs in the database
+    public List<String> getDeferredGroups() {
+        List<String> deferred = groupLimiters.entrySet().stream()
+            .filter(entry -> entry.getValue().isBacklogged())
+            .map(Map.Entry::getKey)
+            .toList();
+        return deferred.isEmpty() ? NO_GROUPS : deferred;
+    }
+
+    // Called by the scheduler when it stopped claiming for lack of capacity
+    public void markCapacityBound() {
+        backlogged.set(true);
+        capacityBoundClaims.incrementAndGet();
+    }
+
+    public boolean isCapacityBound() {
+        return backlogged.get();
+    }
+
+    public long getCapacityBoundClaims() {
+        return capacityBoundClaims.get();
+    }
+
+    public int getQueueHeadroom() {
+        return queueHeadroom;
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public Map<String, Integer> getQueuedByOwner() {
+        return queue.getQueuedByOwner();
+    }
+
+    public Map<String, Integer> getInFlightByOwner() {
+        return queue.getInFlightByOwner();
+    }
+
+    public Map<String, Integer> getRunningByGroup() {
+        Map<String, Integer> running = new HashMap<>();
+        groupLimiters.forEach((group, limiter) -> running.put(group, limiter.getRunning()));
+        return running;
+    }
+
+    private int getGroupQueuedCount() {
+        int queued = 0;
+        for (GroupLimiter limiter : groupLimiters.values()) {
+            queued += limiter.getQueued();
+        }
+        return queued;
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    // Start queued jobs while slots are free; any thread that queues work or frees capacity calls this
+    private void drain() {
+        while (true) {
+            int observed = signals.get();
+            if (!slots.tryAcquire()) {
+                // The slot holders see the new signal when they finish
+                return;
+            }
+            FairShareQueue.Ticket<QueuedJob> ticket = queue.poll(this::tryAdmit);
+            if (ticket != null) {
+                queuedJobIds.remove(ticket.getItem().jobId);
+                start(ticket);
+                continue;
+            }
+            slots.release();
+            if (signals.get() == observed) {
+                scheduleRateLimitRetry();
+                return;
+            }
+        }
+    }
+
+    private boolean tryAdmit(QueuedJob queued) {
+        GroupLimiter limiter = groupLimiters.get(queued.group);
+        if (limiter == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            return false;
+        }
+        limiter.dequeued();
+        return true;
+    }
+
+    // Rate-limited groups only become admissible with time, so come back when the next token is due
+    private void scheduleRateLimitRetry() {
+        long delayMs = 0;
+        for (GroupLimiter limiter : groupLimiters.values()) {
+            long wait = limiter.millisUntilAdmissible();
+            if (wait > 0 && (delayMs == 0 || wait < delayMs)) {
+                delayMs = wait;
+            }
+        }
+        if (delayMs > 0 && queue.size() > 0 && retryScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                retryScheduled.set(false);
+                signals.incrementAndGet();
+                drain();
+            }, Instant.now().plusMillis(delayMs));
+        }
+    }
+
+    private void start(FairShareQueue.Ticket<QueuedJob> ticket) {
+        QueuedJob queued = ticket.getItem();
+        Long jobId = queued.jobId;
+        // Released once, either when the job returns or earlier when it times out or is cancelled
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseSlot = () -> {
+            if (released.compareAndSet(false, true)) {
+                finish(ticket);
+            }
+        };
+        try {
+            executorFor(queued.resourceClass).execute(() -> {
+                try {
+                    // Queue wait runs until a worker actually picks the job up
+                    jobExecutorService.runJob(jobId, queued.executionToken, 
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queued.enqueuedAtNanos), releaseSlot);
+                } finally {
+                    // A timed-out handler may still be running after its slot was freed; the group keeps its permit until it returns
+                    releaseGroupPermit(queued);
+                    releaseSlot.run();
+                }
+            });
+        } catch (Exception e) {
+            releaseGroupPermit(queued);
+            releaseSlot.run();
+            logger.error("Error handing job {} to the executor", jobId, e);
+        }
+    }
+
+    private void releaseGroupPermit(QueuedJob queued) {
+        GroupLimiter limiter = groupLimiters.get(queued.group);
+        if (limiter != null) {
+            limiter.release();
+            signals.incrementAndGet();
+            drain();
+        }
+    }
+
+    private void finish(FairShareQueue.Ticket<QueuedJob> ticket) {
+        queue.complete(ticket.getOwner());
+        slots.release();
+        signals.incrementAndGet();
+        drain();
+
+        int capacity = getAvailableCapacity();
+        if (capacity > 0 && backlogged.compareAndSet(true, false)) {
+            eventPublisher.publishEvent(new DispatchCapacityAvailableEvent(capacity));
+        }
+    }
+
+    // Batch coordinators wait on their chunks, so they count as blocking regardless of handler
+    private ResourceClass resourceClassOf(Job job) {
+        return job.getJobType() == JobType.BATCH ? ResourceClass.BLOCKING_IO : jobHandlerRegistry.resourceClassOf(job);
+    }
+
+    private Executor executorFor(ResourceClass resourceClass) {
+        return resourceClass == ResourceClass.CPU_BOUND ? cpuJobExecutor : jobExecutor;
+    }
+
+    private String ownerOf(Job job) {
+        return job.getCreatedBy() != null ? job.getCreatedBy() : "anonymous";
+    }
+
+    private String groupOf(Job job) {
+        return job.getJobGroup() != null && !job.getJobGroup().isBlank() ? job.getJobGroup() : job.getName();
+    }
+
+    private Map<String, String> parseKeyValues(String config) {
+        Map<String, String> values = new HashMap<>();
+        if (config == null || config.isBlank()) {
+            return values;
+        }
+        for (String pair : config.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length == 2 && !parts[0].isBlank()) {
+                values.put(parts[0].trim(), parts[1].trim());
+            } else if (!pair.isBlank()) {
+                logger.warn("Ignoring malformed dispatch limit entry: {}", pair);
+            }
+        }
+        return values;
+    }
+
+    private static final class QueuedJob {
+        private final Long jobId;
+        private final Long executionToken;
+        private final String group;
+        private final ResourceClass resourceClass;
+        private final long enqueuedAtNanos;
+
+        private QueuedJob(Long jobId, Long executionToken, String group, ResourceClass resourceClass, long enqueuedAtNanos) {
+            this.jobId = jobId;
+            this.executionToken = executionToken;
+            this.group = group;
+            this.resourceClass = resourceClass;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+}
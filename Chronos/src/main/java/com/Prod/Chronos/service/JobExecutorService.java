@@ -1,20 +1,40 @@
 package com.Prod.Chronos.service;
 
+import com.Prod.Chronos.config.SchedulerMetrics;
 import com.Prod.Chronos.entity.*;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
+import com.Prod.Chronos.handler.CancellationToken;
+import com.Prod.Chronos.handler.JobFailureException;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.scheduler.RunningExecution;
 import com.Prod.Chronos.repository.JobRepository;
 import com.Prod.Chronos.repository.ExecutionLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes jobs on the thread the dispatcher hands them to. Nothing here submits
+ * to another executor: starting (RUNNING + lease + start log) and completing
+ * (final status + result log) are each one short transaction, and the job
+ * logic runs between them without holding a connection. Every execution is
+ * registered with {@link InFlightExecutionService}: when its timeout passes or
+ * the job is cancelled, its thread is interrupted, the outcome is recorded
+ * and the dispatch slot is freed without waiting for the handler to return.
+ * Kafka events describing a state change are written in the same
+ * transaction and reach Kafka through the outbox relay.
+ * Each transition is fenced by the job's execution token: a hand-off, retry
+ * or result whose token is no longer current (a duplicate delivery, or an
+ * execution whose lease was reaped) is dropped instead of applied.
+ */
 @Service
 public class JobExecutorService {
 
@@ -27,12 +47,7 @@ public class JobExecutorService {
     private ExecutionLogRepository executionLogRepository;
 
     @Autowired
-    @Qualifier("jobExecutor")
-    private Executor jobExecutor;
-
-    @Autowired
-    @Qualifier("retryExecutor")
-    private Executor retryExecutor;
+    private TransactionTemplate transactionTemplate;
 
     // @Autowired
     // private SplunkService splunkService; // Commented out due to dependency issues
@@ -40,139 +55,385 @@ public class JobExecutorService {
     @Autowired
     private KafkaService kafkaService;
 
-    @Async("jobExecutor")
-    @Transactional
-    public CompletableFuture<Void> executeJob(Long jobId) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                Job job = jobRepository.findById(jobId).orElse(null);
-                if (job == null) {
-                    logger.error("Job not found: {}", jobId);
-                    return;
-                }
-
-                logger.info("Starting execution of job: {} (ID: {})", job.getName(), jobId);
-                
-                // Mark job as running
-                job.markAsRunning();
-                job = jobRepository.save(job);
-
-                // Log job start
-                ExecutionLog startLog = new ExecutionLog(job, LogLevel.INFO, "Job execution started");
-                startLog.setThreadNameFromCurrentThread();
-                executionLogRepository.save(startLog);
-
-                // Send to Splunk
-                // splunkService.logJobEvent(job, "JOB_STARTED", "Job execution started"); // Commented out
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-                // Simulate job execution (in real implementation, this would be actual job logic)
-                boolean success = executeJobLogic(job);
+    @Autowired
+    private ExecutionLeaseService executionLeaseService;
 
-                if (success) {
-                    // Job completed successfully
-                    job.markAsCompleted();
-                    jobRepository.save(job);
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
 
-                    ExecutionLog successLog = new ExecutionLog(job, LogLevel.INFO, "Job completed successfully");
-                    successLog.setThreadNameFromCurrentThread();
-                    executionLogRepository.save(successLog);
+    @Autowired
+    private BatchJobEngine batchJobEngine;
 
-                    // splunkService.logJobEvent(job, "JOB_COMPLETED", "Job completed successfully"); // Commented out
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
 
-                    logger.info("Job completed successfully: {} (ID: {})", job.getName(), jobId);
-                } else {
-                    // Job failed
-                    String errorMessage = "Job execution failed";
-                    job.markAsFailed(errorMessage);
-                    jobRepository.save(job);
+    @Autowired
+    private InFlightExecutionService inFlightExecutionService;
 
-                    ExecutionLog errorLog = new ExecutionLog(job, LogLevel.ERROR, "Job execution failed", errorMessage);
-                    errorLog.setThreadNameFromCurrentThread();
-                    executionLogRepository.save(errorLog);
+    @Autowired
+    private RetryPolicyService retryPolicyService;
+
+    // Applies to jobs without their own timeout; 0 means no timeout
+    @Value("${chronos.job.default-timeout-ms:0}")
+    private long defaultTimeoutMs;
+
+    // Runs the job on the calling thread; queueWaitMs is how long it waited in the dispatch queue and
+    // executionToken the token it was handed off with. releaseSlot frees the dispatch slot early if the
+    // job times out or is cancelled; the caller still runs it when this returns.
+    public void runJob(Long jobId, Long executionToken, long queueWaitMs, Runnable releaseSlot) {
+        RunningExecution execution = null;
+        Long runningToken = null;
+        try {
+            Job job = transactionTemplate.execute(status -> startExecution(jobId, executionToken, queueWaitMs));
+            if (job == null) {
+                return;
+            }
+            Long token = job.getExecutionToken();
+            runningToken = token;
+            schedulerMetrics.recordQueueWait(job, queueWaitMs);
+            schedulerMetrics.recordScheduleLag(job);
+            execution = inFlightExecutionService.register(jobId, timeoutMsOf(job), aborted -> recordAbort(aborted, token, releaseSlot));
+
+            // Send to Splunk
+            // splunkService.logJobEvent(job, "JOB_STARTED", "Job execution started"); // Commented out
+
+            // Batch jobs run chunked and checkpointed; others run their registered handler
+            long startNanos = System.nanoTime();
+            JobFailureException failure = job.getJobType() == JobType.BATCH
+                ? batchJobEngine.execute(job, execution)
+                : runHandler(job, execution);
+            boolean success = failure == null;
+            long runTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (!execution.complete()) {
+                // Timed out or cancelled first: that outcome is already recorded and the job may be running again
+                Thread.interrupted();
+                logger.warn("Job {} returned {}ms after it was {}; result discarded", 
+                           jobId, runTimeMs, execution.isTimedOut() ? "timed out" : "cancelled");
+                return;
+            }
+            schedulerMetrics.recordExecution(job, success, runTimeMs);
+            retryPolicyService.recordOutcome(job, success ? null : failure.getFailureClass());
 
-                    // splunkService.logJobEvent(job, "JOB_FAILED", "Job execution failed: " + errorMessage); // Commented out
+            Job finished = transactionTemplate.execute(status -> completeExecution(jobId, token, failure, runTimeMs));
+            if (finished == null) {
+                return;
+            }
 
-                    // Send failure event to Kafka for retry processing
-                    kafkaService.sendFailureEvent(job, errorMessage);
+            if (success) {
+                // splunkService.logJobEvent(job, "JOB_COMPLETED", "Job completed successfully"); // Commented out
+                logger.info("Job completed successfully: {} (ID: {}, queued: {}ms, ran: {}ms)", 
+                           finished.getName(), jobId, queueWaitMs, runTimeMs);
+            } else {
+                // splunkService.logJobEvent(job, "JOB_FAILED", "Job execution failed: " + errorMessage); // Commented out
+                logger.error("Job failed: {} (ID: {}, class: {}, queued: {}ms, ran: {}ms)", 
+                            finished.getName(), jobId, finished.getFailureClass(), queueWaitMs, runTimeMs);
+            }
 
-                    logger.error("Job failed: {} (ID: {})", job.getName(), jobId);
-                }
+            eventPublisher.publishEvent(new JobExecutionFinishedEvent(jobId, finished.getWorkflowId(), finished.getStatus(), finished.getCompletedAt()));
 
-            } catch (Exception e) {
+        } catch (Exception e) {
+            if (execution == null || execution.complete()) {
                 logger.error("Error executing job: {}", jobId, e);
-                handleJobExecutionError(jobId, e);
+                handleJobExecutionError(jobId, runningToken, e);
+            }
+        } finally {
+            // After an abort the lease was released by the abort callback, and a rerun may hold it by now
+            if (execution == null || !execution.isAborted()) {
+                executionLeaseService.release(jobId);
             }
-        }, jobExecutor);
+            if (execution != null) {
+                inFlightExecutionService.unregister(execution);
+            }
+        }
     }
 
-    @Async("retryExecutor")
-    @Transactional
-    public CompletableFuture<Void> retryJob(Long jobId) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                Job job = jobRepository.findById(jobId).orElse(null);
-                if (job == null) {
-                    logger.error("Job not found for retry: {}", jobId);
-                    return;
+    // Book a retry attempt in one short transaction; returns the job to dispatch, or null if it should not run again.
+    // Only one caller holding the failed attempt's token books it; the other retry path's copy is a no-op.
+    public Job prepareRetry(Long jobId, Long executionToken) {
+        Job job;
+        AtomicBoolean fenced = new AtomicBoolean();
+        try {
+            job = transactionTemplate.execute(status -> {
+                Job retry = jobRepository.findById(jobId).orElse(null);
+                if (retry != null && executionToken != null && !executionToken.equals(retry.getExecutionToken())) {
+                    fenced.set(true);
+                    return null;
                 }
-
-                if (!job.canRetry()) {
-                    logger.warn("Job {} has exceeded max retries ({}), moving to dead letter queue", 
-                               jobId, job.getMaxRetries());
-                    
-                    // Send to dead letter queue
-                    kafkaService.sendToDeadLetterQueue(job, "Max retries exceeded");
-                    return;
+                if (retry == null) {
+                    return null;
+                }
+                Long token = executionToken != null ? executionToken : retry.getExecutionToken();
+                if (!retry.canRetry()) {
+                    // E.g. maxRetries was lowered after the failure; dead-letter it unless that already happened
+                    claimDeadLetter(retry, token, retry.getErrorMessage());
+                    return retry;
+                }
+                if (jobRepository.beginRetry(jobId, token, LocalDateTime.now()) == 0) {
+                    fenced.set(true);
+                    return null;
                 }
+                retry = jobRepository.findById(jobId).orElseThrow();
 
                 logger.info("Retrying job: {} (ID: {}, attempt: {})", 
-                           job.getName(), jobId, job.getCurrentRetryCount() + 1);
-
-                // Increment retry count and set status to retrying
-                job.incrementRetryCount();
-                job.setStatus(JobStatus.RETRYING);
-                job = jobRepository.save(job);
+                           retry.getName(), jobId, retry.getCurrentRetryCount());
 
                 // Log retry attempt
-                ExecutionLog retryLog = new ExecutionLog(job, LogLevel.WARN, 
-                    "Retrying job execution (attempt " + job.getCurrentRetryCount() + ")");
+                ExecutionLog retryLog = new ExecutionLog(retry, LogLevel.WARN, 
+                    "Retrying job execution (attempt " + retry.getCurrentRetryCount() + ")");
                 retryLog.setThreadNameFromCurrentThread();
                 executionLogRepository.save(retryLog);
 
                 // splunkService.logJobEvent(job, "JOB_RETRY", "Retrying job execution"); // Commented out
+                return retry;
+            });
+        } catch (Exception e) {
+            logger.error("Error retrying job: {}", jobId, e);
+            handleJobExecutionError(jobId, null, e);
+            return null;
+        }
 
-                // Execute the job again
-                executeJob(jobId).join();
+        if (fenced.get()) {
+            // The other retry path (or an earlier delivery) already booked this attempt
+            schedulerMetrics.recordFencedTransition("retry");
+            logger.info("Retry of job {} already booked for its last failure, skipping", jobId);
+            return null;
+        }
+        if (job == null) {
+            logger.error("Job not found for retry: {}", jobId);
+            return null;
+        }
+        if (job.getStatus() != JobStatus.RETRYING) {
+            return null;
+        }
+        return job;
+    }
 
-            } catch (Exception e) {
-                logger.error("Error retrying job: {}", jobId, e);
-                handleJobExecutionError(jobId, e);
+    // Send a failed attempt that may not retry to the dead letter queue, once per failure; false when fenced off
+    public boolean deadLetter(Long jobId, Long executionToken, String errorReason) {
+        Boolean sent = transactionTemplate.execute(status -> {
+            Job job = jobRepository.findById(jobId).orElse(null);
+            if (job == null) {
+                logger.error("Job not found for dead letter queue: {}", jobId);
+                return false;
             }
-        }, retryExecutor);
+            return claimDeadLetter(job, executionToken != null ? executionToken : job.getExecutionToken(), errorReason);
+        });
+        return Boolean.TRUE.equals(sent);
+    }
+
+    // The DLQ event commits with the token bump, so a redelivered failure or a stale retry cannot send it again
+    private boolean claimDeadLetter(Job job, Long executionToken, String errorReason) {
+        if (jobRepository.claimDeadLetter(job.getId(), executionToken, LocalDateTime.now()) == 0) {
+            schedulerMetrics.recordFencedTransition("dead-letter");
+            logger.info("Job {} is not a dead letter under token {} (already sent, retrying or moved on), skipping", 
+                       job.getId(), executionToken);
+            return false;
+        }
+        Job deadLetter = jobRepository.findById(job.getId()).orElseThrow();
+        String reason = deadLetter.getFailureClass() == FailureClass.PERMANENT
+            ? "Permanent failure: " + errorReason
+            : "Max retries exceeded";
+        kafkaService.sendToDeadLetterQueue(deadLetter, reason);
+        logger.warn("Job {} sent to dead letter queue ({})", deadLetter.getId(), reason);
+        return true;
     }
 
-    private boolean executeJobLogic(Job job) {
+    // Returns the job RUNNING under the next token, or null when this hand-off no longer holds the current one
+    private Job startExecution(Long jobId, Long executionToken, long queueWaitMs) {
+        boolean claimed = jobRepository.claimExecutionAttempt(jobId, executionToken) > 0;
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            logger.error("Job not found: {}", jobId);
+            return null;
+        }
+        if (!claimed) {
+            if (job.getStatus() == JobStatus.CANCELLED) {
+                logger.info("Job {} was cancelled before it started", jobId);
+            } else {
+                // Another delivery of this hand-off already started the attempt
+                schedulerMetrics.recordFencedTransition("start");
+                logger.info("Skipping stale hand-off of job {} (token {}, current {}, status {})", 
+                           jobId, executionToken, job.getExecutionToken(), job.getStatus());
+            }
+            return null;
+        }
+
+        logger.info("Starting execution of job: {} (ID: {})", job.getName(), jobId);
+
+        // Mark job as running under a lease renewed by this node's heartbeat
+        job.markAsRunning();
+        executionLeaseService.acquire(job);
+        job = jobRepository.save(job);
+
+        // Log job start
+        ExecutionLog startLog = new ExecutionLog(job, LogLevel.INFO, "Job execution started");
+        startLog.setQueueWaitMs(queueWaitMs);
+        startLog.setThreadNameFromCurrentThread();
+        executionLogRepository.save(startLog);
+        return job;
+    }
+
+    // A null failure means the job succeeded; a retryable failure gets its jittered retry delay here.
+    // Applied only while the attempt still holds its token; otherwise nothing changes and null is returned.
+    private Job completeExecution(Long jobId, Long executionToken, JobFailureException failure, long runTimeMs) {
+        boolean current = jobRepository.fenceRunningAttempt(jobId, executionToken) > 0;
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            logger.error("Job disappeared while running: {}", jobId);
+            return null;
+        }
+        if (!current) {
+            if (job.getStatus() == JobStatus.CANCELLED) {
+                // The cancel reached the database but not this node in time
+                logger.info("Job {} finished after it was cancelled; result discarded", jobId);
+            } else {
+                // e.g. its lease was reaped and the job failed or was rescheduled meanwhile
+                schedulerMetrics.recordFencedTransition("complete");
+                logger.warn("Job {} finished with stale token {} (current {}); result discarded", 
+                           jobId, executionToken, job.getExecutionToken());
+            }
+            return null;
+        }
+
+        ExecutionLog resultLog;
+        if (failure == null) {
+            // Job completed successfully
+            job.markAsCompleted();
+            if (job.getJobType() == JobType.BATCH) {
+                // Commits with COMPLETED: until then a rerun resumes the plan instead of processing every item again
+                batchJobEngine.closePlan(jobId);
+            }
+            resultLog = new ExecutionLog(job, LogLevel.INFO, "Job completed successfully");
+        } else {
+            // Job failed
+            job.markAsFailed(failure.getMessage(), failure.getFailureClass());
+            if (job.canRetry()) {
+                job.scheduleRetry(retryPolicyService.nextRetryDelayMs(job, failure.getFailureClass(), failure.getRetryAfterMs()));
+            }
+            resultLog = new ExecutionLog(job, LogLevel.ERROR, 
+                "Job execution failed (" + failure.getFailureClass() + ")", failure.getMessage());
+        }
+        job = jobRepository.save(job);
+        if (failure != null) {
+            // Send failure event to Kafka for retry processing; it commits with the FAILED status
+            kafkaService.sendFailureEvent(job, job.getErrorMessage());
+        }
+
+        resultLog.setDurationMs(runTimeMs);
+        resultLog.setThreadNameFromCurrentThread();
+        executionLogRepository.save(resultLog);
+        return job;
+    }
+
+    private long timeoutMsOf(Job job) {
+        return job.getTimeoutMs() != null ? job.getTimeoutMs() : defaultTimeoutMs;
+    }
+
+    // Runs on the timeout executor once a timeout or cancel won the race; records the outcome and frees the slot
+    private void recordAbort(RunningExecution execution, Long executionToken, Runnable releaseSlot) {
+        Long jobId = execution.getJobId();
         try {
-            // Simulate job execution time
-            Thread.sleep(1000 + (long) (Math.random() * 2000));
+            if (execution.isTimedOut()) {
+                recordTimeout(execution, executionToken);
+            } else {
+                recordCancellation(execution);
+            }
+        } catch (Exception e) {
+            logger.error("Error recording aborted execution of job: {}", jobId, e);
+        } finally {
+            executionLeaseService.release(jobId);
+            // The worker may still be unwinding; its slot goes to the next job now
+            releaseSlot.run();
+        }
+    }
 
-            // Simulate success/failure (90% success rate for demo)
-            return Math.random() > 0.1;
+    private void recordTimeout(RunningExecution execution, Long executionToken) {
+        Long jobId = execution.getJobId();
+        String errorMessage = "Job execution timed out after " + execution.getTimeoutMs() + "ms";
+        Job job = transactionTemplate.execute(status -> {
+            if (jobRepository.fenceRunningAttempt(jobId, executionToken) == 0) {
+                return null;
+            }
+            Job timedOut = jobRepository.findById(jobId).orElse(null);
+            if (timedOut == null) {
+                return null;
+            }
+            timedOut.markAsFailed(errorMessage, FailureClass.TRANSIENT);
+            if (timedOut.canRetry()) {
+                timedOut.scheduleRetry(retryPolicyService.nextRetryDelayMs(timedOut, FailureClass.TRANSIENT, null));
+            }
+            timedOut = jobRepository.save(timedOut);
+
+            ExecutionLog timeoutLog = new ExecutionLog(timedOut, LogLevel.ERROR, "Job execution timed out", errorMessage);
+            timeoutLog.setDurationMs(execution.getElapsedMs());
+            timeoutLog.setThreadNameFromCurrentThread();
+            executionLogRepository.save(timeoutLog);
+
+            // Send failure event to Kafka for retry processing
+            kafkaService.sendFailureEvent(timedOut, errorMessage);
+            return timedOut;
+        });
+        if (job == null) {
+            return;
+        }
+
+        schedulerMetrics.recordExecution(job, false, execution.getElapsedMs());
+        retryPolicyService.recordOutcome(job, FailureClass.TRANSIENT);
+        logger.error("Job timed out: {} (ID: {}, timeout: {}ms)", job.getName(), jobId, execution.getTimeoutMs());
+        eventPublisher.publishEvent(new JobExecutionFinishedEvent(jobId, job.getWorkflowId(), job.getStatus(), job.getCompletedAt()));
+    }
+
+    // The CANCELLED status was written by the cancel request; only the stopped execution is logged here
+    private void recordCancellation(RunningExecution execution) {
+        Long jobId = execution.getJobId();
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+            ExecutionLog cancelLog = new ExecutionLog(job, LogLevel.WARN, "Running execution stopped after cancellation");
+            cancelLog.setDurationMs(execution.getElapsedMs());
+            cancelLog.setThreadNameFromCurrentThread();
+            executionLogRepository.save(cancelLog);
+        }));
+        logger.info("Stopped cancelled job {} after {}ms", jobId, execution.getElapsedMs());
+    }
+
+    // Returns null on success, otherwise the classified failure recorded on the job
+    private JobFailureException runHandler(Job job, CancellationToken cancellation) {
+        try {
+            jobHandlerRegistry.resolve(job).run(job, cancellation);
+            return null;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            return false;
+            return new JobFailureException(FailureClass.TRANSIENT, "Job execution interrupted", e);
+        } catch (Exception e) {
+            JobFailureException failure = JobFailureException.from(e);
+            logger.warn("Handler for job {} (ID: {}) failed ({}): {}", 
+                       job.getName(), job.getId(), failure.getFailureClass(), failure.getMessage());
+            return failure;
         }
     }
 
-    private void handleJobExecutionError(Long jobId, Exception e) {
+    // runningToken is the attempt's token once it started; a fenced-off attempt records nothing
+    private void handleJobExecutionError(Long jobId, Long runningToken, Exception e) {
         try {
-            Job job = jobRepository.findById(jobId).orElse(null);
-            if (job != null) {
-                String errorMessage = "Unexpected error during job execution: " + e.getMessage();
-                job.markAsFailed(errorMessage);
-                jobRepository.save(job);
+            String errorMessage = "Unexpected error during job execution: " + e.getMessage();
+            Job job = transactionTemplate.execute(status -> {
+                if (runningToken != null && jobRepository.fenceRunningAttempt(jobId, runningToken) == 0) {
+                    schedulerMetrics.recordFencedTransition("error");
+                    return null;
+                }
+                Job failed = jobRepository.findById(jobId).orElse(null);
+                if (failed == null) {
+                    return null;
+                }
+                failed.markAsFailed(errorMessage);
+                if (failed.canRetry()) {
+                    failed.scheduleRetry(retryPolicyService.nextRetryDelayMs(failed, FailureClass.TRANSIENT, null));
+                }
+                failed = jobRepository.save(failed);
 
-                ExecutionLog errorLog = new ExecutionLog(job, LogLevel.ERROR, 
+                ExecutionLog errorLog = new ExecutionLog(failed, LogLevel.ERROR, 
                     "Unexpected error during job execution", e.getMessage());
                 errorLog.setThreadNameFromCurrentThread();
                 executionLogRepository.save(errorLog);
@@ -180,18 +441,14 @@ public class JobExecutorService {
                 // splunkService.logJobEvent(job, "JOB_ERROR", errorMessage); // Commented out
 
                 // Send failure event to Kafka
-                kafkaService.sendFailureEvent(job, errorMessage);
+                kafkaService.sendFailureEvent(failed, errorMessage);
+                return failed;
+            });
+            if (job != null) {
+                eventPublisher.publishEvent(new JobExecutionFinishedEvent(jobId, job.getWorkflowId(), job.getStatus(), job.getCompletedAt()));
             }
         } catch (Exception ex) {
             logger.error("Error handling job execution error for job: {}", jobId, ex);
         }
     }
-
-    public void executeJobSync(Long jobId) {
-        executeJob(jobId).join();
-    }
-
-    public void retryJobSync(Long jobId) {
-        retryJob(jobId).join();
-    }
 }
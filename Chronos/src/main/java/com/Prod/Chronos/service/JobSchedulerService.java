@@ -1,28 +1,55 @@
 package com.Prod.Chronos.service;
 
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.entity.ExecutionLog;
+import com.Prod.Chronos.entity.IntervalMode;
 import com.Prod.Chronos.entity.Job;
 import com.Prod.Chronos.entity.JobSchedule;
+import com.Prod.Chronos.entity.LeaseExpiryPolicy;
+import com.Prod.Chronos.entity.LogLevel;
+import com.Prod.Chronos.entity.MisfirePolicy;
 import com.Prod.Chronos.entity.ScheduleType;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
+import com.Prod.Chronos.repository.BatchChunkRepository;
+import com.Prod.Chronos.repository.ExecutionLogRepository;
 import com.Prod.Chronos.repository.JobRepository;
 import com.Prod.Chronos.repository.JobScheduleRepository;
+import com.Prod.Chronos.scheduler.CompiledCronExpression;
+import com.Prod.Chronos.scheduler.ShardAssignment;
+import com.Prod.Chronos.scheduler.TokenBucket;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
 
 @Service
 public class JobSchedulerService {
 
     private static final Logger logger = LoggerFactory.getLogger(JobSchedulerService.class);
 
+    // Timestamps are stored as server-local LocalDateTime values
+    private static final ZoneId SERVER_ZONE = ZoneId.systemDefault();
+
+    private final Map<String, ZoneRules> zoneRulesCache = new ConcurrentHashMap<>();
+
     @Autowired
     private JobRepository jobRepository;
 
@@ -30,7 +57,10 @@ public class JobSchedulerService {
     private JobScheduleRepository jobScheduleRepository;
 
     @Autowired
-    private JobExecutorService jobExecutorService;
+    private BatchChunkRepository batchChunkRepository;
+
+    @Autowired
+    private JobDispatchService jobDispatchService;
 
     // @Autowired
     // private SplunkService splunkService; // Commented out due to dependency issues
@@ -38,84 +68,301 @@ public class JobSchedulerService {
     @Autowired
     private EmailNotificationService emailNotificationService;
 
-    // Run every 30 seconds to check for jobs ready for execution
-    @Scheduled(fixedRate = 30000)
-    @Transactional
-    public void scheduleOneTimeJobs() {
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    @Autowired
+    private RetryPolicyService retryPolicyService;
+
+    @Autowired
+    private ClusterMembershipService clusterMembershipService;
+
+    @Value("${chronos.dispatch.batch-size:100}")
+    private int batchSize;
+
+    @Value("${chronos.dispatch.claim-expiry-ms:60000}")
+    private long claimExpiryMs;
+
+    @Value("${chronos.job.cleanup-days:30}")
+    private int cleanupDays;
+
+    @Value("${chronos.misfire.threshold-ms:60000}")
+    private long misfireThresholdMs;
+
+    // Due work of another node's shard is claimed here once it is this overdue (its owner is down or has not loaded it)
+    @Value("${chronos.shard.steal-after-ms:5000}")
+    private long stealAfterMs;
+
+    @Value("${chronos.misfire.catch-up-rate:20}")
+    private double catchUpRate;
+
+    @Value("${chronos.misfire.catch-up-burst:50}")
+    private int catchUpBurst;
+
+    // Releases overdue work gradually instead of in one burst after downtime or a backlog
+    private TokenBucket catchUpLimiter;
+
+    private volatile boolean jobsCatchUpPending;
+    private volatile boolean schedulesCatchUpPending;
+
+    @PostConstruct
+    public void init() {
+        catchUpLimiter = new TokenBucket(catchUpRate, catchUpBurst);
+    }
+
+    // Claim due one-time jobs in bounded batches and dispatch them; called by the trigger engine
+    public void dispatchDueJobs() {
         try {
-            List<Job> readyJobs = jobRepository.findJobsReadyForExecution(LocalDateTime.now());
-            
-            if (!readyJobs.isEmpty()) {
-                logger.info("Found {} jobs ready for execution", readyJobs.size());
-                
-                for (Job job : readyJobs) {
-                    if (job.getStatus() == com.Prod.Chronos.entity.JobStatus.SCHEDULED) {
-                        // Execute job asynchronously
-                        CompletableFuture<Void> future = jobExecutorService.executeJob(job.getId());
-                        
-                        // Log scheduling event
-                        // splunkService.logJobEvent(job, "JOB_SCHEDULED", // Commented out
-                        //     "Job scheduled for execution at " + LocalDateTime.now());
-                        
-                        logger.info("Scheduled job for execution: {} (ID: {})", job.getName(), job.getId());
-                    }
-                }
+            if (!claimWithinCapacity(limit -> claimAndDispatchJobs(false, limit))) {
+                return;
             }
+
+            // Jobs overdue by more than the misfire threshold go through the catch-up ramp
+            jobsCatchUpPending = drainMisfired(limit -> claimAndDispatchJobs(true, limit));
         } catch (Exception e) {
             logger.error("Error in one-time job scheduler", e);
             // splunkService.logSystemEvent("SCHEDULER_ERROR", "Error in one-time job scheduler: " + e.getMessage(), null); // Commented out
         }
     }
 
-    // Run every minute to check for recurring jobs
-    @Scheduled(fixedRate = 60000)
-    @Transactional
-    public void scheduleRecurringJobs() {
+    // Claim due recurring schedules, advance them and dispatch their jobs; returns the advanced schedules
+    public List<JobSchedule> dispatchDueSchedules() {
+        List<JobSchedule> advanced = new ArrayList<>();
         try {
-            List<JobSchedule> readySchedules = jobScheduleRepository.findSchedulesReadyForExecution(LocalDateTime.now());
-            
-            if (!readySchedules.isEmpty()) {
-                logger.info("Found {} recurring schedules ready for execution", readySchedules.size());
-                
-                for (JobSchedule schedule : readySchedules) {
-                    Job job = schedule.getJob();
-                    
-                    if (job.getStatus() == com.Prod.Chronos.entity.JobStatus.SCHEDULED && schedule.getIsActive()) {
-                        // Execute job asynchronously
-                        CompletableFuture<Void> future = jobExecutorService.executeJob(job.getId());
-                        
-                        // Update schedule for next execution
-                        updateScheduleForNextExecution(schedule);
-                        
-                        // Log scheduling event
-                        // splunkService.logJobEvent(job, "RECURRING_JOB_SCHEDULED", // Commented out 
-                        //     "Recurring job scheduled for execution");
-                        
-                        logger.info("Scheduled recurring job for execution: {} (ID: {})", job.getName(), job.getId());
-                    }
-                }
+            if (!claimWithinCapacity(limit -> claimAndAdvanceSchedules(false, limit, advanced))) {
+                return advanced;
             }
+
+            // Missed fire times are resolved by each schedule's misfire policy, at the catch-up rate
+            schedulesCatchUpPending = drainMisfired(limit -> claimAndAdvanceSchedules(true, limit, advanced));
         } catch (Exception e) {
             logger.error("Error in recurring job scheduler", e);
             // splunkService.logSystemEvent("SCHEDULER_ERROR", "Error in recurring job scheduler: " + e.getMessage(), null); // Commented out
         }
+        return advanced;
+    }
+
+    // True while misfired work is left that the catch-up ramp has not released yet
+    public boolean isCatchUpPending() {
+        return jobsCatchUpPending || schedulesCatchUpPending;
+    }
+
+    public boolean isMisfired(LocalDateTime fireTime) {
+        return fireTime != null && fireTime.isBefore(LocalDateTime.now().minus(misfireThresholdMs, ChronoUnit.MILLIS));
+    }
+
+    public long getCatchUpDelayMs() {
+        return catchUpLimiter.millisUntilAvailable();
+    }
+
+    public long getStealAfterMs() {
+        return stealAfterMs;
+    }
+
+    // Claims in batches no larger than the dispatcher can take; returns false if it stopped for lack of capacity
+    private boolean claimWithinCapacity(IntUnaryOperator claim) {
+        while (true) {
+            int limit = Math.min(batchSize, jobDispatchService.getAvailableCapacity());
+            if (limit == 0) {
+                // Leave the rest due in the database; the dispatcher wakes us once it has room
+                jobDispatchService.markCapacityBound();
+                if (jobDispatchService.getAvailableCapacity() == 0) {
+                    return false;
+                }
+                // A job finished before the mark was seen, so nobody would wake us: keep claiming
+                continue;
+            }
+            if (claim.applyAsInt(limit) < limit) {
+                return true;
+            }
+        }
+    }
+
+    // Claims misfired rows while catch-up tokens are available; returns true if more may be waiting
+    private boolean drainMisfired(IntUnaryOperator claim) {
+        while (true) {
+            int capacity = Math.min(batchSize, jobDispatchService.getAvailableCapacity());
+            if (capacity == 0) {
+                jobDispatchService.markCapacityBound();
+                if (jobDispatchService.getAvailableCapacity() == 0) {
+                    return false;
+                }
+                continue;
+            }
+            int permits = catchUpLimiter.tryAcquire(capacity);
+            if (permits == 0) {
+                return true;
+            }
+            int claimed = claim.applyAsInt(permits);
+            if (claimed < permits) {
+                catchUpLimiter.release(permits - claimed);
+                return false;
+            }
+        }
+    }
+
+    private int claimAndDispatchJobs(boolean misfired, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime misfiredBefore = now.minus(misfireThresholdMs, ChronoUnit.MILLIS);
+        LocalDateTime claimExpiry = now.minus(claimExpiryMs, ChronoUnit.MILLIS);
+        LocalDateTime stealBefore = now.minus(stealAfterMs, ChronoUnit.MILLIS);
+        ShardAssignment shard = clusterMembershipService.getShardAssignment();
+        List<String> deferredGroups = jobDispatchService.getDeferredGroups();
+        List<Job> claimed = transactionTemplate.execute(status -> {
+            List<Job> jobs = misfired
+                ? jobRepository.claimMisfiredJobs(now, misfiredBefore, claimExpiry, shard.isSharded(), shard.getBucketCount(),
+                    shard.getBuckets(), stealBefore, deferredGroups, nodeIdentity.getNodeId(), limit)
+                : jobRepository.claimJobsReadyForExecution(now, misfiredBefore, claimExpiry, shard.isSharded(), shard.getBucketCount(),
+                    shard.getBuckets(), stealBefore, deferredGroups, nodeIdentity.getNodeId(), limit);
+            if (!jobs.isEmpty()) {
+                // One-time schedules are deactivated once their job has been dispatched
+                jobScheduleRepository.deactivateOneTimeSchedules(jobs.stream().map(Job::getId).toList(), now);
+            }
+            return jobs;
+        });
+
+        if (!claimed.isEmpty()) {
+            logger.info("Claimed {} {}jobs ready for execution", claimed.size(), misfired ? "overdue " : "");
+        }
+
+        // Dispatch after commit so executors see the claimed rows
+        for (Job job : claimed) {
+            // Queue for execution by priority
+            jobDispatchService.submit(job);
+
+            // Log scheduling event
+            // splunkService.logJobEvent(job, "JOB_SCHEDULED", // Commented out
+            //     "Job scheduled for execution at " + LocalDateTime.now());
+
+            logger.info("Scheduled job for execution: {} (ID: {})", job.getName(), job.getId());
+        }
+        return claimed.size();
     }
 
-    // Run every 5 minutes to check for jobs needing retry
+    private int claimAndAdvanceSchedules(boolean misfired, int limit, List<JobSchedule> advanced) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime misfiredBefore = now.minus(misfireThresholdMs, ChronoUnit.MILLIS);
+        LocalDateTime claimExpiry = now.minus(claimExpiryMs, ChronoUnit.MILLIS);
+        LocalDateTime stealBefore = now.minus(stealAfterMs, ChronoUnit.MILLIS);
+        ShardAssignment shard = clusterMembershipService.getShardAssignment();
+        List<Job> jobsToExecute = new ArrayList<>();
+        List<JobSchedule> claimed = transactionTemplate.execute(status -> {
+            List<JobSchedule> schedules = misfired
+                ? jobScheduleRepository.claimMisfiredSchedules(now, misfiredBefore, claimExpiry, shard.isSharded(),
+                    shard.getBucketCount(), shard.getBuckets(), stealBefore, nodeIdentity.getNodeId(), limit)
+                : jobScheduleRepository.claimSchedulesReadyForExecution(now, misfiredBefore, claimExpiry, shard.isSharded(),
+                    shard.getBucketCount(), shard.getBuckets(), stealBefore, nodeIdentity.getNodeId(), limit);
+            for (JobSchedule schedule : schedules) {
+                Job job = schedule.getJob();
+                LocalDateTime scheduledFor = schedule.getNextExecution();
+                boolean fire = !misfired || shouldFireMisfire(schedule, scheduledFor, now);
+                boolean dispatched = fire && isDispatchable(job);
+                if (dispatched) {
+                    jobsToExecute.add(job);
+                } else if (fire) {
+                    logger.info("Skipping recurring execution of job {} (ID: {}) in status {}", 
+                               job.getName(), job.getId(), job.getStatus());
+                } else {
+                    logger.info("Skipping misfired execution of job {} (ID: {}) due at {} ({})", 
+                               job.getName(), job.getId(), scheduledFor, schedule.getMisfirePolicy());
+                }
+
+                // FIRE_ALL replays missed fire times one by one, every other policy continues from now
+                LocalDateTime after = misfired && schedule.getMisfirePolicy() == MisfirePolicy.FIRE_ALL ? scheduledFor : now;
+
+                // Update schedule for next execution
+                schedule.releaseClaim();
+                updateScheduleForNextExecution(schedule, dispatched, after);
+            }
+            return schedules;
+        });
+
+        if (!claimed.isEmpty()) {
+            logger.info("Claimed {} {}recurring schedules ready for execution", claimed.size(), misfired ? "misfired " : "");
+        }
+
+        for (Job job : jobsToExecute) {
+            // Queue for execution by priority
+            jobDispatchService.submit(job);
+
+            // Log scheduling event
+            // splunkService.logJobEvent(job, "RECURRING_JOB_SCHEDULED", // Commented out 
+            //     "Recurring job scheduled for execution");
+
+            logger.info("Scheduled recurring job for execution: {} (ID: {})", job.getName(), job.getId());
+        }
+        advanced.addAll(claimed);
+        return claimed.size();
+    }
+
+    private boolean shouldFireMisfire(JobSchedule schedule, LocalDateTime scheduledFor, LocalDateTime now) {
+        MisfirePolicy policy = schedule.getMisfirePolicy() != null ? schedule.getMisfirePolicy() : MisfirePolicy.FIRE_ONCE;
+        switch (policy) {
+            case SKIP_TO_NEXT:
+                return false;
+            case FIRE_IF_WITHIN_GRACE:
+                long graceMs = schedule.getMisfireGraceMs() != null ? schedule.getMisfireGraceMs() : misfireThresholdMs;
+                return Duration.between(scheduledFor, now).toMillis() <= graceMs;
+            default:
+                return true;
+        }
+    }
+
+    private boolean isDispatchable(Job job) {
+        com.Prod.Chronos.entity.JobStatus status = job.getStatus();
+        return status != com.Prod.Chronos.entity.JobStatus.RUNNING
+            && status != com.Prod.Chronos.entity.JobStatus.RETRYING
+            && status != com.Prod.Chronos.entity.JobStatus.CANCELLED;
+    }
+
+    // Run every 5 minutes to check for jobs needing retry (leader only)
     @Scheduled(fixedRate = 300000)
-    @Transactional
     public void scheduleRetryJobs() {
+        if (!leaderElectionService.holdsLeadership()) {
+            return;
+        }
         try {
-            List<Job> retryJobs = jobRepository.findJobsNeedingRetry();
+            List<Job> retryJobs = jobRepository.findJobsNeedingRetry(LocalDateTime.now());
             
             if (!retryJobs.isEmpty()) {
                 logger.info("Found {} jobs needing retry", retryJobs.size());
                 
                 for (Job job : retryJobs) {
-                    if (job.canRetry()) {
-                        // Execute retry asynchronously
-                        CompletableFuture<Void> future = jobExecutorService.retryJob(job.getId());
-                        
+                    if (jobDispatchService.getAvailableCapacity() == 0) {
+                        // The rest stay FAILED in the database and are picked up by the next run
+                        logger.info("Dispatcher at capacity, deferring remaining retries");
+                        break;
+                    }
+                    if (!job.canRetry()) {
+                        continue;
+                    }
+                    // Jobs behind an open circuit breaker stay FAILED until it lets a call through
+                    String breakerKey = retryPolicyService.breakerKeyOf(job);
+                    if (retryPolicyService.parkDelayMs(breakerKey) > 0) {
+                        continue;
+                    }
+                    boolean submitted = false;
+                    try {
+                        submitted = jobDispatchService.submitRetry(job.getId(), job.getExecutionToken());
+                    } finally {
+                        if (!submitted) {
+                            // Fenced or rejected, so a half-open breaker's probe goes to the next retry instead
+                            retryPolicyService.releaseProbe(breakerKey);
+                        }
+                    }
+                    if (submitted) {
                         // Log retry scheduling event
                         // splunkService.logRetryEvent(job, job.getCurrentRetryCount() + 1, // Commented out 
                         //     "Job scheduled for retry");
@@ -131,51 +378,105 @@ public class JobSchedulerService {
         }
     }
 
-    // Run every hour to check for stuck jobs
-    @Scheduled(fixedRate = 3600000)
-    @Transactional
-    public void checkStuckJobs() {
+    // Recover running jobs whose lease was not renewed, i.e. the executing node died or lost the database
+    @Scheduled(fixedDelayString = "${chronos.lease.reaper-interval-ms:5000}")
+    public void reapExpiredLeases() {
+        if (!leaderElectionService.holdsLeadership()) {
+            return;
+        }
         try {
-            List<Job> stuckJobs = jobRepository.findStuckRunningJobs(LocalDateTime.now().minusMinutes(30));
-            
-            if (!stuckJobs.isEmpty()) {
-                logger.warn("Found {} stuck jobs", stuckJobs.size());
-                
-                for (Job job : stuckJobs) {
-                    // Mark as failed due to timeout
-                    job.setStatus(com.Prod.Chronos.entity.JobStatus.FAILED);
-                    job.setErrorMessage("Job was marked as failed due to timeout (stuck for more than 30 minutes)");
-                    job.setCompletedAt(LocalDateTime.now());
-                    jobRepository.save(job);
-                    
-                    // Log stuck job event
-                    // splunkService.logJobEvent(job, "JOB_STUCK_TIMEOUT", // Commented out 
-                    //     "Job was marked as failed due to timeout");
-                    
-                    // Send alert email
-                    emailNotificationService.sendSystemAlert("STUCK_JOB_TIMEOUT", 
-                        "Job " + job.getName() + " was stuck and marked as failed", 
-                        job.getCreatedBy(), null);
-                    
-                    logger.warn("Marked stuck job as failed: {} (ID: {})", job.getName(), job.getId());
+            List<Job> reaped;
+            boolean requeued = false;
+            do {
+                reaped = transactionTemplate.execute(status -> {
+                    List<Job> jobs = jobRepository.lockJobsWithExpiredLease(LocalDateTime.now(), batchSize);
+                    for (Job job : jobs) {
+                        recoverExpiredLease(job);
+                    }
+                    return jobs;
+                });
+
+                for (Job job : reaped) {
+                    if (job.getStatus() == com.Prod.Chronos.entity.JobStatus.SCHEDULED) {
+                        requeued = true;
+                        logger.warn("Requeued job after its execution lease expired: {} (ID: {})", job.getName(), job.getId());
+                    } else {
+                        // Send alert email
+                        emailNotificationService.sendSystemAlert("JOB_LEASE_EXPIRED", 
+                            "Job " + job.getName() + " lost its execution lease and was marked as failed", 
+                            job.getCreatedBy(), null);
+                        eventPublisher.publishEvent(new JobExecutionFinishedEvent(job.getId(), job.getWorkflowId(), job.getStatus(), job.getCompletedAt()));
+                        logger.warn("Marked job as failed after its execution lease expired: {} (ID: {})", job.getName(), job.getId());
+                    }
                 }
+            } while (reaped.size() == batchSize);
+
+            if (requeued) {
+                dispatchDueJobs();
             }
         } catch (Exception e) {
-            logger.error("Error checking stuck jobs", e);
-            // splunkService.logSystemEvent("SCHEDULER_ERROR", "Error checking stuck jobs: " + e.getMessage(), null); // Commented out
+            logger.error("Error reaping expired execution leases", e);
+            // splunkService.logSystemEvent("SCHEDULER_ERROR", "Error reaping expired leases: " + e.getMessage(), null); // Commented out
+        }
+    }
+
+    // Delete finished jobs older than the retention period (leader only)
+    @Scheduled(cron = "${chronos.job.cleanup-cron:0 0 3 * * *}")
+    public void cleanupOldJobs() {
+        if (!leaderElectionService.holdsLeadership()) {
+            return;
+        }
+        try {
+            List<Job> oldJobs = jobRepository.findJobsForCleanup(LocalDateTime.now().minusDays(cleanupDays));
+            if (!oldJobs.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Batch checkpoints reference jobs by id only
+                    batchChunkRepository.deleteByJobIds(oldJobs.stream().map(Job::getId).toList());
+                    jobRepository.deleteAll(oldJobs);
+                });
+                logger.info("Cleaned up {} jobs older than {} days", oldJobs.size(), cleanupDays);
+            }
+        } catch (Exception e) {
+            logger.error("Error cleaning up old jobs", e);
+        }
+    }
+
+    private void recoverExpiredLease(Job job) {
+        String previousOwner = job.getClaimedBy();
+        boolean requeue = job.getOnLeaseExpiry() == LeaseExpiryPolicy.REQUEUE && job.canRetry();
+        // The lost execution may still be running somewhere; whatever it reports later is fenced off
+        job.advanceExecutionToken();
+
+        if (requeue) {
+            job.incrementRetryCount();
+            job.requeue();
+        } else {
+            job.markAsFailed("Execution lease held by node " + previousOwner + " expired");
         }
+        jobRepository.save(job);
+
+        ExecutionLog leaseLog = new ExecutionLog(job, LogLevel.WARN, 
+            "Execution lease held by node " + previousOwner + " expired, job " + (requeue ? "requeued" : "failed"));
+        leaseLog.setThreadNameFromCurrentThread();
+        executionLogRepository.save(leaseLog);
     }
 
-    private void updateScheduleForNextExecution(JobSchedule schedule) {
+    private void updateScheduleForNextExecution(JobSchedule schedule, boolean dispatched, LocalDateTime after) {
         try {
             if (schedule.getScheduleType() == ScheduleType.ONE_TIME) {
                 // One-time jobs should be deactivated after execution
                 schedule.deactivate();
-            } else if (schedule.getScheduleType() == ScheduleType.CRON) {
-                // For cron jobs, calculate next execution time
-                // This is a simplified implementation - in production, you'd use a proper cron parser
-                LocalDateTime nextExecution = calculateNextCronExecution(schedule.getCronExpression());
+            } else if (isFixedDelay(schedule) && dispatched) {
+                // Fixed-delay schedules are re-armed when the execution finishes
+                schedule.setNextExecution(null);
+            } else {
+                // For cron and interval jobs, calculate next execution time
+                LocalDateTime nextExecution = calculateNextExecution(schedule, after);
                 schedule.setNextExecution(nextExecution);
+                if (nextExecution == null) {
+                    // Expression can never fire again (e.g. an impossible date)
+                    schedule.deactivate();
+                }
             }
             
             schedule.updateLastExecution();
@@ -186,10 +487,55 @@ public class JobSchedulerService {
         }
     }
 
-    private LocalDateTime calculateNextCronExecution(String cronExpression) {
-        // Simplified cron calculation - in production, use a proper cron library like Quartz
-        // This is just a placeholder that adds 1 hour to current time
-        return LocalDateTime.now().plusHours(1);
+    // Re-arm a fixed-delay interval schedule one interval after its execution finished
+    @Transactional
+    public JobSchedule rearmFixedDelaySchedule(Long jobId, LocalDateTime finishedAt) {
+        JobSchedule schedule = jobScheduleRepository.findByJobId(jobId).orElse(null);
+        if (schedule == null || !schedule.getIsActive() || !isFixedDelay(schedule)) {
+            return null;
+        }
+        schedule.setNextExecution(finishedAt.plus(schedule.getIntervalMs(), ChronoUnit.MILLIS));
+        return jobScheduleRepository.save(schedule);
+    }
+
+    // Next fire time after the given (server-local) time, evaluated in the schedule's timezone
+    public LocalDateTime calculateNextExecution(JobSchedule schedule, LocalDateTime after) {
+        if (schedule.getScheduleType() == ScheduleType.INTERVAL) {
+            return calculateNextIntervalExecution(schedule, after);
+        }
+        if (schedule.getScheduleType() != ScheduleType.CRON) {
+            return null;
+        }
+        CompiledCronExpression cron = CompiledCronExpression.compile(schedule.getCronExpression());
+        long afterEpochSecond = after.atZone(SERVER_ZONE).toEpochSecond();
+        long next = cron.nextEpochSecond(afterEpochSecond, zoneRules(schedule.getTimezone()));
+        return next < 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochSecond(next), SERVER_ZONE);
+    }
+
+    private LocalDateTime calculateNextIntervalExecution(JobSchedule schedule, LocalDateTime after) {
+        long intervalMs = schedule.getIntervalMs();
+        if (isFixedDelay(schedule)) {
+            return after.plus(intervalMs, ChronoUnit.MILLIS);
+        }
+
+        // Fixed rate: always a whole number of intervals from the start, so lateness never accumulates
+        LocalDateTime anchor = schedule.getExecutionTime() != null ? schedule.getExecutionTime() : schedule.getCreatedAt();
+        if (after.isBefore(anchor)) {
+            return anchor;
+        }
+        long elapsedMs = Duration.between(anchor, after).toMillis();
+        long periods = elapsedMs / intervalMs + 1;
+        return anchor.plus(periods * intervalMs, ChronoUnit.MILLIS);
+    }
+
+    private boolean isFixedDelay(JobSchedule schedule) {
+        return schedule.getScheduleType() == ScheduleType.INTERVAL
+            && schedule.getIntervalMode() == IntervalMode.FIXED_DELAY;
+    }
+
+    private ZoneRules zoneRules(String timezone) {
+        String zone = timezone == null || timezone.isBlank() ? "UTC" : timezone;
+        return zoneRulesCache.computeIfAbsent(zone, id -> ZoneId.of(id).getRules());
     }
 
     public void scheduleJob(Job job) {
@@ -1,10 +1,13 @@
 package com.Prod.Chronos.service;
 
 import com.Prod.Chronos.entity.*;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
 import com.Prod.Chronos.repository.JobRepository;
 import com.Prod.Chronos.repository.JobScheduleRepository;
 import com.Prod.Chronos.repository.ExecutionLogRepository;
+import com.Prod.Chronos.scheduler.TriggerKey;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,6 +30,18 @@ public class JobService {
     @Autowired
     private ExecutionLogRepository executionLogRepository;
 
+    @Autowired
+    private TriggerEngineService triggerEngineService;
+
+    @Autowired
+    private JobSchedulerService jobSchedulerService;
+
+    @Autowired
+    private InFlightExecutionService inFlightExecutionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Job createJob(Job job) {
         job.setCreatedAt(LocalDateTime.now());
         job.setUpdatedAt(LocalDateTime.now());
@@ -44,19 +59,127 @@ public class JobService {
         jobScheduleRepository.save(schedule);
         job.setJobSchedule(schedule);
 
+        triggerEngineService.register(TriggerKey.forJob(job.getId()), scheduledAt);
+
         return job;
     }
 
     public Job createRecurringJob(String name, String description, String payload, 
                                  String cronExpression, String createdBy) {
+        return createRecurringJob(name, description, payload, cronExpression, null, createdBy);
+    }
+
+    public Job createRecurringJob(String name, String description, String payload, 
+                                 String cronExpression, String timezone, String createdBy) {
         Job job = new Job(name, description, JobType.RECURRING, payload, createdBy);
         job = createJob(job);
 
         // Create schedule for recurring job
         JobSchedule schedule = new JobSchedule(job, ScheduleType.CRON, cronExpression);
+        if (timezone != null && !timezone.isBlank()) {
+            schedule.setTimezone(timezone);
+        }
+        schedule.setNextExecution(jobSchedulerService.calculateNextExecution(schedule, LocalDateTime.now()));
         jobScheduleRepository.save(schedule);
         job.setJobSchedule(schedule);
 
+        triggerEngineService.register(TriggerKey.forSchedule(schedule.getId()), schedule.getNextExecution());
+
+        return job;
+    }
+
+    public Job createIntervalJob(String name, String description, String payload, long intervalMs, 
+                                IntervalMode intervalMode, LocalDateTime startAt, String createdBy) {
+        Job job = new Job(name, description, JobType.RECURRING, payload, createdBy);
+        job = createJob(job);
+
+        // Create interval schedule, first fire at the start time
+        LocalDateTime firstExecution = startAt != null ? startAt : LocalDateTime.now();
+        JobSchedule schedule = new JobSchedule(job, intervalMs, 
+            intervalMode != null ? intervalMode : IntervalMode.FIXED_RATE, firstExecution);
+        jobScheduleRepository.save(schedule);
+        job.setJobSchedule(schedule);
+
+        triggerEngineService.register(TriggerKey.forSchedule(schedule.getId()), schedule.getNextExecution());
+
+        return job;
+    }
+
+    // Batch jobs run once at scheduledAt (now if unset), or on a cron schedule when one is given
+    public Job createBatchJob(String name, String description, String payload, LocalDateTime scheduledAt,
+                              String cronExpression, String timezone, String createdBy) {
+        Job job = new Job(name, description, JobType.BATCH, payload, createdBy);
+        if (cronExpression == null || cronExpression.isBlank()) {
+            LocalDateTime runAt = scheduledAt != null ? scheduledAt : LocalDateTime.now();
+            job.setScheduledAt(runAt);
+            job = createJob(job);
+
+            JobSchedule schedule = new JobSchedule(job, ScheduleType.ONE_TIME, runAt);
+            jobScheduleRepository.save(schedule);
+            job.setJobSchedule(schedule);
+
+            triggerEngineService.register(TriggerKey.forJob(job.getId()), runAt);
+            return job;
+        }
+
+        job = createJob(job);
+        JobSchedule schedule = new JobSchedule(job, ScheduleType.CRON, cronExpression);
+        if (timezone != null && !timezone.isBlank()) {
+            schedule.setTimezone(timezone);
+        }
+        schedule.setNextExecution(jobSchedulerService.calculateNextExecution(schedule, LocalDateTime.now()));
+        jobScheduleRepository.save(schedule);
+        job.setJobSchedule(schedule);
+
+        triggerEngineService.register(TriggerKey.forSchedule(schedule.getId()), schedule.getNextExecution());
+        return job;
+    }
+
+    // Set how missed fire times of the job's schedule are handled
+    public void configureMisfirePolicy(Job job, MisfirePolicy misfirePolicy, Long misfireGraceMs) {
+        JobSchedule schedule = job.getJobSchedule() != null 
+            ? job.getJobSchedule() : jobScheduleRepository.findByJobId(job.getId()).orElse(null);
+        if (schedule == null) {
+            return;
+        }
+        if (misfirePolicy != null) {
+            schedule.setMisfirePolicy(misfirePolicy);
+        }
+        if (misfireGraceMs != null) {
+            schedule.setMisfireGraceMs(misfireGraceMs);
+        }
+        jobScheduleRepository.save(schedule);
+    }
+
+    // Job, schedule and per-job settings commit together; the trigger is armed after commit and sees all of them
+    public Job createJob(JobDefinition definition, String createdBy) {
+        Job job;
+        if (definition.getJobType() == JobType.ONE_TIME) {
+            job = createOneTimeJob(definition.getName(), definition.getDescription(), definition.getPayload(),
+                definition.getScheduledAt(), createdBy);
+        } else if (definition.getJobType() == JobType.RECURRING && definition.getIntervalMs() != null) {
+            job = createIntervalJob(definition.getName(), definition.getDescription(), definition.getPayload(),
+                definition.getIntervalMs(), definition.getIntervalMode(), definition.getScheduledAt(), createdBy);
+        } else if (definition.getJobType() == JobType.RECURRING) {
+            job = createRecurringJob(definition.getName(), definition.getDescription(), definition.getPayload(),
+                definition.getCronExpression(), definition.getTimezone(), createdBy);
+        } else if (definition.getJobType() == JobType.BATCH) {
+            job = createBatchJob(definition.getName(), definition.getDescription(), definition.getPayload(),
+                definition.getScheduledAt(), definition.getCronExpression(), definition.getTimezone(), createdBy);
+        } else {
+            job = createJob(new Job(definition.getName(), definition.getDescription(), definition.getJobType(),
+                definition.getPayload(), createdBy));
+        }
+
+        if (definition.getMisfirePolicy() != null || definition.getMisfireGraceMs() != null) {
+            configureMisfirePolicy(job, definition.getMisfirePolicy(), definition.getMisfireGraceMs());
+        }
+        if (definition.getJobGroup() != null || definition.getHandlerKey() != null || definition.getTimeoutMs() != null) {
+            job.setJobGroup(definition.getJobGroup());
+            job.setHandlerKey(definition.getHandlerKey());
+            job.setTimeoutMs(definition.getTimeoutMs());
+            job = updateJob(job);
+        }
         return job;
     }
 
@@ -105,7 +228,7 @@ public class JobService {
     }
 
     public List<Job> findJobsNeedingRetry() {
-        return jobRepository.findJobsNeedingRetry();
+        return jobRepository.findJobsNeedingRetry(LocalDateTime.now());
     }
 
     public Job updateJob(Job job) {
@@ -119,21 +242,33 @@ public class JobService {
 
     public Job cancelJob(Long id) {
         Optional<Job> jobOpt = jobRepository.findById(id);
-        if (jobOpt.isPresent()) {
-            Job job = jobOpt.get();
-            if (job.getStatus() == JobStatus.SCHEDULED || job.getStatus() == JobStatus.RETRYING) {
-                job.setStatus(JobStatus.CANCELLED);
-                job.setUpdatedAt(LocalDateTime.now());
-                
-                // Deactivate schedule if exists
-                if (job.getJobSchedule() != null) {
-                    job.getJobSchedule().deactivate();
-                }
-                
-                return jobRepository.save(job);
-            }
+        if (jobOpt.isEmpty()) {
+            return null;
         }
-        return jobOpt.orElse(null);
+        boolean wasRunning = jobOpt.get().getStatus() == JobStatus.RUNNING;
+        LocalDateTime now = LocalDateTime.now();
+
+        // Conditional, so a result that committed after the read is kept
+        if (jobRepository.cancelUnfinishedJob(id, now) == 0) {
+            return jobRepository.findById(id).orElse(null);
+        }
+        Job job = jobRepository.findById(id).orElseThrow();
+
+        // The job may have started since the read; a node that does not run it ignores the request
+        if (wasRunning) {
+            executionLogRepository.save(new ExecutionLog(job, LogLevel.WARN, "Job cancelled while running"));
+        }
+        inFlightExecutionService.requestCancel(job.getId());
+        
+        // Deactivate schedule if exists
+        if (job.getJobSchedule() != null) {
+            job.getJobSchedule().deactivate();
+            triggerEngineService.unregister(TriggerKey.forSchedule(job.getJobSchedule().getId()));
+        }
+        triggerEngineService.unregister(TriggerKey.forJob(job.getId()));
+
+        eventPublisher.publishEvent(new JobExecutionFinishedEvent(job.getId(), job.getWorkflowId(), JobStatus.CANCELLED, now));
+        return job;
     }
 
     public Job markJobAsRunning(Long id) {
@@ -222,4 +357,134 @@ public class JobService {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
         return jobRepository.findJobsForCleanup(cutoffDate);
     }
+
+    public static class JobDefinition {
+        private String name;
+        private String description;
+        private JobType jobType;
+        private String payload;
+        private String jobGroup;
+        private String handlerKey;
+        private LocalDateTime scheduledAt;
+        private String cronExpression;
+        private String timezone;
+        private Long intervalMs;
+        private IntervalMode intervalMode;
+        private MisfirePolicy misfirePolicy;
+        private Long misfireGraceMs;
+        private Long timeoutMs;
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public JobType getJobType() {
+            return jobType;
+        }
+
+        public void setJobType(JobType jobType) {
+            this.jobType = jobType;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public void setPayload(String payload) {
+            this.payload = payload;
+        }
+
+        public String getJobGroup() {
+            return jobGroup;
+        }
+
+        public void setJobGroup(String jobGroup) {
+            this.jobGroup = jobGroup;
+        }
+
+        public String getHandlerKey() {
+            return handlerKey;
+        }
+
+        public void setHandlerKey(String handlerKey) {
+            this.handlerKey = handlerKey;
+        }
+
+        public LocalDateTime getScheduledAt() {
+            return scheduledAt;
+        }
+
+        public void setScheduledAt(LocalDateTime scheduledAt) {
+            this.scheduledAt = scheduledAt;
+        }
+
+        public String getCronExpression() {
+            return cronExpression;
+        }
+
+        public void setCronExpression(String cronExpression) {
+            this.cronExpression = cronExpression;
+        }
+
+        public String getTimezone() {
+            return timezone;
+        }
+
+        public void setTimezone(String timezone) {
+            this.timezone = timezone;
+        }
+
+        public Long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(Long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public IntervalMode getIntervalMode() {
+            return intervalMode;
+        }
+
+        public void setIntervalMode(IntervalMode intervalMode) {
+            this.intervalMode = intervalMode;
+        }
+
+        public MisfirePolicy getMisfirePolicy() {
+            return misfirePolicy;
+        }
+
+        public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+            this.misfirePolicy = misfirePolicy;
+        }
+
+        public Long getMisfireGraceMs() {
+            return misfireGraceMs;
+        }
+
+        public void setMisfireGraceMs(Long misfireGraceMs) {
+            this.misfireGraceMs = misfireGraceMs;
+        }
+
+        public Long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(Long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
 }
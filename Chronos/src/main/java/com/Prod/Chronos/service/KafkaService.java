@@ -1,18 +1,36 @@
 package com.Prod.Chronos.service;
 
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.FailureClass;
 import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.OutboxEvent;
+import com.Prod.Chronos.repository.OutboxEventRepository;
+import com.Prod.Chronos.scheduler.RetryDelayTier;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes Chronos events. Failure, dead letter and job events sent inside a
+ * transaction are written to the outbox and committed with the state change
+ * they describe; {@link OutboxRelayService} publishes them afterwards. Retry
+ * events and their delay-tier hops always go through the outbox, so the
+ * consumer that forwards a retry only acknowledges its input once the next
+ * hop is stored. Cancel requests are sent directly: the cancel is already
+ * decided in the database, and the message only interrupts the handler early.
+ */
 @Service
 public class KafkaService {
 
@@ -24,9 +42,18 @@ public class KafkaService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    private RetryPolicyService retryPolicyService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     private static final String FAILURE_EVENTS_TOPIC = "chronos.failure.events";
-    private static final String RETRY_PIPELINE_TOPIC = "chronos.retry.pipeline";
     private static final String DEAD_LETTER_QUEUE_TOPIC = "chronos.dead.letter.queue";
+    public static final String JOB_CONTROL_TOPIC = "chronos.job.control";
 
     public void sendFailureEvent(Job job, String errorReason) {
         try {
@@ -38,10 +65,12 @@ public class KafkaService {
             failureEvent.put("maxRetries", job.getMaxRetries());
             failureEvent.put("timestamp", LocalDateTime.now());
             failureEvent.put("canRetry", job.canRetry());
+            failureEvent.put("failureClass", job.getFailureClass());
+            failureEvent.put("executionToken", job.getExecutionToken());
 
             String message = objectMapper.writeValueAsString(failureEvent);
             
-            kafkaTemplate.send(FAILURE_EVENTS_TOPIC, String.valueOf(job.getId()), message);
+            sendWithState(FAILURE_EVENTS_TOPIC, String.valueOf(job.getId()), message);
             
             logger.info("Sent failure event to Kafka for job: {} (ID: {})", job.getName(), job.getId());
         } catch (JsonProcessingException e) {
@@ -51,7 +80,9 @@ public class KafkaService {
         }
     }
 
-    public void sendRetryEvent(Job job) {
+    // executionToken is the token the failed attempt left behind; the retry is only booked while it is current.
+    // Throws if the event could not be stored, so the failure event is not acknowledged and comes back.
+    public void sendRetryEvent(Job job, Long executionToken) {
         try {
             Map<String, Object> retryEvent = new HashMap<>();
             retryEvent.put("jobId", job.getId());
@@ -59,17 +90,21 @@ public class KafkaService {
             retryEvent.put("retryCount", job.getCurrentRetryCount());
             retryEvent.put("maxRetries", job.getMaxRetries());
             retryEvent.put("timestamp", LocalDateTime.now());
-            retryEvent.put("retryDelay", calculateRetryDelay(job.getCurrentRetryCount()));
-
-            String message = objectMapper.writeValueAsString(retryEvent);
-            
-            kafkaTemplate.send(RETRY_PIPELINE_TOPIC, String.valueOf(job.getId()), message);
+            // Chosen when the failure was recorded; jobs failed elsewhere (e.g. lost leases) draw one now
+            long retryDelay = job.getRetryDelayMs() != null
+                ? job.getRetryDelayMs()
+                : retryPolicyService.nextRetryDelayMs(job, FailureClass.TRANSIENT, null);
+            retryEvent.put("retryDelay", retryDelay);
+            retryEvent.put("failureClass", job.getFailureClass());
+            retryEvent.put("breakerKey", retryPolicyService.breakerKeyOf(job));
+            retryEvent.put("executionToken", executionToken != null ? executionToken : job.getExecutionToken());
+            retryEvent.put("dueAt", System.currentTimeMillis() + retryDelay);
+
+            RetryDelayTier tier = sendDelayedRetry(retryEvent);
             
-            logger.info("Sent retry event to Kafka for job: {} (ID: {})", job.getName(), job.getId());
+            logger.info("Sent retry event to Kafka for job: {} (ID: {}) on {}", job.getName(), job.getId(), tier.getTopic());
         } catch (JsonProcessingException e) {
             logger.error("Error serializing retry event for job: {}", job.getId(), e);
-        } catch (Exception e) {
-            logger.error("Error sending retry event to Kafka for job: {}", job.getId(), e);
         }
     }
 
@@ -87,7 +122,7 @@ public class KafkaService {
 
             String message = objectMapper.writeValueAsString(deadLetterEvent);
             
-            kafkaTemplate.send(DEAD_LETTER_QUEUE_TOPIC, String.valueOf(job.getId()), message);
+            sendWithState(DEAD_LETTER_QUEUE_TOPIC, String.valueOf(job.getId()), message);
             
             logger.warn("Sent job to dead letter queue: {} (ID: {}) - Reason: {}", 
                        job.getName(), job.getId(), reason);
@@ -98,9 +133,64 @@ public class KafkaService {
         }
     }
 
-    private long calculateRetryDelay(int retryCount) {
-        // Exponential backoff: 5s, 10s, 20s, 40s, etc.
-        return Math.min(5000L * (1L << retryCount), 300000L); // Max 5 minutes
+    // Broadcast to every node; the one running the job interrupts it
+    public void sendCancelRequest(Long jobId) {
+        try {
+            Map<String, Object> controlEvent = new HashMap<>();
+            controlEvent.put("type", "CANCEL");
+            controlEvent.put("jobId", jobId);
+            controlEvent.put("timestamp", LocalDateTime.now());
+
+            String message = objectMapper.writeValueAsString(controlEvent);
+            
+            send(JOB_CONTROL_TOPIC, String.valueOf(jobId), message);
+            
+            logger.info("Sent cancel request to Kafka for job: {}", jobId);
+        } catch (JsonProcessingException e) {
+            logger.error("Error serializing cancel request for job: {}", jobId, e);
+        } catch (Exception e) {
+            logger.error("Error sending cancel request to Kafka for job: {}", jobId, e);
+        }
+    }
+
+    // Park a retry on the delay tier for its remaining wait; the tier consumer forwards it until it is due.
+    // Stored in the outbox (in the caller's transaction, or its own) before this returns.
+    public RetryDelayTier sendDelayedRetry(Map<String, Object> retryEvent) throws JsonProcessingException {
+        long now = System.currentTimeMillis();
+        long dueAt = Long.parseLong(retryEvent.get("dueAt").toString());
+        RetryDelayTier tier = RetryDelayTier.forDelay(dueAt - now);
+        retryEvent.put("holdUntil", tier.holdUntil(now, dueAt));
+
+        outboxEventRepository.save(new OutboxEvent(tier.getTopic(), String.valueOf(retryEvent.get("jobId")), 
+            objectMapper.writeValueAsString(retryEvent)));
+        return tier;
+    }
+
+    // Send and record the latency until the broker acknowledged (or the send failed); the future completes on the producer thread
+    public CompletableFuture<SendResult<String, String>> publish(String topic, String key, String message) {
+        long startNanos = System.nanoTime();
+        return kafkaTemplate.send(topic, key, message).whenComplete((result, throwable) -> {
+            schedulerMetrics.recordKafkaSend(topic, throwable == null, System.nanoTime() - startNanos);
+            if (throwable != null) {
+                Throwable cause = throwable instanceof KafkaException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+                schedulerMetrics.recordKafkaSendFailure(topic, cause);
+                logger.error("Kafka send to {} failed for key {}: {}", topic, key, cause.toString());
+            }
+        });
+    }
+
+    private void send(String topic, String key, String message) {
+        publish(topic, key, message);
+    }
+
+    // Inside a transaction the event commits (or rolls back) with the state change; the relay publishes it
+    private void sendWithState(String topic, String key, String message) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            outboxEventRepository.save(new OutboxEvent(topic, key, message));
+            return;
+        }
+        send(topic, key, message);
     }
 
     public void sendJobEvent(Job job, String eventType, String message) {
@@ -116,7 +206,7 @@ public class KafkaService {
 
             String eventMessage = objectMapper.writeValueAsString(jobEvent);
             
-            kafkaTemplate.send("chronos.job.events", String.valueOf(job.getId()), eventMessage);
+            sendWithState("chronos.job.events", String.valueOf(job.getId()), eventMessage);
             
             logger.debug("Sent job event to Kafka: {} for job: {} (ID: {})", 
                         eventType, job.getName(), job.getId());
@@ -0,0 +1,133 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.entity.LeaderTerm;
+import com.Prod.Chronos.repository.LeaderTermRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Elects one node to run cluster-wide maintenance using a session-level
+ * Postgres advisory lock. The lock lives on a dedicated connection outside the
+ * pool, so it is released as soon as the leader's session ends. Every won
+ * election bumps the epoch in leader_terms; a node only acts as leader while
+ * that epoch is still its own, which fences off a paused former leader.
+ */
+@Service
+public class LeaderElectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderElectionService.class);
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private LeaderTermRepository leaderTermRepository;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${chronos.leader.lock-key:7236464728462915}")
+    private long lockKey;
+
+    private Connection lockConnection;
+    private volatile boolean leader;
+    private volatile long epoch;
+
+    // Standbys retry the lock on every check, which bounds failover to one interval after the session drops
+    @Scheduled(fixedDelayString = "${chronos.leader.check-interval-ms:2000}")
+    public synchronized void checkLeadership() {
+        try {
+            if (leader) {
+                if (!lockConnection.isValid(1) || !Objects.equals(leaderTermRepository.findCurrentEpoch(), epoch)) {
+                    logger.warn("Node {} lost leadership (term {})", nodeIdentity.getNodeId(), epoch);
+                    stepDown();
+                }
+                return;
+            }
+
+            if (tryLock()) {
+                epoch = transactionTemplate.execute(status ->
+                    leaderTermRepository.startNewTerm(nodeIdentity.getNodeId(), LocalDateTime.now()));
+                leader = true;
+                logger.info("Node {} elected leader (term {})", nodeIdentity.getNodeId(), epoch);
+            }
+        } catch (Exception e) {
+            logger.error("Error checking leadership", e);
+            stepDown();
+        }
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    // Leadership check for singleton tasks: the local flag plus the fencing epoch in the database
+    public boolean holdsLeadership() {
+        if (!leader) {
+            return false;
+        }
+        try {
+            return Objects.equals(leaderTermRepository.findCurrentEpoch(), epoch);
+        } catch (Exception e) {
+            logger.error("Error verifying leadership term", e);
+            return false;
+        }
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public String getCurrentLeader() {
+        return leaderTermRepository.findById(LeaderTerm.SINGLETON_ID)
+            .map(LeaderTerm::getLeaderNode)
+            .orElse(null);
+    }
+
+    @PreDestroy
+    public synchronized void stepDown() {
+        leader = false;
+        if (lockConnection != null) {
+            try {
+                // Closing the session releases the advisory lock
+                lockConnection.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing leader lock connection", e);
+            }
+            lockConnection = null;
+        }
+    }
+
+    private boolean tryLock() throws SQLException {
+        if (lockConnection == null || !lockConnection.isValid(1)) {
+            stepDown();
+            lockConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        }
+        try (PreparedStatement statement = lockConnection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, lockKey);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.OutboxEvent;
+import com.Prod.Chronos.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events committed to the outbox. Each batch is locked and sent in
+ * id order, then the acknowledgements are awaited in the same order. The rows
+ * up to the first failed or timed-out send are deleted in the same
+ * transaction; that event and everything after it stay and are sent again,
+ * so an event is never deleted ahead of an earlier one for the same key.
+ * Delivery is therefore at least once: consumers drop duplicates through the
+ * execution token carried in the event.
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private KafkaService kafkaService;
+
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${chronos.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chronos.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    // Drain the outbox (leader only); keeps going while batches come back full
+    @Scheduled(fixedDelayString = "${chronos.outbox.relay-interval-ms:100}")
+    public void relay() {
+        if (!leaderElectionService.holdsLeadership()) {
+            return;
+        }
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            logger.error("Error relaying outbox events, the batch will be sent again", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockOldest(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Sends with the same key (job id) keep their order on the partition
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            sends[i] = kafkaService.publish(event.getTopic(), event.getMessageKey(), event.getPayload());
+        }
+
+        // Only the prefix the broker acknowledged is deleted; the first failure and what follows is sent again
+        int acknowledged = 0;
+        Exception failure = null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (; acknowledged < sends.length; acknowledged++) {
+            try {
+                sends[acknowledged].get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+                break;
+            } catch (Exception e) {
+                failure = e;
+                break;
+            }
+        }
+
+        List<OutboxEvent> relayed = events.subList(0, acknowledged);
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : relayed) {
+            schedulerMetrics.recordOutboxRelay(event.getTopic(), Duration.between(event.getCreatedAt(), now));
+        }
+        if (!relayed.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(relayed);
+        }
+        if (failure != null) {
+            logger.warn("Relayed {} of {} outbox events; event {} and later ones will be sent again: {}",
+                       acknowledged, events.size(), events.get(acknowledged).getId(), failure.toString());
+        } else {
+            logger.debug("Relayed {} outbox events", acknowledged);
+        }
+        return acknowledged;
+    }
+}
@@ -0,0 +1,154 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.entity.FailureClass;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.scheduler.CircuitBreaker;
+import com.Prod.Chronos.scheduler.DecorrelatedJitter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides how failed jobs are retried. Delays use decorrelated jitter, with
+ * a longer base for THROTTLED failures, so jobs that failed together do not
+ * come back together. Every job group has a circuit breaker fed by the
+ * outcomes of its executions on this node; jobs without a group share one
+ * per handler. While a breaker is open, retries of its jobs are parked
+ * instead of executed and keep their remaining attempts.
+ */
+@Service
+public class RetryPolicyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicyService.class);
+
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chronos.job.retry-delay:5000}")
+    private long baseDelayMs;
+
+    @Value("${chronos.retry.throttled-delay-ms:30000}")
+    private long throttledDelayMs;
+
+    @Value("${chronos.retry.max-delay-ms:300000}")
+    private long maxDelayMs;
+
+    @Value("${chronos.breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${chronos.breaker.open-ms:30000}")
+    private long openMs;
+
+    private DecorrelatedJitter transientBackoff;
+    private DecorrelatedJitter throttledBackoff;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final AtomicLong parkedRetries = new AtomicLong();
+    private final AtomicLong breakerTrips = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        transientBackoff = new DecorrelatedJitter(baseDelayMs, maxDelayMs);
+        throttledBackoff = new DecorrelatedJitter(Math.min(throttledDelayMs, maxDelayMs), maxDelayMs);
+
+        Gauge.builder("chronos.breaker.open", breakers, map -> map.values().stream()
+                .filter(breaker -> breaker.getState() != CircuitBreaker.State.CLOSED).count())
+            .description("Job group circuit breakers that are open or half-open").register(meterRegistry);
+        FunctionCounter.builder("chronos.breaker.trips", breakerTrips, AtomicLong::get)
+            .description("Times a job group circuit breaker opened").register(meterRegistry);
+        FunctionCounter.builder("chronos.retry.parked", parkedRetries, AtomicLong::get)
+            .description("Due retries parked because their circuit breaker was open").register(meterRegistry);
+    }
+
+    // Delay before the next attempt; previous delays come from the job, a throttling hint is a lower bound
+    public long nextRetryDelayMs(Job job, FailureClass failureClass, Long retryAfterMs) {
+        if (failureClass == FailureClass.THROTTLED) {
+            long delay = throttledBackoff.next(job.getRetryDelayMs());
+            return retryAfterMs != null ? Math.min(maxDelayMs, Math.max(delay, retryAfterMs)) : delay;
+        }
+        return transientBackoff.next(job.getRetryDelayMs());
+    }
+
+    public String breakerKeyOf(Job job) {
+        if (job.getJobGroup() != null && !job.getJobGroup().isBlank()) {
+            return "group:" + job.getJobGroup();
+        }
+        return "handler:" + (job.getHandlerKey() != null ? job.getHandlerKey() : jobHandlerRegistry.getDefaultKey());
+    }
+
+    // A null failure class records a success; permanent failures say nothing about the dependency
+    public void recordOutcome(Job job, FailureClass failureClass) {
+        String key = breakerKeyOf(job);
+        if (failureClass == null) {
+            CircuitBreaker breaker = breakers.get(key);
+            if (breaker != null) {
+                breaker.recordSuccess();
+            }
+            return;
+        }
+        if (failureClass == FailureClass.PERMANENT) {
+            return;
+        }
+        CircuitBreaker breaker = breakers.computeIfAbsent(key, k -> new CircuitBreaker(failureThreshold, openMs));
+        if (breaker.recordFailure(System.currentTimeMillis())) {
+            breakerTrips.incrementAndGet();
+            logger.warn("Circuit breaker {} opened after {} consecutive failures, parking its retries for {}ms",
+                       key, breaker.getConsecutiveFailures(), openMs);
+        }
+    }
+
+    // 0 when a retry under this breaker may run now, otherwise how long to park it
+    public long parkDelayMs(String breakerKey) {
+        CircuitBreaker breaker = breakerKey != null ? breakers.get(breakerKey) : null;
+        if (breaker == null) {
+            return 0;
+        }
+        long wait = breaker.tryAcquire(System.currentTimeMillis());
+        if (wait > 0) {
+            parkedRetries.incrementAndGet();
+        }
+        return wait;
+    }
+
+    // Returns the half-open probe taken by parkDelayMs when the retry was not submitted after all
+    public void releaseProbe(String breakerKey) {
+        CircuitBreaker breaker = breakerKey != null ? breakers.get(breakerKey) : null;
+        if (breaker != null) {
+            breaker.releaseProbe();
+        }
+    }
+
+    public Map<String, Object> getBreakerStates() {
+        Map<String, Object> states = new TreeMap<>();
+        breakers.forEach((key, breaker) -> {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("state", breaker.getState());
+            state.put("consecutiveFailures", breaker.getConsecutiveFailures());
+            states.put(key, state);
+        });
+        return states;
+    }
+
+    public long getParkedRetries() {
+        return parkedRetries.get();
+    }
+
+    public long getBreakerTrips() {
+        return breakerTrips.get();
+    }
+}
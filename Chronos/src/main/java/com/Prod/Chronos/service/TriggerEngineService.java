@@ -0,0 +1,267 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.JobSchedule;
+import com.Prod.Chronos.event.DispatchCapacityAvailableEvent;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
+import com.Prod.Chronos.event.ShardAssignmentChangedEvent;
+import com.Prod.Chronos.repository.JobRepository;
+import com.Prod.Chronos.repository.JobScheduleRepository;
+import com.Prod.Chronos.scheduler.HierarchicalTimingWheel;
+import com.Prod.Chronos.scheduler.ShardAssignment;
+import com.Prod.Chronos.scheduler.TriggerKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class TriggerEngineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TriggerEngineService.class);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobScheduleRepository jobScheduleRepository;
+
+    @Autowired
+    private JobSchedulerService jobSchedulerService;
+
+    @Autowired
+    private ClusterMembershipService clusterMembershipService;
+
+    @Autowired
+    private SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    @Qualifier("triggerExecutor")
+    private Executor triggerExecutor;
+
+    @Value("${chronos.trigger.tick-ms:10}")
+    private long tickMs;
+
+    @Value("${chronos.trigger.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${chronos.trigger.levels:4}")
+    private int levels;
+
+    @Value("${chronos.trigger.window-seconds:300}")
+    private long windowSeconds;
+
+    private HierarchicalTimingWheel<TriggerKey> wheel;
+    private final Map<TriggerKey, HierarchicalTimingWheel.Entry<TriggerKey>> registered = new ConcurrentHashMap<>();
+
+    // Upper bound of the window currently held in memory; later fire times are left to the next refill
+    private volatile LocalDateTime loadedUntil = LocalDateTime.MIN;
+    private volatile boolean running;
+    private Thread wheelThread;
+
+    @PostConstruct
+    public void start() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, levels, System.currentTimeMillis());
+        running = true;
+        wheelThread = new Thread(this::runWheel, "chronos-trigger-wheel");
+        wheelThread.setDaemon(true);
+        wheelThread.start();
+        logger.info("Trigger engine started (tick: {}ms, window: {}s)", tickMs, windowSeconds);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (wheelThread != null) {
+            wheelThread.interrupt();
+        }
+    }
+
+    // Reload the near-future window of this node's shard from the database
+    @Scheduled(fixedDelayString = "${chronos.trigger.refill-interval-ms:60000}")
+    public synchronized void refill() {
+        try {
+            LocalDateTime horizon = LocalDateTime.now().plusSeconds(windowSeconds);
+            // Widen the window first so triggers registered while we query are not dropped
+            loadedUntil = horizon;
+
+            ShardAssignment shard = clusterMembershipService.getShardAssignment();
+            int loaded = 0;
+            for (Object[] row : jobRepository.findTriggerTimesUpTo(
+                    horizon, shard.isSharded(), shard.getBucketCount(), shard.getBuckets())) {
+                schedule(TriggerKey.forJob((Long) row[0]), (LocalDateTime) row[1]);
+                loaded++;
+            }
+            for (Object[] row : jobScheduleRepository.findTriggerTimesUpTo(
+                    horizon, shard.isSharded(), shard.getBucketCount(), shard.getBuckets())) {
+                schedule(TriggerKey.forSchedule((Long) row[0]), (LocalDateTime) row[1]);
+                loaded++;
+            }
+
+            logger.debug("Trigger engine refilled {} triggers up to {} ({} pending)", loaded, horizon, wheel.size());
+        } catch (Exception e) {
+            logger.error("Error refilling trigger engine", e);
+        }
+    }
+
+    // Register a fire time; applied after commit when called inside a transaction
+    public void register(TriggerKey key, LocalDateTime fireAt) {
+        if (fireAt == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(key, fireAt);
+                }
+            });
+        } else {
+            schedule(key, fireAt);
+        }
+    }
+
+    public void unregister(TriggerKey key) {
+        HierarchicalTimingWheel.Entry<TriggerKey> entry = registered.remove(key);
+        if (entry != null) {
+            entry.cancel();
+        }
+    }
+
+    // Fixed-delay interval schedules are re-armed as soon as their execution finishes
+    @EventListener
+    public void onJobExecutionFinished(JobExecutionFinishedEvent event) {
+        try {
+            JobSchedule schedule = jobSchedulerService.rearmFixedDelaySchedule(event.getJobId(), event.getFinishedAt());
+            if (schedule != null) {
+                register(TriggerKey.forSchedule(schedule.getId()), schedule.getNextExecution());
+            }
+        } catch (Exception e) {
+            logger.error("Error re-arming schedule for job: {}", event.getJobId(), e);
+        }
+    }
+
+    // Drop triggers of buckets that moved away and load the ones this node took over
+    @EventListener
+    public synchronized void onShardAssignmentChanged(ShardAssignmentChangedEvent event) {
+        registered.values().forEach(HierarchicalTimingWheel.Entry::cancel);
+        registered.clear();
+        refill();
+    }
+
+    // Claims stopped at the dispatcher's capacity; sweep the due work left in the database now that it has room
+    @EventListener
+    public void onDispatchCapacityAvailable(DispatchCapacityAvailableEvent event) {
+        register(TriggerKey.sweep(), LocalDateTime.now());
+    }
+
+    public int getPendingTriggerCount() {
+        return registered.size();
+    }
+
+    private void schedule(TriggerKey key, LocalDateTime fireAt) {
+        if (fireAt.isAfter(loadedUntil)) {
+            return;
+        }
+
+        long deadlineMs = toEpochMillis(fireAt);
+        HierarchicalTimingWheel.Entry<TriggerKey> existing = registered.get(key);
+        if (existing != null && existing.getDeadlineMs() == deadlineMs) {
+            return;
+        }
+
+        HierarchicalTimingWheel.Entry<TriggerKey> entry = wheel.schedule(key, deadlineMs);
+        HierarchicalTimingWheel.Entry<TriggerKey> previous = registered.put(key, entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void runWheel() {
+        List<TriggerKey> expired = new ArrayList<>();
+        while (running) {
+            try {
+                wheel.advance(System.currentTimeMillis(), entry -> {
+                    registered.remove(entry.getTask(), entry);
+                    expired.add(entry.getTask());
+                });
+
+                if (!expired.isEmpty()) {
+                    List<TriggerKey> batch = new ArrayList<>(expired);
+                    expired.clear();
+                    triggerExecutor.execute(() -> fire(batch));
+                }
+
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(tickMs));
+            } catch (Exception e) {
+                expired.clear();
+                logger.error("Error advancing trigger wheel", e);
+            }
+        }
+    }
+
+    // Wheel entries are wake-ups: due rows are claimed from the database in bounded batches
+    private void fire(List<TriggerKey> batch) {
+        long startNanos = System.nanoTime();
+        boolean jobsDue = false;
+        boolean schedulesDue = false;
+        boolean triggered = false;
+        for (TriggerKey key : batch) {
+            if (key.getKind() != TriggerKey.Kind.SWEEP) {
+                triggered = true;
+            }
+            if (key.getKind() != TriggerKey.Kind.SCHEDULE) {
+                jobsDue = true;
+            }
+            if (key.getKind() != TriggerKey.Kind.JOB) {
+                schedulesDue = true;
+            }
+        }
+
+        if (jobsDue) {
+            jobSchedulerService.dispatchDueJobs();
+        }
+        if (schedulesDue) {
+            for (JobSchedule schedule : jobSchedulerService.dispatchDueSchedules()) {
+                // Schedules still behind after advancing are left to the sweep wake-up
+                if (schedule.getIsActive() && !jobSchedulerService.isMisfired(schedule.getNextExecution())) {
+                    register(TriggerKey.forSchedule(schedule.getId()), schedule.getNextExecution());
+                }
+            }
+        }
+
+        // Come back for misfired work once the ramp has tokens again
+        if (jobSchedulerService.isCatchUpPending()) {
+            long delayMs = Math.max(jobSchedulerService.getCatchUpDelayMs(), tickMs);
+            register(TriggerKey.sweep(), LocalDateTime.now().plus(delayMs, ChronoUnit.MILLIS));
+        } else if (triggered && clusterMembershipService.getShardAssignment().isSharded()) {
+            // A trigger registered here may belong to another node's shard, which only loads it on its next refill;
+            // look again once such rows may be stolen
+            register(TriggerKey.sweep(), LocalDateTime.now().plus(jobSchedulerService.getStealAfterMs(), ChronoUnit.MILLIS));
+        }
+        schedulerMetrics.recordSchedulerTick(System.nanoTime() - startNanos);
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,524 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobStatus;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.entity.Workflow;
+import com.Prod.Chronos.entity.WorkflowDependency;
+import com.Prod.Chronos.entity.WorkflowStatus;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.repository.JobRepository;
+import com.Prod.Chronos.repository.WorkflowDependencyRepository;
+import com.Prod.Chronos.repository.WorkflowRepository;
+import com.Prod.Chronos.scheduler.TriggerKey;
+import com.Prod.Chronos.scheduler.WorkflowGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs workflows: DAGs of jobs where a step starts once all the steps it
+ * depends on completed. Root steps are scheduled like one-time jobs; the rest
+ * are created WAITING. Each node keeps, per workflow it has seen, the number
+ * of unfinished parents of every waiting step. A completion event decrements
+ * its successors' counters and a step whose counter reaches zero is released
+ * right away (WAITING -> SCHEDULED, then onto the timing wheel), so fan-out
+ * branches run concurrently and fan-in steps start without polling.
+ *
+ * <p>Counters are a cache of the database: they are rebuilt from job statuses
+ * when a workflow is first seen, and the release is a conditional update, so
+ * two nodes releasing the same step start it once. Events are local to the
+ * node that ran the parent, so in a cluster a step whose other parents ran
+ * elsewhere is rechecked against the database, and the leader periodically
+ * releases anything still left waiting.
+ */
+@Service
+public class WorkflowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowService.class);
+
+    @Autowired
+    private WorkflowRepository workflowRepository;
+
+    @Autowired
+    private WorkflowDependencyRepository workflowDependencyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TriggerEngineService triggerEngineService;
+
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    @Autowired
+    private ClusterMembershipService clusterMembershipService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobHandlerRegistry jobHandlerRegistry;
+
+    private final Map<Long, WorkflowState> states = new ConcurrentHashMap<>();
+
+    public Workflow createWorkflow(String name, String description, LocalDateTime startAt,
+                                   List<StepDefinition> steps, String createdBy) {
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("Workflow needs at least one step");
+        }
+        Map<String, StepDefinition> byKey = new LinkedHashMap<>();
+        Map<String, List<String>> dependencies = new HashMap<>();
+        for (StepDefinition step : steps) {
+            if (step.getKey() == null || step.getKey().isBlank()) {
+                throw new IllegalArgumentException("Every workflow step needs a key");
+            }
+            if (step.getJobType() == JobType.RECURRING) {
+                throw new IllegalArgumentException("Workflow steps run once; step " + step.getKey() + " cannot be RECURRING");
+            }
+            if (step.getTimeoutMs() != null && step.getTimeoutMs() <= 0) {
+                throw new IllegalArgumentException("Timeout of step " + step.getKey() + " must be positive");
+            }
+            if (!jobHandlerRegistry.hasHandler(step.getHandlerKey())) {
+                throw new IllegalArgumentException("Unknown job handler for step " + step.getKey() + ": " + step.getHandlerKey());
+            }
+            if (byKey.put(step.getKey(), step) != null) {
+                throw new IllegalArgumentException("Duplicate workflow step: " + step.getKey());
+            }
+            if (step.getDependsOn() != null && !step.getDependsOn().isEmpty()) {
+                dependencies.put(step.getKey(), step.getDependsOn());
+            }
+        }
+        // Rejects unknown dependencies and cycles before anything is stored
+        WorkflowGraph<String> graph = new WorkflowGraph<>(byKey.keySet(), dependencies);
+        LocalDateTime runAt = startAt != null ? startAt : LocalDateTime.now();
+
+        Map<String, Job> jobs = new HashMap<>();
+        Workflow created = transactionTemplate.execute(status -> {
+            Workflow workflow = workflowRepository.save(new Workflow(name, description, createdBy));
+            for (String key : graph.topologicalOrder()) {
+                StepDefinition step = byKey.get(key);
+                Job job = new Job(step.getName() != null ? step.getName() : name + ":" + key,
+                    step.getDescription(), step.getJobType() != null ? step.getJobType() : JobType.ONE_TIME,
+                    step.getPayload(), createdBy);
+                job.setWorkflowId(workflow.getId());
+                if (step.getPriority() != null) {
+                    job.setPriority(step.getPriority());
+                }
+                job.setJobGroup(step.getJobGroup());
+                job.setHandlerKey(step.getHandlerKey());
+                job.setTimeoutMs(step.getTimeoutMs());
+                if (graph.parentsOf(key).isEmpty()) {
+                    job.setScheduledAt(runAt);
+                } else {
+                    job.setStatus(JobStatus.WAITING);
+                }
+                jobs.put(key, jobRepository.save(job));
+            }
+
+            List<WorkflowDependency> edges = new ArrayList<>();
+            for (String key : graph.topologicalOrder()) {
+                for (String parent : graph.parentsOf(key)) {
+                    edges.add(new WorkflowDependency(workflow.getId(), jobs.get(key).getId(), jobs.get(parent).getId()));
+                }
+            }
+            workflowDependencyRepository.saveAll(edges);
+
+            for (String root : graph.roots()) {
+                triggerEngineService.register(TriggerKey.forJob(jobs.get(root).getId()), runAt);
+            }
+            return workflow;
+        });
+
+        logger.info("Created workflow {} (ID: {}) with {} steps, {} root(s)",
+                   name, created.getId(), byKey.size(), graph.roots().size());
+        return created;
+    }
+
+    public Optional<Workflow> findById(Long id) {
+        return workflowRepository.findById(id);
+    }
+
+    public List<Workflow> findAll() {
+        return workflowRepository.findAll();
+    }
+
+    public List<Workflow> findByStatus(WorkflowStatus status) {
+        return workflowRepository.findByStatus(status);
+    }
+
+    // Release successors of completed steps; cancel what can no longer run once a step failed for good or was cancelled
+    @EventListener
+    public void onJobExecutionFinished(JobExecutionFinishedEvent event) {
+        if (event.getWorkflowId() == null) {
+            return;
+        }
+        try {
+            if (event.getStatus() == JobStatus.COMPLETED) {
+                onStepCompleted(event.getWorkflowId(), event.getJobId());
+            } else if (event.getStatus() == JobStatus.FAILED) {
+                onStepFailed(event.getWorkflowId(), event.getJobId());
+            } else if (event.getStatus() == JobStatus.CANCELLED) {
+                stopAfter(event.getWorkflowId(), event.getJobId(), WorkflowStatus.CANCELLED);
+            }
+        } catch (Exception e) {
+            logger.error("Error resolving dependencies of workflow {} after job {}",
+                        event.getWorkflowId(), event.getJobId(), e);
+        }
+    }
+
+    // Safety net for completion events lost with the node that ran the parent (leader only)
+    @Scheduled(fixedDelayString = "${chronos.workflow.reconcile-interval-ms:60000}")
+    public void reconcileWorkflows() {
+        if (!leaderElectionService.holdsLeadership()) {
+            return;
+        }
+        try {
+            for (Long jobId : jobRepository.findReleasableWaitingJobIds()) {
+                release(jobId);
+            }
+            for (Long workflowId : workflowRepository.findCompletableWorkflowIds()) {
+                finish(workflowId, WorkflowStatus.COMPLETED);
+            }
+            // Finished workflows no longer need counters
+            states.keySet().removeIf(workflowId -> workflowRepository.findById(workflowId)
+                .map(workflow -> workflow.getStatus() != WorkflowStatus.RUNNING)
+                .orElse(true));
+        } catch (Exception e) {
+            logger.error("Error reconciling workflows", e);
+        }
+    }
+
+    // Steps with their statuses, timings and dependencies, plus the workflow's makespan and critical path
+    public Map<String, Object> getWorkflowView(Long workflowId) {
+        Workflow workflow = workflowRepository.findById(workflowId).orElse(null);
+        if (workflow == null) {
+            return null;
+        }
+        List<Job> jobs = jobRepository.findByWorkflowId(workflowId);
+        WorkflowGraph<Long> graph = graphOf(jobs, workflowDependencyRepository.findByWorkflowId(workflowId));
+        Map<Long, Job> byId = jobs.stream().collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        Map<JobStatus, Integer> byStatus = new HashMap<>();
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (Long jobId : graph.topologicalOrder()) {
+            Job job = byId.get(jobId);
+            byStatus.merge(job.getStatus(), 1, Integer::sum);
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("jobId", jobId);
+            step.put("name", job.getName());
+            step.put("status", job.getStatus());
+            step.put("dependsOn", graph.parentsOf(jobId));
+            step.put("startedAt", job.getStartedAt());
+            step.put("completedAt", job.getCompletedAt());
+            step.put("durationMs", durationMs(job));
+            step.put("dependencyWaitMs", dependencyWaitMs(job, graph, byId));
+            steps.add(step);
+        }
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", workflow.getId());
+        view.put("name", workflow.getName());
+        view.put("description", workflow.getDescription());
+        view.put("status", workflow.getStatus());
+        view.put("createdBy", workflow.getCreatedBy());
+        view.put("createdAt", workflow.getCreatedAt());
+        view.put("completedAt", workflow.getCompletedAt());
+        view.put("stepCounts", byStatus);
+        view.put("steps", steps);
+        view.putAll(criticalPath(graph, byId));
+        return view;
+    }
+
+    public Map<String, Object> getCriticalPath(Long workflowId) {
+        if (workflowRepository.findById(workflowId).isEmpty()) {
+            return null;
+        }
+        List<Job> jobs = jobRepository.findByWorkflowId(workflowId);
+        WorkflowGraph<Long> graph = graphOf(jobs, workflowDependencyRepository.findByWorkflowId(workflowId));
+        Map<Long, Job> byId = jobs.stream().collect(Collectors.toMap(Job::getId, Function.identity()));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workflowId", workflowId);
+        result.putAll(criticalPath(graph, byId));
+        return result;
+    }
+
+    public int getTrackedWorkflowCount() {
+        return states.size();
+    }
+
+    private void onStepCompleted(Long workflowId, Long jobId) {
+        WorkflowState state = stateOf(workflowId);
+        List<Long> ready = new ArrayList<>();
+        List<Long> pending = new ArrayList<>();
+        for (Long successor : state.graph.successorsOf(jobId)) {
+            Integer remaining = state.remaining.computeIfPresent(successor, (id, count) -> count - 1);
+            if (remaining == null) {
+                // Already released, e.g. counters were rebuilt after this parent completed
+                continue;
+            }
+            if (remaining <= 0) {
+                state.remaining.remove(successor);
+                ready.add(successor);
+            } else {
+                pending.add(successor);
+            }
+        }
+
+        // Other parents may have completed on other nodes, whose events this node never sees
+        if (!pending.isEmpty() && clusterMembershipService.getMembers().size() > 1) {
+            for (Long successor : pending) {
+                if (jobRepository.countIncompleteDependencies(successor) == 0 && state.remaining.remove(successor) != null) {
+                    ready.add(successor);
+                }
+            }
+        }
+
+        for (Long successor : ready) {
+            release(successor);
+        }
+        if (state.graph.successorsOf(jobId).isEmpty()
+                && jobRepository.countByWorkflowIdAndStatusNot(workflowId, JobStatus.COMPLETED) == 0) {
+            finish(workflowId, WorkflowStatus.COMPLETED);
+        }
+    }
+
+    private void onStepFailed(Long workflowId, Long jobId) {
+        // A failed step that will be retried keeps its successors waiting
+        if (jobRepository.findById(jobId).map(Job::canRetry).orElse(false)) {
+            return;
+        }
+        stopAfter(workflowId, jobId, WorkflowStatus.FAILED);
+    }
+
+    // Cancel the steps that depended on jobId and end the workflow with the given outcome
+    private void stopAfter(Long workflowId, Long jobId, WorkflowStatus outcome) {
+        WorkflowState state = stateOf(workflowId);
+        Set<Long> descendants = state.graph.descendantsOf(jobId);
+        int cancelled = descendants.isEmpty() ? 0 : transactionTemplate.execute(status ->
+            jobRepository.cancelWaitingJobs(descendants, LocalDateTime.now()));
+        descendants.forEach(state.remaining::remove);
+        logger.warn("Step {} of workflow {} ended as {}, cancelled {} dependent step(s)",
+                   jobId, workflowId, outcome, cancelled);
+        finish(workflowId, outcome);
+    }
+
+    // WAITING -> SCHEDULED for now; only the caller whose update wins registers the trigger
+    private void release(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status -> jobRepository.releaseWaitingJob(jobId, now));
+        if (updated != null && updated > 0) {
+            triggerEngineService.register(TriggerKey.forJob(jobId), now);
+            logger.debug("Released workflow step {}", jobId);
+        }
+    }
+
+    private void finish(Long workflowId, WorkflowStatus status) {
+        Integer updated = transactionTemplate.execute(tx -> workflowRepository.finish(workflowId, status, LocalDateTime.now()));
+        if (updated != null && updated > 0) {
+            states.remove(workflowId);
+            logger.info("Workflow {} finished with status {}", workflowId, status);
+        }
+    }
+
+    // Counters are rebuilt from the database the first time this node sees an event of the workflow
+    private WorkflowState stateOf(Long workflowId) {
+        return states.computeIfAbsent(workflowId, id -> {
+            List<Job> jobs = jobRepository.findByWorkflowId(id);
+            WorkflowGraph<Long> graph = graphOf(jobs, workflowDependencyRepository.findByWorkflowId(id));
+            Map<Long, JobStatus> statuses = jobs.stream().collect(Collectors.toMap(Job::getId, Job::getStatus));
+            Map<Long, Integer> remaining = new ConcurrentHashMap<>();
+            for (Job job : jobs) {
+                if (job.getStatus() != JobStatus.WAITING) {
+                    continue;
+                }
+                int incomplete = (int) graph.parentsOf(job.getId()).stream()
+                    .filter(parent -> statuses.get(parent) != JobStatus.COMPLETED)
+                    .count();
+                remaining.put(job.getId(), incomplete);
+            }
+            return new WorkflowState(graph, remaining);
+        });
+    }
+
+    private WorkflowGraph<Long> graphOf(List<Job> jobs, List<WorkflowDependency> edges) {
+        Map<Long, List<Long>> dependencies = new HashMap<>();
+        for (WorkflowDependency edge : edges) {
+            dependencies.computeIfAbsent(edge.getJobId(), id -> new ArrayList<>()).add(edge.getDependsOnJobId());
+        }
+        return new WorkflowGraph<>(jobs.stream().map(Job::getId).toList(), dependencies);
+    }
+
+    private Map<String, Object> criticalPath(WorkflowGraph<Long> graph, Map<Long, Job> byId) {
+        List<Long> path = graph.criticalPath(jobId -> durationMs(byId.get(jobId)));
+        long pathMs = path.stream().mapToLong(jobId -> durationMs(byId.get(jobId))).sum();
+
+        // Makespan: first start to last completion across all steps
+        LocalDateTime firstStart = null;
+        LocalDateTime lastEnd = null;
+        for (Job job : byId.values()) {
+            if (job.getStartedAt() != null && (firstStart == null || job.getStartedAt().isBefore(firstStart))) {
+                firstStart = job.getStartedAt();
+            }
+            if (job.getCompletedAt() != null && (lastEnd == null || job.getCompletedAt().isAfter(lastEnd))) {
+                lastEnd = job.getCompletedAt();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("criticalPath", path);
+        result.put("criticalPathMs", pathMs);
+        result.put("makespanMs", firstStart != null && lastEnd != null ? Duration.between(firstStart, lastEnd).toMillis() : null);
+        return result;
+    }
+
+    // Run time of a finished step, or time so far for a running one
+    private long durationMs(Job job) {
+        if (job == null || job.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = job.getCompletedAt() != null ? job.getCompletedAt() : LocalDateTime.now();
+        return Math.max(0, Duration.between(job.getStartedAt(), end).toMillis());
+    }
+
+    // Time between the last parent completing and the step starting (release, queueing and dispatch)
+    private Long dependencyWaitMs(Job job, WorkflowGraph<Long> graph, Map<Long, Job> byId) {
+        if (job.getStartedAt() == null || graph.parentsOf(job.getId()).isEmpty()) {
+            return null;
+        }
+        LocalDateTime lastParent = null;
+        for (Long parent : graph.parentsOf(job.getId())) {
+            LocalDateTime completedAt = byId.get(parent).getCompletedAt();
+            if (completedAt == null) {
+                return null;
+            }
+            if (lastParent == null || completedAt.isAfter(lastParent)) {
+                lastParent = completedAt;
+            }
+        }
+        return Math.max(0, Duration.between(lastParent, job.getStartedAt()).toMillis());
+    }
+
+    private static final class WorkflowState {
+        private final WorkflowGraph<Long> graph;
+        // Unfinished parents per waiting step; an entry is removed when the step is released
+        private final Map<Long, Integer> remaining;
+
+        private WorkflowState(WorkflowGraph<Long> graph, Map<Long, Integer> remaining) {
+            this.graph = graph;
+            this.remaining = remaining;
+        }
+    }
+
+    public static class StepDefinition {
+        private String key;
+        private String name;
+        private String description;
+        private String payload;
+        private JobType jobType;
+        private Integer priority;
+        private String jobGroup;
+        private String handlerKey;
+        private Long timeoutMs;
+        private List<String> dependsOn;
+
+        // Getters and Setters
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public void setPayload(String payload) {
+            this.payload = payload;
+        }
+
+        public JobType getJobType() {
+            return jobType;
+        }
+
+        public void setJobType(JobType jobType) {
+            this.jobType = jobType;
+        }
+
+        public Integer getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Integer priority) {
+            this.priority = priority;
+        }
+
+        public String getJobGroup() {
+            return jobGroup;
+        }
+
+        public void setJobGroup(String jobGroup) {
+            this.jobGroup = jobGroup;
+        }
+
+        public String getHandlerKey() {
+            return handlerKey;
+        }
+
+        public void setHandlerKey(String handlerKey) {
+            this.handlerKey = handlerKey;
+        }
+
+        public Long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(Long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public List<String> getDependsOn() {
+            return dependsOn;
+        }
+
+        public void setDependsOn(List<String> dependsOn) {
+            this.dependsOn = dependsOn;
+        }
+    }
+}
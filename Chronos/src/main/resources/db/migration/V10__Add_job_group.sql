@@ -0,0 +1,4 @@
+-- Job group used for per-group concurrency and rate limits
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS job_group VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS idx_jobs_job_group ON jobs(job_group);
@@ -0,0 +1,2 @@
+-- Time a job waited in the dispatch queue before a worker picked it up; duration_ms holds the run time
+ALTER TABLE execution_logs ADD COLUMN IF NOT EXISTS queue_wait_ms BIGINT;
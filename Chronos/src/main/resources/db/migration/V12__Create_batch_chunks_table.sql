@@ -0,0 +1,20 @@
+-- Create batch_chunks table (chunk plan and checkpoints of BATCH jobs)
+CREATE TABLE IF NOT EXISTS batch_chunks (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    chunk_index INTEGER NOT NULL,
+    start_offset BIGINT NOT NULL,
+    end_offset BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER DEFAULT 0,
+    error_message TEXT,
+    completed_at TIMESTAMP,
+    
+    CONSTRAINT fk_batch_chunks_job_id FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
+    CONSTRAINT uq_batch_chunks_job_chunk UNIQUE (job_id, chunk_index)
+);
+
+CREATE INDEX IF NOT EXISTS idx_batch_chunks_job_id_status ON batch_chunks(job_id, status);
+
+ALTER TABLE batch_chunks DROP CONSTRAINT IF EXISTS chk_batch_chunk_status;
+ALTER TABLE batch_chunks ADD CONSTRAINT chk_batch_chunk_status CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED'));
@@ -0,0 +1,41 @@
+-- Create workflows table (DAGs of jobs)
+CREATE TABLE IF NOT EXISTS workflows (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflows_status ON workflows(status);
+
+ALTER TABLE workflows DROP CONSTRAINT IF EXISTS chk_workflow_status;
+ALTER TABLE workflows ADD CONSTRAINT chk_workflow_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED'));
+
+-- Workflow steps are jobs; WAITING jobs are held back until their dependencies completed
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS workflow_id BIGINT REFERENCES workflows(id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS idx_jobs_workflow_id ON jobs(workflow_id);
+
+-- jobs_status_check is the enum check Hibernate generated on schemas it created, before WAITING existed
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS jobs_status_check;
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_job_status;
+ALTER TABLE jobs ADD CONSTRAINT chk_job_status CHECK (status IN ('WAITING', 'SCHEDULED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED', 'RETRYING'));
+
+-- Create workflow_dependencies table (DAG edges)
+CREATE TABLE IF NOT EXISTS workflow_dependencies (
+    id BIGSERIAL PRIMARY KEY,
+    workflow_id BIGINT NOT NULL,
+    job_id BIGINT NOT NULL,
+    depends_on_job_id BIGINT NOT NULL,
+    
+    CONSTRAINT fk_workflow_dependencies_workflow_id FOREIGN KEY (workflow_id) REFERENCES workflows(id) ON DELETE CASCADE,
+    CONSTRAINT fk_workflow_dependencies_job_id FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
+    CONSTRAINT fk_workflow_dependencies_depends_on FOREIGN KEY (depends_on_job_id) REFERENCES jobs(id) ON DELETE CASCADE,
+    CONSTRAINT uq_workflow_dependencies_edge UNIQUE (job_id, depends_on_job_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_dependencies_workflow_id ON workflow_dependencies(workflow_id);
+CREATE INDEX IF NOT EXISTS idx_workflow_dependencies_depends_on ON workflow_dependencies(depends_on_job_id);
@@ -0,0 +1,2 @@
+-- Key of the JobHandler that runs the job; NULL runs the default handler
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS handler_key VARCHAR(100);
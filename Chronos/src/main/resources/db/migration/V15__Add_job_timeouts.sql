@@ -0,0 +1,5 @@
+-- Per-job execution timeout; NULL uses chronos.job.default-timeout-ms
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS timeout_ms BIGINT;
+
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_timeout_ms;
+ALTER TABLE jobs ADD CONSTRAINT chk_timeout_ms CHECK (timeout_ms IS NULL OR timeout_ms > 0);
@@ -0,0 +1,6 @@
+-- Class of the last failure and the jittered delay chosen for its retry (the previous delay seeds the next one)
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS failure_class VARCHAR(20);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS retry_delay_ms BIGINT;
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS next_retry_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_failed_next_retry ON jobs(next_retry_at) WHERE status = 'FAILED';
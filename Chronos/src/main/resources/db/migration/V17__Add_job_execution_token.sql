@@ -0,0 +1,2 @@
+-- Fencing token: bumped by every conditional transition of an execution attempt (retry booked, started, finished)
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS execution_token BIGINT NOT NULL DEFAULT 0;
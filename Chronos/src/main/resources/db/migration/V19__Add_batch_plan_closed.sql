@@ -0,0 +1,2 @@
+-- A batch plan belongs to one run of its job: closed once that run completed the job, replaced by the next run
+ALTER TABLE batch_chunks ADD COLUMN IF NOT EXISTS closed BOOLEAN NOT NULL DEFAULT FALSE;
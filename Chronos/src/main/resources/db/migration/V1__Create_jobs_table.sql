@@ -1,5 +1,7 @@
 -- Create jobs table
-CREATE TABLE jobs (
+-- Migrations are re-runnable (IF NOT EXISTS, constraints dropped before they are added) so that a schema
+-- Hibernate created before Flyway was enabled is brought up to date by the full history
+CREATE TABLE IF NOT EXISTS jobs (
     id BIGSERIAL PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     description TEXT,
@@ -19,17 +21,23 @@ CREATE TABLE jobs (
 );
 
 -- Create indexes for better performance
-CREATE INDEX idx_jobs_status ON jobs(status);
-CREATE INDEX idx_jobs_job_type ON jobs(job_type);
-CREATE INDEX idx_jobs_created_by ON jobs(created_by);
-CREATE INDEX idx_jobs_scheduled_at ON jobs(scheduled_at);
-CREATE INDEX idx_jobs_created_at ON jobs(created_at);
-CREATE INDEX idx_jobs_status_scheduled_at ON jobs(status, scheduled_at);
-CREATE INDEX idx_jobs_status_priority ON jobs(status, priority);
+CREATE INDEX IF NOT EXISTS idx_jobs_status ON jobs(status);
+CREATE INDEX IF NOT EXISTS idx_jobs_job_type ON jobs(job_type);
+CREATE INDEX IF NOT EXISTS idx_jobs_created_by ON jobs(created_by);
+CREATE INDEX IF NOT EXISTS idx_jobs_scheduled_at ON jobs(scheduled_at);
+CREATE INDEX IF NOT EXISTS idx_jobs_created_at ON jobs(created_at);
+CREATE INDEX IF NOT EXISTS idx_jobs_status_scheduled_at ON jobs(status, scheduled_at);
+CREATE INDEX IF NOT EXISTS idx_jobs_status_priority ON jobs(status, priority);
 
 -- Add check constraints
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_job_type;
 ALTER TABLE jobs ADD CONSTRAINT chk_job_type CHECK (job_type IN ('ONE_TIME', 'RECURRING', 'BATCH'));
-ALTER TABLE jobs ADD CONSTRAINT chk_job_status CHECK (status IN ('SCHEDULED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED', 'RETRYING'));
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_job_status;
+-- NOT VALID: such a schema may already hold WAITING steps; V13 widens the check and validates it
+ALTER TABLE jobs ADD CONSTRAINT chk_job_status CHECK (status IN ('SCHEDULED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED', 'RETRYING')) NOT VALID;
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_priority;
 ALTER TABLE jobs ADD CONSTRAINT chk_priority CHECK (priority >= 0);
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_max_retries;
 ALTER TABLE jobs ADD CONSTRAINT chk_max_retries CHECK (max_retries >= 0);
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_current_retry_count;
 ALTER TABLE jobs ADD CONSTRAINT chk_current_retry_count CHECK (current_retry_count >= 0);
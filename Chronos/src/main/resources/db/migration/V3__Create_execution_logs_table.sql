@@ -1,5 +1,5 @@
 -- Create execution_logs table
-CREATE TABLE execution_logs (
+CREATE TABLE IF NOT EXISTS execution_logs (
     id BIGSERIAL PRIMARY KEY,
     job_id BIGINT NOT NULL,
     log_level VARCHAR(20) NOT NULL,
@@ -14,12 +14,14 @@ CREATE TABLE execution_logs (
 );
 
 -- Create indexes for better performance
-CREATE INDEX idx_execution_logs_job_id ON execution_logs(job_id);
-CREATE INDEX idx_execution_logs_log_level ON execution_logs(log_level);
-CREATE INDEX idx_execution_logs_created_at ON execution_logs(created_at);
-CREATE INDEX idx_execution_logs_job_id_created_at ON execution_logs(job_id, created_at);
-CREATE INDEX idx_execution_logs_thread_name ON execution_logs(thread_name);
+CREATE INDEX IF NOT EXISTS idx_execution_logs_job_id ON execution_logs(job_id);
+CREATE INDEX IF NOT EXISTS idx_execution_logs_log_level ON execution_logs(log_level);
+CREATE INDEX IF NOT EXISTS idx_execution_logs_created_at ON execution_logs(created_at);
+CREATE INDEX IF NOT EXISTS idx_execution_logs_job_id_created_at ON execution_logs(job_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_execution_logs_thread_name ON execution_logs(thread_name);
 
 -- Add check constraints
+ALTER TABLE execution_logs DROP CONSTRAINT IF EXISTS chk_log_level;
 ALTER TABLE execution_logs ADD CONSTRAINT chk_log_level CHECK (log_level IN ('INFO', 'WARN', 'ERROR', 'DEBUG', 'TRACE'));
+ALTER TABLE execution_logs DROP CONSTRAINT IF EXISTS chk_duration_ms;
 ALTER TABLE execution_logs ADD CONSTRAINT chk_duration_ms CHECK (duration_ms >= 0);
@@ -0,0 +1,12 @@
+-- Interval schedules: period and fixed-rate / fixed-delay mode
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS interval_ms BIGINT;
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS interval_mode VARCHAR(20);
+
+ALTER TABLE job_schedules DROP CONSTRAINT IF EXISTS chk_interval_mode;
+ALTER TABLE job_schedules ADD CONSTRAINT chk_interval_mode CHECK (interval_mode IN ('FIXED_RATE', 'FIXED_DELAY'));
+ALTER TABLE job_schedules DROP CONSTRAINT IF EXISTS chk_cron_or_execution_time;
+ALTER TABLE job_schedules ADD CONSTRAINT chk_cron_or_execution_time CHECK (
+    (schedule_type = 'CRON' AND cron_expression IS NOT NULL) OR
+    (schedule_type = 'ONE_TIME' AND execution_time IS NOT NULL) OR
+    (schedule_type = 'INTERVAL' AND interval_ms IS NOT NULL AND interval_ms > 0)
+);
@@ -0,0 +1,10 @@
+-- Node claims for multi-node dispatch (SELECT ... FOR UPDATE SKIP LOCKED)
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255);
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+
+-- Partial indexes keep the claim scans on the due rows only
+CREATE INDEX IF NOT EXISTS idx_jobs_claimable ON jobs(priority DESC, scheduled_at) WHERE status = 'SCHEDULED';
+CREATE INDEX IF NOT EXISTS idx_job_schedules_claimable ON job_schedules(next_execution) WHERE is_active = true AND schedule_type <> 'ONE_TIME';
@@ -0,0 +1,11 @@
+-- Execution leases: the node in claimed_by renews lease_expires_at while the job runs
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS on_lease_expiry VARCHAR(20) DEFAULT 'FAIL';
+
+ALTER TABLE jobs DROP CONSTRAINT IF EXISTS chk_on_lease_expiry;
+ALTER TABLE jobs ADD CONSTRAINT chk_on_lease_expiry CHECK (on_lease_expiry IN ('REQUEUE', 'FAIL'));
+
+-- Jobs already running keep the previous 30 minute allowance
+UPDATE jobs SET lease_expires_at = started_at + INTERVAL '30 minutes' WHERE status = 'RUNNING' AND lease_expires_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_running_lease ON jobs(lease_expires_at) WHERE status = 'RUNNING';
@@ -0,0 +1,13 @@
+-- Create scheduler_nodes table (cluster membership for schedule sharding)
+CREATE TABLE IF NOT EXISTS scheduler_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    host_name VARCHAR(255),
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_heartbeat TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduler_nodes_last_heartbeat ON scheduler_nodes(last_heartbeat);
+
+-- Shard lookups filter on MOD(job id, bucket count)
+CREATE INDEX IF NOT EXISTS idx_jobs_scheduled_shard ON jobs(MOD(id, 1024)) WHERE status = 'SCHEDULED';
+CREATE INDEX IF NOT EXISTS idx_job_schedules_active_shard ON job_schedules(MOD(job_id, 1024)) WHERE is_active = true;
@@ -0,0 +1,12 @@
+-- Create leader_terms table (leadership epoch used to fence singleton maintenance tasks)
+CREATE TABLE IF NOT EXISTS leader_terms (
+    id INTEGER PRIMARY KEY,
+    epoch BIGINT NOT NULL DEFAULT 0,
+    leader_node VARCHAR(255),
+    elected_at TIMESTAMP
+);
+
+ALTER TABLE leader_terms DROP CONSTRAINT IF EXISTS chk_leader_terms_singleton;
+ALTER TABLE leader_terms ADD CONSTRAINT chk_leader_terms_singleton CHECK (id = 1);
+
+INSERT INTO leader_terms (id, epoch) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
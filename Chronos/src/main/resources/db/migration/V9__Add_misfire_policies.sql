@@ -0,0 +1,8 @@
+-- Misfire handling for recurring schedules
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS misfire_policy VARCHAR(30) DEFAULT 'FIRE_ONCE';
+ALTER TABLE job_schedules ADD COLUMN IF NOT EXISTS misfire_grace_ms BIGINT;
+
+ALTER TABLE job_schedules DROP CONSTRAINT IF EXISTS chk_misfire_policy;
+ALTER TABLE job_schedules ADD CONSTRAINT chk_misfire_policy CHECK (misfire_policy IN ('FIRE_ONCE', 'FIRE_ALL', 'SKIP_TO_NEXT', 'FIRE_IF_WITHIN_GRACE'));
+ALTER TABLE job_schedules DROP CONSTRAINT IF EXISTS chk_misfire_grace_ms;
+ALTER TABLE job_schedules ADD CONSTRAINT chk_misfire_grace_ms CHECK (misfire_grace_ms IS NULL OR misfire_grace_ms >= 0);
@@ -0,0 +1,56 @@
+package com.Prod.Chronos.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedVirtualThreadExecutorTest {
+
+	@Test
+	void runsTasksOnVirtualThreads() throws Exception {
+		BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 4,
+			new CountingRejectionPolicy("test", false), 1);
+		CountDownLatch done = new CountDownLatch(1);
+		boolean[] virtual = new boolean[1];
+
+		executor.execute(() -> {
+			virtual[0] = Thread.currentThread().isVirtual();
+			done.countDown();
+		});
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertTrue(virtual[0]);
+	}
+
+	@Test
+	void rejectsTasksOverTheCapUntilOneFinishes() throws Exception {
+		CountingRejectionPolicy policy = new CountingRejectionPolicy("test", false);
+		BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 2, policy, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(2);
+		Runnable blocking = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			finished.countDown();
+		};
+
+		executor.execute(blocking);
+		executor.execute(blocking);
+		assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+		assertEquals(1, policy.getRejectedCount());
+		assertEquals(2, executor.getActiveCount());
+
+		release.countDown();
+		assertTrue(finished.await(5, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertEquals(0, executor.getActiveCount());
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.Prod.Chronos.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares the default platform pools with the virtual-thread executor on I/O-bound jobs; run with ./gradlew benchmark.
+// Timings depend on the machine, so they are reported rather than asserted.
+@Tag("benchmark")
+class ExecutorBenchmarkTest {
+
+	private static final int JOBS = 2000;
+	private static final long IO_MILLIS = 50;
+
+	@Test
+	@DisplayName("2000 jobs blocking 50ms: platform pool vs virtual threads")
+	void blockingJobsOnPlatformPoolVersusVirtualThreads(TestReporter reporter) throws Exception {
+		// Same shape as the default jobExecutor: 10 core / 50 max / 100 queued
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(10, 50, 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(100), new CountingRejectionPolicy("platform", false));
+		BoundedVirtualThreadExecutor virtual = new BoundedVirtualThreadExecutor("bench-", 1000,
+			new CountingRejectionPolicy("virtual", false), 60);
+
+		try {
+			// The dispatcher only hands over as many jobs as the executor can run
+			long platformMs = run(pool, 50);
+			long virtualMs = run(virtual, 1000);
+
+			Map<String, String> results = new LinkedHashMap<>();
+			results.put("platformMs", String.valueOf(platformMs));
+			results.put("platformJobsPerSecond", String.format("%.0f", JOBS * 1000.0 / platformMs));
+			results.put("virtualMs", String.valueOf(virtualMs));
+			results.put("virtualJobsPerSecond", String.format("%.0f", JOBS * 1000.0 / virtualMs));
+			reporter.publishEntry(results);
+		} finally {
+			pool.shutdown();
+			virtual.shutdown();
+		}
+	}
+
+	private long run(Executor executor, int maxInFlight) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		CountDownLatch done = new CountDownLatch(JOBS);
+		long start = System.nanoTime();
+		for (int i = 0; i < JOBS; i++) {
+			inFlight.acquire();
+			executor.execute(() -> {
+				try {
+					Thread.sleep(IO_MILLIS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					inFlight.release();
+					done.countDown();
+				}
+			});
+		}
+		assertTrue(done.await(5, TimeUnit.MINUTES));
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.Prod.Chronos.handler;
+
+import com.Prod.Chronos.entity.FailureClass;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandlerBindingTest {
+
+	public static class Report {
+		public String region;
+		public int days;
+	}
+
+	@Test
+	void decodesPayloadIntoTheHandlersType() throws Exception {
+		List<Report> received = new ArrayList<>();
+		HandlerBinding<Report> binding = new HandlerBinding<>(handler("report", Report.class, ResourceClass.CPU_BOUND,
+			(job, payload) -> received.add(payload)), new ObjectMapper());
+
+		binding.run(new Job("daily", null, JobType.ONE_TIME, "{\"region\":\"eu\",\"days\":7}", "tester"), CancellationToken.NONE);
+
+		assertEquals(1, received.size());
+		assertEquals("eu", received.get(0).region);
+		assertEquals(7, received.get(0).days);
+		assertEquals(ResourceClass.CPU_BOUND, binding.getResourceClass());
+	}
+
+	@Test
+	void passesRawStringsAndParsesTrees() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		HandlerBinding<String> raw = new HandlerBinding<>(handler("raw", String.class, null, (job, payload) -> { }), mapper);
+		HandlerBinding<JsonNode> tree = new HandlerBinding<>(handler("tree", JsonNode.class, null, (job, payload) -> { }), mapper);
+
+		assertEquals("not json", raw.decode("not json"));
+		assertEquals(3, tree.decode("{\"a\":3}").path("a").asInt());
+		assertNull(tree.decode(""));
+		assertEquals(ResourceClass.BLOCKING_IO, raw.getResourceClass());
+	}
+
+	@Test
+	void malformedPayloadFailsWithoutCallingTheHandler() {
+		List<Report> received = new ArrayList<>();
+		HandlerBinding<Report> binding = new HandlerBinding<>(handler("report", Report.class, null,
+			(job, payload) -> received.add(payload)), new ObjectMapper());
+
+		assertThrows(IllegalArgumentException.class,
+			() -> binding.run(new Job("daily", null, JobType.ONE_TIME, "{\"days\":\"many\"}", "tester"), CancellationToken.NONE));
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	void chunksNeedAHandlerThatProcessesThem() {
+		HandlerBinding<String> binding = new HandlerBinding<>(handler("raw", String.class, null, (job, payload) -> { }), new ObjectMapper());
+		Job batch = new Job("import", null, JobType.BATCH, "{\"totalItems\":10}", "tester");
+
+		UnsupportedOperationException failure = assertThrows(UnsupportedOperationException.class,
+			() -> binding.runChunk(batch, 0, 5, CancellationToken.NONE));
+		assertEquals(FailureClass.PERMANENT, JobFailureException.from(failure).getFailureClass());
+	}
+
+	private interface Body<P> {
+		void handle(Job job, P payload) throws Exception;
+	}
+
+	private static <P> JobHandler<P> handler(String key, Class<P> type, ResourceClass resourceClass, Body<P> body) {
+		return new JobHandler<>() {
+			@Override
+			public String getKey() {
+				return key;
+			}
+
+			@Override
+			public Class<P> getPayloadType() {
+				return type;
+			}
+
+			@Override
+			public ResourceClass getResourceClass() {
+				return resourceClass;
+			}
+
+			@Override
+			public void handle(Job job, P payload, CancellationToken cancellation) throws Exception {
+				body.handle(job, payload);
+			}
+		};
+	}
+}
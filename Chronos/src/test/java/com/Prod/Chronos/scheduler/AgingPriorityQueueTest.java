@@ -0,0 +1,30 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgingPriorityQueueTest {
+
+	@Test
+	void servesHigherPriorityFirstAndAgesWaitingEntries() {
+		AtomicLong now = new AtomicLong(0);
+		AgingPriorityQueue<String> queue = new AgingPriorityQueue<>(1_000, now::get);
+
+		queue.offer("bulk-1", 0);
+		queue.offer("bulk-2", 0);
+		queue.offer("urgent", 5);
+		assertEquals("urgent", queue.poll());
+		assertEquals("bulk-1", queue.poll());
+
+		// bulk-2 has waited 6 intervals, so it now outranks a fresh priority 5 entry
+		now.set(6_000);
+		queue.offer("urgent-late", 5);
+		assertEquals("bulk-2", queue.poll());
+		assertEquals("urgent-late", queue.poll());
+		assertNull(queue.poll());
+	}
+
+}
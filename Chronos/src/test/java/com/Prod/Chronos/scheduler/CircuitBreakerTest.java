@@ -0,0 +1,71 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+	@Test
+	void opensAfterConsecutiveFailuresAndReportsTheWait() {
+		CircuitBreaker breaker = new CircuitBreaker(3, 1_000);
+
+		assertFalse(breaker.recordFailure(0));
+		breaker.recordSuccess();
+		assertFalse(breaker.recordFailure(0));
+		assertFalse(breaker.recordFailure(0));
+		assertTrue(breaker.recordFailure(100));
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertEquals(600, breaker.tryAcquire(500));
+	}
+
+	@Test
+	void admitsOneProbeWhenHalfOpen() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1_000);
+		breaker.recordFailure(0);
+
+		assertEquals(0, breaker.tryAcquire(1_000));
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertEquals(900, breaker.tryAcquire(1_100));
+
+		breaker.recordSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(0, breaker.tryAcquire(1_200));
+	}
+
+	@Test
+	void failedProbeReopensAndLostProbeIsReplaced() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1_000);
+		breaker.recordFailure(0);
+		assertEquals(0, breaker.tryAcquire(1_000));
+
+		assertTrue(breaker.recordFailure(1_500));
+		assertEquals(1_000, breaker.tryAcquire(1_500));
+
+		assertEquals(0, breaker.tryAcquire(2_500));
+		assertEquals(0, breaker.tryAcquire(3_500));
+	}
+
+	@Test
+	void releasedProbeIsHandedToTheNextCaller() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1_000);
+		breaker.recordFailure(0);
+		assertEquals(0, breaker.tryAcquire(1_000));
+
+		breaker.releaseProbe();
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertEquals(0, breaker.tryAcquire(1_100));
+		assertEquals(900, breaker.tryAcquire(1_200));
+	}
+
+	@Test
+	void releasingWithoutAProbeChangesNothing() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1_000);
+		breaker.recordFailure(0);
+
+		breaker.releaseProbe();
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertEquals(500, breaker.tryAcquire(500));
+	}
+}
@@ -0,0 +1,71 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledCronExpressionTest {
+
+	private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+	@Test
+	void computesNextFireTimeInScheduleTimezone() {
+		CompiledCronExpression cron = CompiledCronExpression.compile("0 0 9 * * MON-FRI");
+
+		// Saturday 2024-03-09 12:00 UTC -> Monday 09:00 EDT
+		assertEquals(Instant.parse("2024-03-11T13:00:00Z"),
+			cron.next(Instant.parse("2024-03-09T12:00:00Z"), NEW_YORK));
+	}
+
+	@Test
+	void skippedLocalTimeFiresWhenClocksJumpAndRepeatedTimeFiresOnce() {
+		CompiledCronExpression cron = CompiledCronExpression.compile("0 30 2 * * *");
+		// 02:30 does not exist on 2024-03-10 in New York, fire at 03:30 EDT
+		assertEquals(Instant.parse("2024-03-10T07:30:00Z"),
+			cron.next(Instant.parse("2024-03-10T06:00:00Z"), NEW_YORK));
+
+		CompiledCronExpression repeated = CompiledCronExpression.compile("0 30 1 * * *");
+		Instant first = repeated.next(Instant.parse("2024-11-03T04:00:00Z"), NEW_YORK);
+		assertEquals(Instant.parse("2024-11-03T05:30:00Z"), first);
+		assertEquals(Instant.parse("2024-11-04T06:30:00Z"), repeated.next(first, NEW_YORK));
+	}
+
+	@Test
+	void sharesCompiledInstancesAndRejectsInvalidExpressions() {
+		assertSame(CompiledCronExpression.compile("0 0 * * * *"), CompiledCronExpression.compile(" 0  0 * * * * "));
+		assertEquals(Instant.parse("2028-02-29T00:00:00Z"),
+			CompiledCronExpression.compile("0 0 0 29 2 ?").next(Instant.parse("2024-03-01T00:00:00Z"), ZoneId.of("UTC")));
+
+		assertFalse(CompiledCronExpression.isValid("* * *"));
+		assertFalse(CompiledCronExpression.isValid("60 * * * * *"));
+		assertFalse(CompiledCronExpression.isValid("0 0 0 ? * 8"));
+	}
+
+	@Test
+	void restrictedDayOfMonthAndDayOfWeekMatchEitherDay() {
+		ZoneId utc = ZoneId.of("UTC");
+		CompiledCronExpression cron = CompiledCronExpression.compile("0 0 12 13 * FRI");
+
+		// Every Friday and every 13th, not only Friday the 13th
+		Instant friday = cron.next(Instant.parse("2024-09-01T00:00:00Z"), utc);
+		assertEquals(Instant.parse("2024-09-06T12:00:00Z"), friday);
+		assertEquals(Instant.parse("2024-09-13T12:00:00Z"), cron.next(friday, utc));
+		assertEquals(Instant.parse("2024-10-13T12:00:00Z"), cron.next(Instant.parse("2024-10-11T12:00:00Z"), utc));
+
+		// A wildcard day-of-week leaves day-of-month alone in charge
+		assertEquals(Instant.parse("2024-09-13T12:00:00Z"),
+			CompiledCronExpression.compile("0 0 12 13 * ?").next(Instant.parse("2024-09-01T00:00:00Z"), utc));
+		assertEquals(Instant.parse("2024-09-06T12:00:00Z"),
+			CompiledCronExpression.compile("0 0 12 */1 * FRI").next(Instant.parse("2024-09-01T00:00:00Z"), utc));
+
+		// 0 and 7 are both Sunday
+		assertEquals(Instant.parse("2024-09-08T12:00:00Z"),
+			CompiledCronExpression.compile("0 0 12 * * 7").next(Instant.parse("2024-09-02T00:00:00Z"), utc));
+		assertEquals(Instant.parse("2024-09-08T12:00:00Z"),
+			CompiledCronExpression.compile("0 0 12 * * 0").next(Instant.parse("2024-09-02T00:00:00Z"), utc));
+	}
+
+}
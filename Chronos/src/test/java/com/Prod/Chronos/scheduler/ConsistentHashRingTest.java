@@ -0,0 +1,50 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+	private static final int BUCKETS = 1024;
+
+	@Test
+	void everyBucketHasExactlyOneOwner() {
+		List<String> nodes = List.of("node-a", "node-b", "node-c");
+		ConsistentHashRing ring = new ConsistentHashRing(nodes, 128);
+
+		Set<Integer> seen = new HashSet<>();
+		for (String node : nodes) {
+			List<Integer> owned = ring.bucketsOwnedBy(node, BUCKETS);
+			assertTrue(owned.size() > BUCKETS / 6, node + " owns only " + owned.size() + " buckets");
+			for (Integer bucket : owned) {
+				assertTrue(seen.add(bucket), "bucket owned twice: " + bucket);
+			}
+		}
+		assertEquals(BUCKETS, seen.size());
+	}
+
+	@Test
+	void joiningNodeOnlyTakesBucketsOverAndEmptyRingOwnsNothing() {
+		ConsistentHashRing before = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 128);
+		ConsistentHashRing after = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 128);
+
+		int moved = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			String previous = before.ownerOf(bucket);
+			String current = after.ownerOf(bucket);
+			if (!previous.equals(current)) {
+				assertEquals("node-d", current);
+				moved++;
+			}
+		}
+		assertTrue(moved > 0 && moved < BUCKETS / 2, "moved " + moved + " buckets");
+
+		assertNull(new ConsistentHashRing(List.of(), 128).ownerOf(42));
+	}
+
+}
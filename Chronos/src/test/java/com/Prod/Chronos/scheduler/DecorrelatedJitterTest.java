@@ -0,0 +1,50 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecorrelatedJitterTest {
+
+	@Test
+	void drawsBetweenTheBaseAndThreeTimesThePreviousDelay() {
+		DecorrelatedJitter backoff = new DecorrelatedJitter(1_000, 60_000);
+		Random random = new Random(42);
+
+		for (int i = 0; i < 1_000; i++) {
+			long first = backoff.next(null, random);
+			assertTrue(first >= 1_000 && first <= 3_000);
+
+			long later = backoff.next(10_000L, random);
+			assertTrue(later >= 1_000 && later <= 30_000);
+		}
+	}
+
+	@Test
+	void neverExceedsTheCap() {
+		DecorrelatedJitter backoff = new DecorrelatedJitter(1_000, 5_000);
+		Random random = new Random(7);
+
+		Long delay = null;
+		for (int i = 0; i < 100; i++) {
+			delay = backoff.next(delay, random);
+			assertTrue(delay >= 1_000 && delay <= 5_000);
+		}
+	}
+
+	@Test
+	void spreadsJobsThatFailedTogether() {
+		DecorrelatedJitter backoff = new DecorrelatedJitter(5_000, 300_000);
+		Random random = new Random(1);
+
+		Set<Long> delays = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			delays.add(backoff.next(20_000L, random));
+		}
+		assertTrue(delays.size() > 90);
+	}
+}
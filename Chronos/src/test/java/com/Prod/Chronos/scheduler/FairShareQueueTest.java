@@ -0,0 +1,48 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairShareQueueTest {
+
+	@Test
+	void servesBackloggedOwnersInProportionToTheirWeights() {
+		FairShareQueue<Integer> queue = new FairShareQueue<>(60_000, owner -> owner.equals("gold") ? 3 : 1, owner -> 0);
+		for (int i = 0; i < 1_000; i++) {
+			queue.offer("bulk", i, 0);
+		}
+		for (int i = 0; i < 100; i++) {
+			queue.offer("gold", i, 0);
+		}
+
+		Map<String, Integer> served = new HashMap<>();
+		for (int i = 0; i < 40; i++) {
+			FairShareQueue.Ticket<Integer> ticket = queue.poll();
+			served.merge(ticket.getOwner(), 1, Integer::sum);
+			queue.complete(ticket.getOwner());
+		}
+
+		assertEquals(30, served.get("gold"));
+		assertEquals(10, served.get("bulk"));
+	}
+
+	@Test
+	void ownerAtItsConcurrencyCapIsSkippedUntilAnItemCompletes() {
+		FairShareQueue<String> queue = new FairShareQueue<>(60_000, owner -> 1, owner -> 1);
+		queue.offer("alice", "a1", 0);
+		queue.offer("alice", "a2", 0);
+
+		assertEquals("a1", queue.poll().getItem());
+		assertNull(queue.poll());
+		assertFalse(queue.hasEligible());
+
+		queue.complete("alice");
+		assertEquals("a2", queue.poll().getItem());
+		assertEquals(0, queue.size());
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupLimiterTest {
+
+	@Test
+	void limitsConcurrencyUntilPermitsAreReleased() {
+		GroupLimiter limiter = new GroupLimiter(2, 0);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+
+		limiter.release();
+		assertTrue(limiter.tryAcquire());
+		assertEquals(2, limiter.getRunning());
+	}
+
+	@Test
+	void rateLimitedAttemptDoesNotKeepItsPermit() {
+		GroupLimiter limiter = new GroupLimiter(5, 0.001);
+
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+		assertEquals(1, limiter.getRunning());
+		assertTrue(limiter.millisUntilAdmissible() > 0);
+	}
+
+	@Test
+	void backlogCoversOneBurstOfTheGroup() {
+		GroupLimiter concurrencyLimited = new GroupLimiter(2, 0);
+		concurrencyLimited.enqueued();
+		assertFalse(concurrencyLimited.isBacklogged());
+		concurrencyLimited.enqueued();
+		assertTrue(concurrencyLimited.isBacklogged());
+		concurrencyLimited.dequeued();
+		assertFalse(concurrencyLimited.isBacklogged());
+
+		GroupLimiter rateLimited = new GroupLimiter(0, 3);
+		rateLimited.enqueued();
+		rateLimited.enqueued();
+		assertFalse(rateLimited.isBacklogged());
+		rateLimited.enqueued();
+		assertTrue(rateLimited.isBacklogged());
+		assertEquals(3, rateLimited.getQueued());
+	}
+
+}
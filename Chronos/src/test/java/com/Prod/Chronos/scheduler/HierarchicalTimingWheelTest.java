@@ -0,0 +1,50 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+	@Test
+	void firesEntriesAtTheirDeadlineAcrossLevels() {
+		long start = 1_000_000L;
+		HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, 3, start);
+		long[] deadlines = {start + 5, start + 75, start + 640, start + 5_000, start + 90_000};
+		for (long deadline : deadlines) {
+			wheel.schedule(deadline, deadline);
+		}
+
+		List<Long> fired = new ArrayList<>();
+		for (long now = start; now <= start + 100_000; now += 10) {
+			long current = now;
+			wheel.advance(now, entry -> {
+				assertTrue(entry.getDeadlineMs() <= current, "fired early: " + entry.getDeadlineMs());
+				assertTrue(current - entry.getDeadlineMs() < 10, "fired late: " + entry.getDeadlineMs());
+				fired.add(entry.getTask());
+			});
+		}
+
+		assertEquals(List.of(start + 5, start + 75, start + 640, start + 5_000, start + 90_000), fired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void overdueEntriesFireOnNextAdvanceAndCancelledEntriesNever() {
+		long start = 1_000_000L;
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 16, 2, start);
+		wheel.schedule("overdue", start - 60_000);
+		wheel.schedule("cancelled", start + 50).cancel();
+
+		List<String> fired = new ArrayList<>();
+		wheel.advance(start, entry -> fired.add(entry.getTask()));
+		wheel.advance(start + 100, entry -> fired.add(entry.getTask()));
+
+		assertEquals(List.of("overdue"), fired);
+		assertEquals(0, wheel.size());
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryDelayTierTest {
+
+	@Test
+	void picksTheLongestTierThatDoesNotOvershoot() {
+		assertEquals(RetryDelayTier.SHORT, RetryDelayTier.forDelay(0));
+		assertEquals(RetryDelayTier.SHORT, RetryDelayTier.forDelay(2_000));
+		assertEquals(RetryDelayTier.SHORT, RetryDelayTier.forDelay(20_000));
+		assertEquals(RetryDelayTier.MEDIUM, RetryDelayTier.forDelay(30_000));
+		assertEquals(RetryDelayTier.MEDIUM, RetryDelayTier.forDelay(160_000));
+		assertEquals(RetryDelayTier.LONG, RetryDelayTier.forDelay(300_000));
+	}
+
+	@Test
+	void holdsForAtMostOneTierDelay() {
+		long now = 1_000_000L;
+
+		assertEquals(now + 2_000, RetryDelayTier.SHORT.holdUntil(now, now + 2_000));
+		assertEquals(now + 30_000, RetryDelayTier.MEDIUM.holdUntil(now, now + 160_000));
+	}
+
+	@Test
+	void reachesTheDueTimeInABoundedNumberOfHops() {
+		long now = 0;
+		long dueAt = 160_000;
+		int hops = 0;
+		while (now < dueAt) {
+			now = RetryDelayTier.forDelay(dueAt - now).holdUntil(now, dueAt);
+			hops++;
+		}
+
+		assertEquals(dueAt, now);
+		assertEquals(7, hops);
+	}
+}
@@ -0,0 +1,76 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunningExecutionTest {
+
+	@Test
+	void completionBeforeTheDeadlineWins() {
+		RunningExecution execution = new RunningExecution(1L, 1000, Thread.currentThread());
+
+		assertTrue(execution.complete());
+		assertFalse(execution.expire());
+		assertFalse(execution.cancel());
+		assertTrue(execution.complete());
+		assertFalse(execution.isAborted());
+		assertFalse(execution.isCancelled());
+		assertFalse(Thread.currentThread().isInterrupted());
+	}
+
+	@Test
+	void expiryInterruptsTheWorkerAndDiscardsItsResult() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		AtomicBoolean ownsOutcome = new AtomicBoolean(true);
+		RunningExecution[] holder = new RunningExecution[1];
+		Thread worker = new Thread(() -> {
+			holder[0] = new RunningExecution(2L, 50, Thread.currentThread());
+			started.countDown();
+			try {
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.set(true);
+			}
+			ownsOutcome.set(holder[0].complete());
+		});
+		worker.start();
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+
+		assertTrue(holder[0].expire());
+		worker.join(1000);
+
+		assertTrue(interrupted.get());
+		assertFalse(ownsOutcome.get());
+		assertTrue(holder[0].isTimedOut());
+		assertTrue(holder[0].isCancelled());
+	}
+
+	@Test
+	void cancelTripsTheTokenOnceAndIsNotATimeout() {
+		RunningExecution execution = new RunningExecution(3L, 0, new Thread(() -> { }));
+
+		assertTrue(execution.cancel());
+		assertFalse(execution.cancel());
+		assertFalse(execution.expire());
+		assertTrue(execution.isCancelled());
+		assertFalse(execution.isTimedOut());
+		assertFalse(execution.complete());
+	}
+
+	@Test
+	void completionCancelsTheWheelEntry() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 16, 2, 0);
+		RunningExecution execution = new RunningExecution(4L, 100, Thread.currentThread());
+		HierarchicalTimingWheel.Entry<String> entry = wheel.schedule("job-4", 100);
+		execution.attach(entry);
+
+		assertTrue(execution.complete());
+		assertTrue(entry.isCancelled());
+	}
+}
@@ -0,0 +1,22 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+	@Test
+	void grantsAtMostTheCapacityAndTakesBackUnusedTokens() {
+		TokenBucket bucket = new TokenBucket(0.001, 10);
+
+		assertEquals(10, bucket.tryAcquire(50));
+		assertEquals(0, bucket.tryAcquire(1));
+		assertTrue(bucket.millisUntilAvailable() > 0);
+
+		bucket.release(4);
+		assertEquals(4, bucket.tryAcquire(50));
+		assertFalse(bucket.tryAcquire());
+	}
+
+}
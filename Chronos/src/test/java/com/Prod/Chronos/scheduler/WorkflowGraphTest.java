@@ -0,0 +1,50 @@
+package com.Prod.Chronos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowGraphTest {
+
+	// A and B fan out from the start, C fans in on both, D follows C
+	private final WorkflowGraph<String> diamond = new WorkflowGraph<>(
+		List.of("A", "B", "C", "D"),
+		Map.of("C", List.of("A", "B"), "D", List.of("C")));
+
+	@Test
+	void ordersParentsBeforeSuccessors() {
+		List<String> order = diamond.topologicalOrder();
+
+		assertEquals(4, order.size());
+		assertTrue(order.indexOf("A") < order.indexOf("C"));
+		assertTrue(order.indexOf("B") < order.indexOf("C"));
+		assertTrue(order.indexOf("C") < order.indexOf("D"));
+		assertEquals(List.of("A", "B"), diamond.roots());
+	}
+
+	@Test
+	void rejectsCyclesAndUnknownSteps() {
+		assertThrows(IllegalArgumentException.class, () -> new WorkflowGraph<>(
+			List.of("A", "B"), Map.of("A", List.of("B"), "B", List.of("A"))));
+		assertThrows(IllegalArgumentException.class, () -> new WorkflowGraph<>(
+			List.of("A"), Map.of("A", List.of("X"))));
+	}
+
+	@Test
+	void criticalPathFollowsTheSlowestBranch() {
+		Map<String, Long> durations = Map.of("A", 10L, "B", 50L, "C", 5L, "D", 1L);
+
+		assertEquals(List.of("B", "C", "D"), diamond.criticalPath(durations::get));
+	}
+
+	@Test
+	void findsAllDescendants() {
+		assertEquals(Set.of("C", "D"), diamond.descendantsOf("A"));
+		assertTrue(diamond.descendantsOf("D").isEmpty());
+	}
+
+}
@@ -0,0 +1,194 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.BatchChunk;
+import com.Prod.Chronos.entity.BatchChunkStatus;
+import com.Prod.Chronos.entity.FailureClass;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.handler.CancellationToken;
+import com.Prod.Chronos.handler.HandlerBinding;
+import com.Prod.Chronos.handler.JobFailureException;
+import com.Prod.Chronos.handler.JobHandler;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.repository.BatchChunkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchJobEngineTest {
+
+	private static final String PAYLOAD = "{\"totalItems\":30,\"chunkSize\":10,\"parallelism\":2}";
+
+	@Mock
+	private BatchChunkRepository batchChunkRepository;
+
+	@Mock
+	private JobHandlerRegistry jobHandlerRegistry;
+
+	@Mock
+	private SchedulerMetrics schedulerMetrics;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+	private BatchJobEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		engine = new BatchJobEngine();
+		ReflectionTestUtils.setField(engine, "batchChunkRepository", batchChunkRepository);
+		ReflectionTestUtils.setField(engine, "jobHandlerRegistry", jobHandlerRegistry);
+		ReflectionTestUtils.setField(engine, "schedulerMetrics", schedulerMetrics);
+		ReflectionTestUtils.setField(engine, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(engine, "objectMapper", new ObjectMapper());
+		// Chunks run on the coordinator thread, one after another
+		ReflectionTestUtils.setField(engine, "batchExecutor", (Executor) Runnable::run);
+		ReflectionTestUtils.setField(engine, "defaultChunkSize", 1000);
+		ReflectionTestUtils.setField(engine, "defaultParallelism", 4);
+		ReflectionTestUtils.setField(engine, "maxParallelism", 16);
+		ReflectionTestUtils.setField(engine, "chunkMaxAttempts", 3);
+	}
+
+	@Test
+	void resumesOnlyTheUnfinishedChunksOfTheRun() {
+		Job job = batchJob(PAYLOAD);
+		doReturn(binding()).when(jobHandlerRegistry).resolve(job);
+		when(batchChunkRepository.findByJobIdOrderByChunkIndex(1L)).thenReturn(List.of(
+			chunk(0, BatchChunkStatus.COMPLETED, false),
+			chunk(1, BatchChunkStatus.FAILED, false),
+			chunk(2, BatchChunkStatus.PENDING, false)));
+		when(batchChunkRepository.markCompleted(anyLong(), eq(5L), anyInt(), any())).thenReturn(1);
+
+		assertNull(engine.execute(job, CancellationToken.NONE));
+		assertEquals(List.of("10-20", "20-30"), processed);
+		verify(batchChunkRepository, never()).deleteByJobIds(any());
+	}
+
+	@Test
+	void checkpointedRunThatCrashedBeforeCompletingIsNotProcessedAgain() {
+		Job job = batchJob(PAYLOAD);
+		doReturn(binding()).when(jobHandlerRegistry).resolve(job);
+		when(batchChunkRepository.findByJobIdOrderByChunkIndex(1L)).thenReturn(List.of(
+			chunk(0, BatchChunkStatus.COMPLETED, false),
+			chunk(1, BatchChunkStatus.COMPLETED, false),
+			chunk(2, BatchChunkStatus.COMPLETED, false)));
+
+		assertNull(engine.execute(job, CancellationToken.NONE));
+		assertTrue(processed.isEmpty());
+		verify(batchChunkRepository, never()).deleteByJobIds(any());
+		verify(batchChunkRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void nextRunReplansOnceThePreviousRunClosedItsPlan() {
+		Job job = batchJob(PAYLOAD);
+		doReturn(binding()).when(jobHandlerRegistry).resolve(job);
+		when(batchChunkRepository.findByJobIdOrderByChunkIndex(1L)).thenReturn(List.of(
+			chunk(0, BatchChunkStatus.COMPLETED, true),
+			chunk(1, BatchChunkStatus.COMPLETED, true),
+			chunk(2, BatchChunkStatus.COMPLETED, true)));
+		when(batchChunkRepository.saveAll(any())).thenAnswer(invocation -> {
+			List<BatchChunk> plan = invocation.getArgument(0);
+			for (BatchChunk chunk : plan) {
+				chunk.setId(100L + chunk.getChunkIndex());
+			}
+			return plan;
+		});
+		when(batchChunkRepository.markCompleted(anyLong(), eq(5L), anyInt(), any())).thenReturn(1);
+
+		assertNull(engine.execute(job, CancellationToken.NONE));
+		assertEquals(List.of("0-10", "10-20", "20-30"), processed);
+		verify(batchChunkRepository).deleteByJobIds(List.of(1L));
+	}
+
+	@Test
+	void malformedSpecFailsPermanentlyWithoutPlanning() {
+		JobFailureException notJson = engine.execute(batchJob("not json"), CancellationToken.NONE);
+		JobFailureException noItems = engine.execute(batchJob("{\"totalItems\":0}"), CancellationToken.NONE);
+
+		assertEquals(FailureClass.PERMANENT, notJson.getFailureClass());
+		assertEquals(FailureClass.PERMANENT, noItems.getFailureClass());
+		verifyNoInteractions(batchChunkRepository, jobHandlerRegistry);
+	}
+
+	@Test
+	void supersededAttemptStopsHandingOutChunks() {
+		Job job = batchJob("{\"totalItems\":30,\"chunkSize\":10,\"parallelism\":1}");
+		doReturn(binding()).when(jobHandlerRegistry).resolve(job);
+		when(batchChunkRepository.findByJobIdOrderByChunkIndex(1L)).thenReturn(List.of(
+			chunk(0, BatchChunkStatus.PENDING, false),
+			chunk(1, BatchChunkStatus.PENDING, false),
+			chunk(2, BatchChunkStatus.PENDING, false)));
+		// The job's token moved on, e.g. the attempt timed out and a retry owns the plan now
+		when(batchChunkRepository.markCompleted(anyLong(), eq(5L), anyInt(), any())).thenReturn(0);
+
+		JobFailureException failure = engine.execute(job, CancellationToken.NONE);
+
+		assertEquals(FailureClass.TRANSIENT, failure.getFailureClass());
+		assertEquals(List.of("0-10"), processed);
+	}
+
+	private Job batchJob(String payload) {
+		Job job = new Job("import", null, JobType.BATCH, payload, "tester");
+		job.setId(1L);
+		job.setExecutionToken(5L);
+		return job;
+	}
+
+	private BatchChunk chunk(int index, BatchChunkStatus status, boolean closed) {
+		BatchChunk chunk = new BatchChunk(1L, index, index * 10L, index * 10L + 10);
+		chunk.setId(100L + index);
+		chunk.setStatus(status);
+		chunk.setClosed(closed);
+		return chunk;
+	}
+
+	private HandlerBinding<String> binding() {
+		return new HandlerBinding<>(new JobHandler<>() {
+			@Override
+			public String getKey() {
+				return "import";
+			}
+
+			@Override
+			public Class<String> getPayloadType() {
+				return String.class;
+			}
+
+			@Override
+			public void handle(Job job, String payload, CancellationToken cancellation) {
+			}
+
+			@Override
+			public void handleChunk(Job job, String payload, long startOffset, long endOffset, CancellationToken cancellation) {
+				processed.add(startOffset + "-" + endOffset);
+			}
+		}, new ObjectMapper());
+	}
+}
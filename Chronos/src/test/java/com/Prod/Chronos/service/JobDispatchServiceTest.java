@@ -0,0 +1,159 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobDispatchServiceTest {
+
+	@Mock
+	private JobExecutorService jobExecutorService;
+
+	// Accepts jobs without running them, so every started job stays in flight
+	@Mock
+	private Executor jobExecutor;
+
+	@Mock
+	private Executor cpuJobExecutor;
+
+	@Mock
+	private JobHandlerRegistry jobHandlerRegistry;
+
+	@Mock
+	private TaskScheduler taskScheduler;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private JobRepository jobRepository;
+
+	@Mock
+	private NodeIdentity nodeIdentity;
+
+	@InjectMocks
+	private JobDispatchService dispatchService;
+
+	private long nextJobId;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(dispatchService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(dispatchService, "maxInFlight", 2);
+		ReflectionTestUtils.setField(dispatchService, "queueHeadroom", 2);
+		ReflectionTestUtils.setField(dispatchService, "agingIntervalMs", 10_000L);
+		ReflectionTestUtils.setField(dispatchService, "weightsConfig", "");
+		ReflectionTestUtils.setField(dispatchService, "defaultWeight", 1.0);
+		ReflectionTestUtils.setField(dispatchService, "capsConfig", "");
+		ReflectionTestUtils.setField(dispatchService, "defaultCap", 0);
+		ReflectionTestUtils.setField(dispatchService, "groupConcurrencyConfig", "throttled:1");
+		ReflectionTestUtils.setField(dispatchService, "groupRateConfig", "");
+		dispatchService.init();
+	}
+
+	@Test
+	void throttledGroupDoesNotUseUpCapacityOfOtherGroups() {
+		for (int i = 0; i < 5; i++) {
+			dispatchService.submit(job("throttled"));
+		}
+
+		// One throttled job runs, four wait for its permit outside the headroom
+		assertEquals(1, dispatchService.getInFlightCount());
+		assertEquals(4, dispatchService.getQueuedCount());
+		assertEquals(3, dispatchService.getAvailableCapacity());
+		assertEquals(List.of("throttled"), dispatchService.getDeferredGroups());
+
+		dispatchService.submit(job("free"));
+		assertEquals(2, dispatchService.getInFlightCount());
+		assertEquals(2, dispatchService.getAvailableCapacity());
+
+		dispatchService.submit(job("free"));
+		dispatchService.submit(job("free"));
+		assertEquals(0, dispatchService.getAvailableCapacity());
+		verify(jobExecutor, times(2)).execute(any());
+	}
+
+	@Test
+	void groupIsOnlyDeferredWhileItsBacklogIsQueued() {
+		assertEquals(List.of(""), dispatchService.getDeferredGroups());
+
+		// Admitted straight away, nothing waits
+		dispatchService.submit(job("throttled"));
+		assertEquals(List.of(""), dispatchService.getDeferredGroups());
+
+		dispatchService.submit(job("throttled"));
+		assertEquals(List.of("throttled"), dispatchService.getDeferredGroups());
+	}
+
+	@Test
+	void timedOutJobKeepsItsGroupPermitUntilTheHandlerReturns() {
+		ArgumentCaptor<Runnable> worker = ArgumentCaptor.forClass(Runnable.class);
+		dispatchService.submit(job("throttled"));
+		dispatchService.submit(job("throttled"));
+		verify(jobExecutor).execute(worker.capture());
+
+		AtomicInteger queuedAfterTimeout = new AtomicInteger();
+		AtomicInteger runningAfterTimeout = new AtomicInteger();
+		doAnswer(invocation -> {
+			// The timeout frees the dispatch slot while the handler thread is still busy
+			invocation.<Runnable>getArgument(3).run();
+			queuedAfterTimeout.set(dispatchService.getQueuedCount());
+			runningAfterTimeout.set(dispatchService.getRunningByGroup().get("throttled"));
+			return null;
+		}).when(jobExecutorService).runJob(anyLong(), anyLong(), anyLong(), any());
+		worker.getValue().run();
+
+		assertEquals(1, queuedAfterTimeout.get());
+		assertEquals(1, runningAfterTimeout.get());
+		assertEquals(1, dispatchService.getInFlightCount());
+		assertEquals(0, dispatchService.getQueuedCount());
+		verify(jobExecutor, times(2)).execute(any());
+	}
+
+	@Test
+	void renewsTheClaimsOfQueuedJobsOnly() {
+		when(nodeIdentity.getNodeId()).thenReturn("node-a");
+		dispatchService.submit(job("throttled"));
+		dispatchService.submit(job("throttled"));
+
+		dispatchService.renewClaims();
+
+		// Job 1 runs and holds a lease instead; job 2 waits for the group permit
+		verify(jobRepository).renewClaims(eq(List.of(2L)), eq("node-a"), any());
+	}
+
+	private Job job(String group) {
+		Job job = new Job("job-" + nextJobId, "dispatch test", JobType.ONE_TIME, "{}", "alice");
+		job.setId(++nextJobId);
+		job.setJobGroup(group);
+		job.setExecutionToken(0L);
+		return job;
+	}
+}
@@ -0,0 +1,185 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobStatus;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
+import com.Prod.Chronos.handler.CancellationToken;
+import com.Prod.Chronos.handler.HandlerBinding;
+import com.Prod.Chronos.handler.JobHandler;
+import com.Prod.Chronos.handler.JobHandlerRegistry;
+import com.Prod.Chronos.repository.ExecutionLogRepository;
+import com.Prod.Chronos.repository.JobRepository;
+import com.Prod.Chronos.scheduler.RunningExecution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobExecutorServiceTest {
+
+	@Mock
+	private JobRepository jobRepository;
+
+	@Mock
+	private ExecutionLogRepository executionLogRepository;
+
+	@Mock
+	private KafkaService kafkaService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private ExecutionLeaseService executionLeaseService;
+
+	@Mock
+	private SchedulerMetrics schedulerMetrics;
+
+	@Mock
+	private BatchJobEngine batchJobEngine;
+
+	@Mock
+	private JobHandlerRegistry jobHandlerRegistry;
+
+	@Mock
+	private InFlightExecutionService inFlightExecutionService;
+
+	@Mock
+	private RetryPolicyService retryPolicyService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private JobExecutorService executorService;
+
+	private final AtomicInteger handled = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(executorService, "transactionTemplate", new TransactionTemplate(transactionManager));
+	}
+
+	@Test
+	void staleHandOffDoesNotStartTheJob() {
+		// A second delivery of the same hand-off: the first one already moved the token on
+		Job job = job(JobStatus.RUNNING, 5L);
+		when(jobRepository.claimExecutionAttempt(1L, 4L)).thenReturn(0);
+		when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+		executorService.runJob(1L, 4L, 0, () -> { });
+
+		assertEquals(0, handled.get());
+		verify(jobRepository, never()).save(any());
+		verify(inFlightExecutionService, never()).register(any(), anyLong(), any());
+		verify(schedulerMetrics).recordFencedTransition("start");
+	}
+
+	@Test
+	void cancelledJobIsNotStartedOrCountedAsFenced() {
+		when(jobRepository.claimExecutionAttempt(1L, 4L)).thenReturn(0);
+		when(jobRepository.findById(1L)).thenReturn(Optional.of(job(JobStatus.CANCELLED, 5L)));
+
+		executorService.runJob(1L, 4L, 0, () -> { });
+
+		assertEquals(0, handled.get());
+		verify(jobRepository, never()).save(any());
+		verify(schedulerMetrics, never()).recordFencedTransition(anyString());
+	}
+
+	@Test
+	void resultOfASupersededAttemptIsDiscarded() {
+		// The lease was reaped while the handler ran and the job was requeued under a newer token
+		Job job = job(JobStatus.SCHEDULED, 5L);
+		Job requeued = job(JobStatus.SCHEDULED, 6L);
+		startsUnderToken(job);
+		when(jobRepository.findById(1L)).thenReturn(Optional.of(job), Optional.of(requeued));
+		when(jobRepository.fenceRunningAttempt(1L, 5L)).thenReturn(0);
+
+		executorService.runJob(1L, 4L, 0, () -> { });
+
+		assertEquals(1, handled.get());
+		// Only the start was written
+		verify(jobRepository, times(1)).save(any());
+		verify(kafkaService, never()).sendFailureEvent(any(), any());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+		verify(schedulerMetrics).recordFencedTransition("complete");
+		assertEquals(JobStatus.SCHEDULED, requeued.getStatus());
+	}
+
+	@Test
+	void currentAttemptRecordsItsResult() {
+		Job job = job(JobStatus.SCHEDULED, 5L);
+		startsUnderToken(job);
+		when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+		when(jobRepository.fenceRunningAttempt(1L, 5L)).thenReturn(1);
+
+		executorService.runJob(1L, 4L, 0, () -> { });
+
+		assertEquals(1, handled.get());
+		assertEquals(JobStatus.COMPLETED, job.getStatus());
+		verify(jobRepository, times(2)).save(job);
+		verify(eventPublisher).publishEvent(any(JobExecutionFinishedEvent.class));
+		verify(schedulerMetrics, never()).recordFencedTransition(anyString());
+	}
+
+	// The hand-off with token 4 wins the claim; the row now carries token 5
+	private void startsUnderToken(Job job) {
+		when(jobRepository.claimExecutionAttempt(1L, 4L)).thenReturn(1);
+		when(jobRepository.save(job)).thenAnswer(returnsFirstArg());
+		when(inFlightExecutionService.register(any(), anyLong(), any()))
+			.thenAnswer(invocation -> new RunningExecution(1L, 0, Thread.currentThread()));
+		doReturn(binding()).when(jobHandlerRegistry).resolve(job);
+	}
+
+	private Job job(JobStatus status, Long executionToken) {
+		Job job = new Job("report", "fencing test", JobType.ONE_TIME, "{}", "alice");
+		job.setId(1L);
+		job.setStatus(status);
+		job.setExecutionToken(executionToken);
+		return job;
+	}
+
+	private HandlerBinding<String> binding() {
+		return new HandlerBinding<>(new JobHandler<>() {
+			@Override
+			public String getKey() {
+				return "report";
+			}
+
+			@Override
+			public Class<String> getPayloadType() {
+				return String.class;
+			}
+
+			@Override
+			public void handle(Job job, String payload, CancellationToken cancellation) {
+				handled.incrementAndGet();
+			}
+		}, new ObjectMapper());
+	}
+}
@@ -0,0 +1,216 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.NodeIdentity;
+import com.Prod.Chronos.entity.IntervalMode;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobSchedule;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.entity.MisfirePolicy;
+import com.Prod.Chronos.repository.JobRepository;
+import com.Prod.Chronos.repository.JobScheduleRepository;
+import com.Prod.Chronos.scheduler.ShardAssignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobSchedulerServiceTest {
+
+	private static final long MINUTE_MS = 60_000L;
+
+	@Mock
+	private JobRepository jobRepository;
+
+	@Mock
+	private JobScheduleRepository jobScheduleRepository;
+
+	@Mock
+	private JobDispatchService jobDispatchService;
+
+	@Mock
+	private NodeIdentity nodeIdentity;
+
+	@Mock
+	private ClusterMembershipService clusterMembershipService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private JobSchedulerService schedulerService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(schedulerService, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(schedulerService, "batchSize", 100);
+		ReflectionTestUtils.setField(schedulerService, "misfireThresholdMs", MINUTE_MS);
+		ReflectionTestUtils.setField(schedulerService, "catchUpRate", 20.0);
+		ReflectionTestUtils.setField(schedulerService, "catchUpBurst", 50);
+		schedulerService.init();
+	}
+
+	@Test
+	void fixedDelayScheduleIsRearmedOneIntervalAfterTheRunFinished() {
+		JobSchedule schedule = intervalSchedule(IntervalMode.FIXED_DELAY, LocalDateTime.now().minusMinutes(10));
+		schedule.setNextExecution(null);
+		when(jobScheduleRepository.findByJobId(1L)).thenReturn(Optional.of(schedule));
+		when(jobScheduleRepository.save(schedule)).thenAnswer(returnsFirstArg());
+		LocalDateTime finishedAt = LocalDateTime.of(2026, 3, 1, 12, 0, 30);
+
+		assertSame(schedule, schedulerService.rearmFixedDelaySchedule(1L, finishedAt));
+		assertEquals(finishedAt.plusMinutes(1), schedule.getNextExecution());
+	}
+
+	@Test
+	void onlyActiveFixedDelaySchedulesAreRearmed() {
+		JobSchedule fixedRate = intervalSchedule(IntervalMode.FIXED_RATE, LocalDateTime.now());
+		JobSchedule inactive = intervalSchedule(IntervalMode.FIXED_DELAY, LocalDateTime.now());
+		inactive.deactivate();
+		when(jobScheduleRepository.findByJobId(1L)).thenReturn(Optional.of(fixedRate));
+		when(jobScheduleRepository.findByJobId(2L)).thenReturn(Optional.of(inactive));
+		when(jobScheduleRepository.findByJobId(3L)).thenReturn(Optional.empty());
+
+		assertNull(schedulerService.rearmFixedDelaySchedule(1L, LocalDateTime.now()));
+		assertNull(schedulerService.rearmFixedDelaySchedule(2L, LocalDateTime.now()));
+		assertNull(schedulerService.rearmFixedDelaySchedule(3L, LocalDateTime.now()));
+		verify(jobScheduleRepository, never()).save(any());
+	}
+
+	@Test
+	void fixedRateStaysOnTheGridOfItsStartTime() {
+		LocalDateTime start = LocalDateTime.of(2026, 3, 1, 12, 0);
+		JobSchedule schedule = intervalSchedule(IntervalMode.FIXED_RATE, start);
+
+		// A late run does not shift later fire times
+		assertEquals(start.plusMinutes(3), schedulerService.calculateNextExecution(schedule, start.plusSeconds(150)));
+		assertEquals(start.plusMinutes(4), schedulerService.calculateNextExecution(schedule, start.plusMinutes(3)));
+		assertEquals(start, schedulerService.calculateNextExecution(schedule, start.minusMinutes(5)));
+	}
+
+	@Test
+	void fixedDelayCountsFromTheGivenTime() {
+		JobSchedule schedule = intervalSchedule(IntervalMode.FIXED_DELAY, LocalDateTime.of(2026, 3, 1, 12, 0));
+		LocalDateTime after = LocalDateTime.of(2026, 3, 1, 12, 7, 13);
+
+		assertEquals(after.plusMinutes(1), schedulerService.calculateNextExecution(schedule, after));
+	}
+
+	@Test
+	void fireOnceRunsTheMissedExecutionAndContinuesFromNow() {
+		JobSchedule schedule = misfiredSchedule(MisfirePolicy.FIRE_ONCE);
+		LocalDateTime before = LocalDateTime.now();
+
+		drainMisfired(schedule);
+
+		verify(jobDispatchService).submit(schedule.getJob());
+		assertTrue(schedule.getNextExecution().isAfter(before));
+	}
+
+	@Test
+	void fireAllReplaysEachMissedFireTime() {
+		JobSchedule schedule = misfiredSchedule(MisfirePolicy.FIRE_ALL);
+		LocalDateTime scheduledFor = schedule.getNextExecution();
+
+		drainMisfired(schedule);
+
+		verify(jobDispatchService).submit(schedule.getJob());
+		assertEquals(scheduledFor.plusMinutes(1), schedule.getNextExecution());
+	}
+
+	@Test
+	void skipToNextDropsTheMissedExecution() {
+		JobSchedule schedule = misfiredSchedule(MisfirePolicy.SKIP_TO_NEXT);
+		LocalDateTime before = LocalDateTime.now();
+
+		drainMisfired(schedule);
+
+		verify(jobDispatchService, never()).submit(any());
+		assertTrue(schedule.getNextExecution().isAfter(before));
+	}
+
+	@Test
+	void fireIfWithinGraceRunsOnlyWhileTheGraceLasts() {
+		JobSchedule withinGrace = misfiredSchedule(MisfirePolicy.FIRE_IF_WITHIN_GRACE);
+		withinGrace.setMisfireGraceMs(10 * MINUTE_MS);
+		drainMisfired(withinGrace);
+		verify(jobDispatchService).submit(withinGrace.getJob());
+
+		JobSchedule pastGrace = misfiredSchedule(MisfirePolicy.FIRE_IF_WITHIN_GRACE);
+		pastGrace.setMisfireGraceMs(2 * MINUTE_MS);
+		drainMisfired(pastGrace);
+		verify(jobDispatchService, never()).submit(pastGrace.getJob());
+		assertTrue(pastGrace.getNextExecution().isAfter(LocalDateTime.now().minusMinutes(1)));
+	}
+
+	@Test
+	void catchUpReleasesMisfiredSchedulesAtTheConfiguredBurst() {
+		ReflectionTestUtils.setField(schedulerService, "catchUpRate", 0.01);
+		ReflectionTestUtils.setField(schedulerService, "catchUpBurst", 2);
+		schedulerService.init();
+		List<JobSchedule> misfired = List.of(
+			misfiredSchedule(MisfirePolicy.FIRE_ONCE),
+			misfiredSchedule(MisfirePolicy.FIRE_ONCE),
+			misfiredSchedule(MisfirePolicy.FIRE_ONCE));
+		stubDispatcher();
+		when(jobScheduleRepository.claimMisfiredSchedules(any(), any(), any(), anyBoolean(), anyInt(), any(), any(), any(), anyInt()))
+			.thenAnswer(invocation -> misfired.subList(0, invocation.<Integer>getArgument(8)));
+
+		assertEquals(2, schedulerService.dispatchDueSchedules().size());
+
+		// The third stays misfired in the database until the ramp has a token for it
+		verify(jobScheduleRepository).claimMisfiredSchedules(any(), any(), any(), anyBoolean(), anyInt(), any(), any(), any(), eq(2));
+		verify(jobDispatchService, never()).submit(misfired.get(2).getJob());
+		assertTrue(schedulerService.isCatchUpPending());
+		assertTrue(schedulerService.getCatchUpDelayMs() > 0);
+	}
+
+	private void drainMisfired(JobSchedule schedule) {
+		stubDispatcher();
+		when(jobScheduleRepository.claimMisfiredSchedules(any(), any(), any(), anyBoolean(), anyInt(), any(), any(), any(), anyInt()))
+			.thenReturn(List.of(schedule));
+
+		assertEquals(List.of(schedule), schedulerService.dispatchDueSchedules());
+		assertFalse(schedulerService.isCatchUpPending());
+	}
+
+	private void stubDispatcher() {
+		when(jobDispatchService.getAvailableCapacity()).thenReturn(10);
+		when(clusterMembershipService.getShardAssignment()).thenReturn(ShardAssignment.all(16));
+	}
+
+	// Fixed-rate every minute since ten minutes ago, its fire time of five minutes ago missed
+	private JobSchedule misfiredSchedule(MisfirePolicy policy) {
+		LocalDateTime start = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.SECONDS);
+		JobSchedule schedule = intervalSchedule(IntervalMode.FIXED_RATE, start);
+		schedule.setNextExecution(start.plusMinutes(5));
+		schedule.setMisfirePolicy(policy);
+		return schedule;
+	}
+
+	private JobSchedule intervalSchedule(IntervalMode mode, LocalDateTime startAt) {
+		Job job = new Job("report", "interval test", JobType.RECURRING, "{}", "alice");
+		job.setId(1L);
+		return new JobSchedule(job, MINUTE_MS, mode, startAt);
+	}
+}
@@ -0,0 +1,78 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobStatus;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.event.JobExecutionFinishedEvent;
+import com.Prod.Chronos.repository.ExecutionLogRepository;
+import com.Prod.Chronos.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+	@Mock
+	private JobRepository jobRepository;
+
+	@Mock
+	private ExecutionLogRepository executionLogRepository;
+
+	@Mock
+	private TriggerEngineService triggerEngineService;
+
+	@Mock
+	private InFlightExecutionService inFlightExecutionService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@InjectMocks
+	private JobService jobService;
+
+	@Test
+	void cancelLosingToACommittedResultKeepsTheResult() {
+		Job running = job(JobStatus.RUNNING);
+		Job completed = job(JobStatus.COMPLETED);
+		when(jobRepository.findById(7L)).thenReturn(Optional.of(running), Optional.of(completed));
+		when(jobRepository.cancelUnfinishedJob(eq(7L), any())).thenReturn(0);
+
+		assertSame(completed, jobService.cancelJob(7L));
+		verify(jobRepository, never()).save(any());
+		verify(inFlightExecutionService, never()).requestCancel(any());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void cancelThatWinsInterruptsTheRunAndPublishesTheOutcome() {
+		Job running = job(JobStatus.RUNNING);
+		Job cancelled = job(JobStatus.CANCELLED);
+		when(jobRepository.findById(7L)).thenReturn(Optional.of(running), Optional.of(cancelled));
+		when(jobRepository.cancelUnfinishedJob(eq(7L), any())).thenReturn(1);
+
+		assertSame(cancelled, jobService.cancelJob(7L));
+		verify(jobRepository, never()).save(any());
+		verify(inFlightExecutionService).requestCancel(7L);
+		verify(eventPublisher).publishEvent(any(JobExecutionFinishedEvent.class));
+	}
+
+	private Job job(JobStatus status) {
+		Job job = new Job("report", "cancel test", JobType.ONE_TIME, "{}", "alice");
+		job.setId(7L);
+		job.setStatus(status);
+		return job;
+	}
+}
@@ -0,0 +1,114 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.Job;
+import com.Prod.Chronos.entity.JobType;
+import com.Prod.Chronos.entity.OutboxEvent;
+import com.Prod.Chronos.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaServiceTest {
+
+	@Mock
+	private KafkaTemplate<String, String> kafkaTemplate;
+
+	@Mock
+	private SchedulerMetrics schedulerMetrics;
+
+	@Mock
+	private RetryPolicyService retryPolicyService;
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	private KafkaService kafkaService;
+
+	@BeforeEach
+	void setUp() {
+		kafkaService = new KafkaService();
+		ReflectionTestUtils.setField(kafkaService, "kafkaTemplate", kafkaTemplate);
+		ReflectionTestUtils.setField(kafkaService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(kafkaService, "schedulerMetrics", schedulerMetrics);
+		ReflectionTestUtils.setField(kafkaService, "retryPolicyService", retryPolicyService);
+		ReflectionTestUtils.setField(kafkaService, "outboxEventRepository", outboxEventRepository);
+	}
+
+	@Test
+	void retryEventIsStoredInTheOutboxInsteadOfSent() {
+		Job job = job();
+		job.setRetryDelayMs(10_000L);
+
+		kafkaService.sendRetryEvent(job, 5L);
+
+		ArgumentCaptor<OutboxEvent> stored = ArgumentCaptor.forClass(OutboxEvent.class);
+		verify(outboxEventRepository).save(stored.capture());
+		assertEquals("chronos.retry.5s", stored.getValue().getTopic());
+		assertEquals("7", stored.getValue().getMessageKey());
+		assertTrue(stored.getValue().getPayload().contains("\"executionToken\":5"));
+		verifyNoInteractions(kafkaTemplate);
+	}
+
+	@Test
+	void retryEventThatCouldNotBeStoredFailsTheCaller() {
+		Job job = job();
+		job.setRetryDelayMs(10_000L);
+		when(outboxEventRepository.save(any())).thenThrow(new DataAccessResourceFailureException("database down"));
+
+		// The failure event is then not acknowledged and comes back
+		assertThrows(DataAccessResourceFailureException.class, () -> kafkaService.sendRetryEvent(job, 5L));
+	}
+
+	@Test
+	void jobEventJoinsTheActiveTransaction() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			kafkaService.sendJobEvent(job(), "JOB_CREATED", "created");
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		verify(outboxEventRepository).save(any());
+		verifyNoInteractions(kafkaTemplate);
+	}
+
+	@Test
+	void jobEventOutsideATransactionIsSentDirectly() {
+		when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+		kafkaService.sendJobEvent(job(), "JOB_CREATED", "created");
+
+		verify(kafkaTemplate).send(eq("chronos.job.events"), eq("7"), anyString());
+		verify(outboxEventRepository, never()).save(any());
+	}
+
+	private Job job() {
+		Job job = new Job("import", null, JobType.ONE_TIME, "{}", "tester");
+		job.setId(7L);
+		job.setExecutionToken(5L);
+		job.setMaxRetries(3);
+		job.setCurrentRetryCount(1);
+		return job;
+	}
+}
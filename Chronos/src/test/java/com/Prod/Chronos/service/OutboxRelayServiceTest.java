@@ -0,0 +1,114 @@
+package com.Prod.Chronos.service;
+
+import com.Prod.Chronos.config.SchedulerMetrics;
+import com.Prod.Chronos.entity.OutboxEvent;
+import com.Prod.Chronos.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private KafkaService kafkaService;
+
+	@Mock
+	private LeaderElectionService leaderElectionService;
+
+	@Mock
+	private SchedulerMetrics schedulerMetrics;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private OutboxRelayService relayService;
+
+	@BeforeEach
+	void setUp() {
+		relayService = new OutboxRelayService();
+		ReflectionTestUtils.setField(relayService, "outboxEventRepository", outboxEventRepository);
+		ReflectionTestUtils.setField(relayService, "kafkaService", kafkaService);
+		ReflectionTestUtils.setField(relayService, "leaderElectionService", leaderElectionService);
+		ReflectionTestUtils.setField(relayService, "schedulerMetrics", schedulerMetrics);
+		ReflectionTestUtils.setField(relayService, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(relayService, "batchSize", 3);
+		ReflectionTestUtils.setField(relayService, "sendTimeoutMs", 1000L);
+	}
+
+	@Test
+	void deletesEveryEventOnceTheBrokerAcknowledgedThem() {
+		List<OutboxEvent> events = List.of(event(1, "7"), event(2, "8"));
+		when(leaderElectionService.holdsLeadership()).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(events);
+		when(kafkaService.publish(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		relayService.relay();
+
+		InOrder order = inOrder(kafkaService);
+		order.verify(kafkaService).publish("chronos.job.events", "7", "payload-1");
+		order.verify(kafkaService).publish("chronos.job.events", "8", "payload-2");
+		verify(outboxEventRepository).deleteAllInBatch(events);
+	}
+
+	@Test
+	void keepsTheFirstFailedEventAndEverythingAfterIt() {
+		OutboxEvent first = event(1, "7");
+		OutboxEvent failed = event(2, "7");
+		OutboxEvent later = event(3, "7");
+		when(leaderElectionService.holdsLeadership()).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(List.of(first, failed, later));
+		when(kafkaService.publish(any(), any(), any())).thenReturn(
+			CompletableFuture.completedFuture(null),
+			CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")),
+			CompletableFuture.completedFuture(null));
+
+		relayService.relay();
+
+		// Deleting the later event would let it overtake the failed one for the same key
+		verify(outboxEventRepository).deleteAllInBatch(List.of(first));
+	}
+
+	@Test
+	void deletesNothingWhenTheOldestSendFails() {
+		when(leaderElectionService.holdsLeadership()).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(List.of(event(1, "7")));
+		when(kafkaService.publish(any(), any(), any()))
+			.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+		relayService.relay();
+
+		verify(outboxEventRepository, never()).deleteAllInBatch(any());
+	}
+
+	@Test
+	void onlyTheLeaderRelays() {
+		relayService.relay();
+
+		verify(outboxEventRepository, never()).lockOldest(3);
+	}
+
+	private OutboxEvent event(long id, String key) {
+		OutboxEvent event = new OutboxEvent("chronos.job.events", key, "payload-" + id);
+		event.setId(id);
+		return event;
+	}
+}